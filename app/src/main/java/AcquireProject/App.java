@@ -30,13 +30,27 @@
 
 package AcquireProject;
 
+import Simulation.Bot;
+import Simulation.GreedyBot;
+import Simulation.RandomBot;
+import Simulation.SimulationRunner;
 import UserInterface.UserInterface;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.stage.Stage;
 
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
 public class App extends Application{
 
-    static UserInterface ui = new UserInterface();
+    // the most time from starting the JVM to the main menu's first frame before a warning is printed
+    public static final long STARTUP_BUDGET_MILLIS = 1500;
+    // the start of the line the startup time is printed on
+    public static final String STARTUP_REPORT = "Startup took ";
+
+    static UserInterface ui;
 
     public static void main(String[] args) {
 
@@ -47,11 +61,40 @@ public class App extends Application{
     @Override
     public void start(Stage stage) throws Exception {
         stage.setTitle("Acquire");
-        stage.show();
-        ui.setStage(stage);
+        ui = new UserInterface(stage);
         ui.goToMainMenu();
+        stage.show();
+        reportStartup();
     }
 
-
+    /**
+     * measures the time from starting the JVM to the first frame, which is printed when it is over budget or when
+     * the acquire.startupReport system property is true. With acquire.exitAfterFirstFrame the game then exits, for
+     * StartupBenchmark, and with acquire.training it opens the game screen and plays a bot game before exiting, so
+     * a class data sharing archive recorded from the run holds the classes a real session loads
+     */
+    private static void reportStartup(){
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                stop();
+                long millis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+                if(millis > STARTUP_BUDGET_MILLIS){
+                    System.err.println(STARTUP_REPORT + millis + " ms, over the budget of " + STARTUP_BUDGET_MILLIS + " ms");
+                }else if(Boolean.getBoolean("acquire.startupReport")){
+                    System.out.println(STARTUP_REPORT + millis + " ms, the budget is " + STARTUP_BUDGET_MILLIS + " ms");
+                }
+
+                if(Boolean.getBoolean("acquire.training")){
+                    ui.goToGame();
+                    new SimulationRunner().run(Arrays.<Bot>asList(new GreedyBot(), new RandomBot(1)), 1);
+                    ui.goToMainMenu();
+                    Platform.exit();
+                }else if(Boolean.getBoolean("acquire.exitAfterFirstFrame")){
+                    Platform.exit();
+                }
+            }
+        }.start();
+    }
 
 }
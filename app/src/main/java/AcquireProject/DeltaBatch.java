@@ -0,0 +1,72 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * a growable list of encoded deltas, see DeltaTracker, reused between batches so collecting them does not allocate
+ *
+ * @since 1.1.0
+ */
+
+package AcquireProject;
+
+import java.util.Arrays;
+
+public class DeltaBatch {
+
+    private long[] deltas = new long[64];
+    private int size;
+
+    public void add(long delta){
+        if(size == deltas.length){
+            deltas = Arrays.copyOf(deltas, size * 2);
+        }
+        deltas[size++] = delta;
+    }
+
+    /**
+     * @param index the position of the delta in the batch
+     * @return the encoded delta
+     */
+    public long get(int index){
+        return deltas[index];
+    }
+
+    public int size(){
+        return size;
+    }
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    public void clear(){
+        size = 0;
+    }
+
+    /**
+     * @return the backing array, only the first size() entries are part of the batch
+     */
+    public long[] getDeltas(){
+        return deltas;
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * turns the changes made to a Game into compact deltas, so clients can keep their copy of the game up to date
+ * without being sent all of it after every move. The tracker remembers the last state it reported and each call to diff
+ * reports only what changed since. The board and players note what they change as it happens, so diff only looks at
+ * those tiles and players, and only looks over the whole game the first time it sees it. Every delta sets a value rather
+ * than changing it, so applying one twice is harmless.
+ * <p>
+ * Deltas are encoded in a long: the type in the top byte, then a cell or seat, then a chain, and the value in the low
+ * 32 bits. Seats are numbered in the order players joined, which is the turn order the game started with. Cells use
+ * the GameState numbering and values, 0 for empty, 1 for a tile in no chain and 2 plus the chain index otherwise.
+ *
+ * @since 1.1.0
+ */
+
+package AcquireProject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class DeltaTracker {
+
+    public static final int TILE_PLACED = 1;
+    public static final int TILE_RELABELLED = 2;
+    public static final int BALANCE = 3;
+    public static final int HOLDINGS = 4;
+    public static final int TURN = 5;
+
+    public static final int NO_SEAT = 0xFF;
+
+    private final byte[] cells = new byte[GameState.CELLS];
+    private final List<String> seats = new ArrayList<>();
+    private int[] balances = new int[0];
+    private int[][] holdings = new int[0][];
+    private int actingSeat = NO_SEAT;
+    private int phase = -1;
+    // the game the last diff was for, and the tiles its board reported changed
+    private Game tracked;
+    private final List<Tile> changedTiles = new ArrayList<>();
+
+    public DeltaTracker(){
+    }
+
+    /**
+     * @param seats the names of the players in seat order, for tracking a game whose clients already know its seats
+     */
+    public DeltaTracker(List<String> seats){
+        for(String name : seats){
+            seatOf(name);
+        }
+    }
+
+    /**
+     * reports what changed in the game since the last call
+     *
+     * @param game the game being tracked
+     * @param out the batch the deltas are added to
+     */
+    public void diff(Game game, DeltaBatch out){
+        changedTiles.clear();
+        boolean incremental = game.getGameBoard().takeChangedTiles(changedTiles) && game == tracked;
+        tracked = game;
+
+        for(Tile tile : incremental ? changedTiles : game.getPlayedTiles()){
+            int cell = GameState.cellOf(tile);
+            int value = cellValue(tile);
+            if(cells[cell] != value){
+                out.add(encode(cells[cell] == 0 ? TILE_PLACED : TILE_RELABELLED, cell, 0, value));
+                cells[cell] = (byte) value;
+            }
+        }
+
+        for(Player player : game.getPlayers()){
+            if(!player.takeChanged() && incremental){
+                continue;
+            }
+            int seat = seatOf(player.getPlayerName());
+            if(balances[seat] != player.getBalance()){
+                balances[seat] = player.getBalance();
+                out.add(encode(BALANCE, seat, 0, player.getBalance()));
+            }
+
+            for(int chain = 0; chain < GameState.CHAINS; chain++){
+                int count = player.getStockCount(chain);
+                if(holdings[seat][chain] != count){
+                    holdings[seat][chain] = count;
+                    out.add(encode(HOLDINGS, seat, chain, count));
+                }
+            }
+        }
+
+        String acting = game.getActingPlayerName();
+        int seat = acting == null ? NO_SEAT : seatOf(acting);
+        if(seat != actingSeat || game.getUIState() != phase){
+            actingSeat = seat;
+            phase = game.getUIState();
+            out.add(encode(TURN, seat, 0, phase));
+        }
+    }
+
+    /**
+     * reports the whole game as of the last diff, for a client that is joining or has lost track. A client clears
+     * its copy of the game before applying a snapshot.
+     *
+     * @param out the batch the deltas are added to
+     */
+    public void snapshot(DeltaBatch out){
+        for(int cell = 0; cell < GameState.CELLS; cell++){
+            if(cells[cell] != 0){
+                out.add(encode(TILE_PLACED, cell, 0, cells[cell]));
+            }
+        }
+        for(int seat = 0; seat < seats.size(); seat++){
+            out.add(encode(BALANCE, seat, 0, balances[seat]));
+            for(int chain = 0; chain < GameState.CHAINS; chain++){
+                if(holdings[seat][chain] != 0){
+                    out.add(encode(HOLDINGS, seat, chain, holdings[seat][chain]));
+                }
+            }
+        }
+        out.add(encode(TURN, actingSeat, 0, phase));
+    }
+
+    /**
+     * @return the names of the players in seat order
+     */
+    public List<String> getSeats(){
+        return new ArrayList<>(seats);
+    }
+
+    private int seatOf(String name){
+        int seat = seats.indexOf(name);
+        if(seat < 0){
+            seat = seats.size();
+            seats.add(name);
+            balances = Arrays.copyOf(balances, seats.size());
+            holdings = Arrays.copyOf(holdings, seats.size());
+            holdings[seat] = new int[GameState.CHAINS];
+        }
+        return seat;
+    }
+
+    private static int cellValue(Tile tile){
+        int chain = GameState.chainIndex(tile.getChainName());
+        return chain == GameState.NO_CHAIN ? 1 : 2 + chain;
+    }
+
+    /**
+     * @param type the kind of change
+     * @param target the cell or seat that changed
+     * @param chain the chain for holdings, otherwise 0
+     * @param value the new value
+     *
+     * @return the encoded delta
+     */
+    public static long encode(int type, int target, int chain, int value){
+        return (long) type << 56 | (long) (target & 0xFF) << 48 | (long) (chain & 0xFF) << 40 | value & 0xFFFFFFFFL;
+    }
+
+    public static int getType(long delta){
+        return (int) (delta >>> 56);
+    }
+
+    /**
+     * @return the cell of a tile delta, or the seat of a balance, holdings or turn delta
+     */
+    public static int getTarget(long delta){
+        return (int) (delta >>> 48) & 0xFF;
+    }
+
+    public static int getChain(long delta){
+        return (int) (delta >>> 40) & 0xFF;
+    }
+
+    public static int getValue(long delta){
+        return (int) delta;
+    }
+
+    /**
+     * @param delta an encoded delta
+     * @return a readable description, for logs and tests
+     */
+    public static String toString(long delta){
+        int target = getTarget(delta);
+        int value = getValue(delta);
+        switch(getType(delta)){
+            case TILE_PLACED: return "placed " + GameState.cellName(target) + " " + cellName(value);
+            case TILE_RELABELLED: return "relabelled " + GameState.cellName(target) + " " + cellName(value);
+            case BALANCE: return "seat " + target + " balance " + value;
+            case HOLDINGS: return "seat " + target + " holds " + value + " " + GameState.getChainName(getChain(delta));
+            case TURN: return "seat " + target + " to act in phase " + value;
+            default: return "unknown delta " + delta;
+        }
+    }
+
+    private static String cellName(int value){
+        return value < 2 ? "unincorporated" : GameState.getChainName(value - 2);
+    }
+}
@@ -46,16 +46,34 @@ public class Game {
 
     @Getter @Setter private int UIState = GameUI.ADD_PLAYERS;
 
+    private transient Merger currentMerger;
+    private transient int[] legalMoves;
+    private int skippedTurns;
+
     /**
      * Constructor that creates list of hotel chains and their respective tiers
      */
     public Game(){
+        this(new Random());
+    }
+
+    /**
+     * Constructor for a game whose tiles are dealt in an order decided by the seed,
+     * used so simulated games can be replayed on the same deal
+     *
+     * @param seed the seed for the order tiles are drawn in
+     */
+    public Game(long seed){
+        this(new Random(seed));
+    }
+
+    private Game(Random random){
 
         stockLeftToBuy = 3;
 
         this.players = new LinkedList<>();
 
-        this.unplayedTiles = new UnplayedTiles();
+        this.unplayedTiles = new UnplayedTiles(random);
 
         List<HotelChain> hotelChains = makeHotelChains();
         this.gameBoard = new GameBoard(hotelChains);
@@ -93,13 +111,41 @@ public class Game {
         this.gameBoard = new GameBoard(unfounded);
     }
 
+    /**
+     * rebuilds a game from its parts, used by GameCodec to bring back a game that was stored away
+     *
+     * @param players the players in turn order, the current player first once the game has started
+     * @param gameBoard the board with its tiles and chains
+     * @param unplayedTiles the tiles still to be drawn
+     * @param started true if the first player has been chosen
+     * @param stockLeftToBuy the number of stock the current player can still buy this turn
+     * @param UIState the phase the game is in
+     * @param skippedTurns the number of players in a row who could not place a tile
+     */
+    Game(Queue<Player> players, GameBoard gameBoard, UnplayedTiles unplayedTiles, boolean started,
+         int stockLeftToBuy, int UIState, int skippedTurns){
+        this.players = players;
+        this.gameBoard = gameBoard;
+        this.unplayedTiles = unplayedTiles;
+        this.currentPlayer = started ? players.peek() : null;
+        this.stockLeftToBuy = stockLeftToBuy;
+        this.UIState = UIState;
+        this.skippedTurns = skippedTurns;
+    }
+
+    /**
+     * @return the number of players in a row who could not place a tile
+     */
+    int getSkippedTurns(){
+        return skippedTurns;
+    }
+
     /**
      * create each hotel chain with their name and tier
      *
      * @return a list of hotel chains
      */
-    private List<HotelChain> makeHotelChains(){
-        StockProfiler.instance().clearRegesteredChains();
+    static List<HotelChain> makeHotelChains(){
         List<HotelChain> hotelChains = new ArrayList<>();
         hotelChains.add(new HotelChain("Worldwide", HotelChain.TIER_ONE));
         hotelChains.add(new HotelChain("Sackson", HotelChain.TIER_ONE));
@@ -175,9 +221,16 @@ public class Game {
      * @return a list of maps describing the amount of stock a player has in each chain
      */
     public List<Map<String, Integer>> getPlayerStockProfiles(){
+        List<String> chains = new ArrayList<>();
+        for(HotelChain chain : gameBoard.getUnfoundedChains()){
+            chains.add(chain.getName());
+        }
+        for(HotelChain chain : gameBoard.getFoundedChains()){
+            chains.add(chain.getName());
+        }
         List<Map<String, Integer>> profiles = new ArrayList<>();
         for(Player p: players){
-            profiles.add(StockProfiler.instance().createPlayerProfile(p));
+            profiles.add(StockProfiler.instance().createPlayerProfile(p, chains));
         }
         return profiles;
     }
@@ -210,10 +263,18 @@ public class Game {
      * @param tileIndex the index in the players list of tiles that should be placed
      */
     public void placeTile(int tileIndex){
+        GameEvents.PlaceTile event = new GameEvents.PlaceTile();
+        event.begin();
 
-        gameBoard.placeTile(currentPlayer.getPlayerTiles().get(tileIndex));
+        Tile tile = currentPlayer.getPlayerTiles().get(tileIndex);
+        gameBoard.placeTile(tile);
         currentPlayer.getPlayerTiles().remove(tileIndex);
 
+        if(event.shouldCommit()){
+            event.tile = GameState.cellName(GameState.cellOf(tile));
+            event.capture(gameBoard);
+            event.commit();
+        }
     }
 
     /**
@@ -240,6 +301,22 @@ public class Game {
         currentPlayer.addTile(givenTile);
     }
 
+    /**
+     * gets how many tiles are still left to be drawn
+     *
+     * @return the number of tiles that have not been drawn by any player
+     */
+    public int getNumberOfUnplayedTiles(){
+        return unplayedTiles.getTiles().size();
+    }
+
+    /**
+     * @return the tiles that are still left to be drawn
+     */
+    UnplayedTiles getUnplayedTiles(){
+        return unplayedTiles;
+    }
+
     /**
      * get the tiles that have already been placed
      * @return
@@ -411,13 +488,45 @@ public class Game {
         return gameBoard.getCurrentMerger();
     }
 
+    /**
+     * @return the merger the shareholders are deciding on, or null if there is none
+     */
+    public Merger getActiveMerger(){
+        return currentMerger;
+    }
+
+    /**
+     * starts the next merger waiting on the board, for a tile placed without applyMove or a game loaded mid merger.
+     * The game then waits for the shareholders' moves, or carries on to buying stock if nobody has a decision to make
+     */
+    public void startMerging(){
+        if(!Objects.isNull(currentMerger)){
+            return;
+        }
+        if(mergeNeeded()){
+            startNextMerger();
+        }else if(UIState == GameUI.MERGING){
+            finishPlacement();
+        }
+    }
+
     /**
      * a method that founds a chain when tiles are placed next to each other
      *
      * @param chain object that is being formed
      */
     public void foundChain(String chain){
+        GameEvents.FoundChain event = new GameEvents.FoundChain();
+        event.begin();
+
         gameBoard.FoundChain(chain, currentPlayer);
+
+        if(event.shouldCommit()){
+            event.chain = chain;
+            event.founder = currentPlayer.getPlayerName();
+            event.capture(gameBoard);
+            event.commit();
+        }
     }
 
     /**
@@ -428,8 +537,242 @@ public class Game {
      * @return if the tile can be placed legally
      */
     public boolean moveIsLegal(int tileIndex){
-        return gameBoard.moveIsLegal(currentPlayer.getPlayerTiles().get(tileIndex));
+        GameEvents.MoveIsLegal event = new GameEvents.MoveIsLegal();
+        event.begin();
+
+        Tile tile = currentPlayer.getPlayerTiles().get(tileIndex);
+        boolean legal = gameBoard.moveIsLegal(tile);
+
+        if(event.shouldCommit()){
+            event.tile = GameState.cellName(GameState.cellOf(tile));
+            event.legal = legal;
+            event.capture(gameBoard);
+            event.commit();
+        }
+        return legal;
+    }
+
+    /**
+     * starts the first turn once every player has been added, for games that are driven by moves
+     * instead of the action menus
+     */
+    public void startGame(){
+        goToNextPlayer();
+        UIState = GameUI.PLACE_TILE;
+    }
+
+    /**
+     * @return true once the game has been ended by a move
+     */
+    public boolean isGameOver(){
+        return UIState == GameState.GAME_OVER;
+    }
+
+    /**
+     * @return the name of the player who has to make the next move, the shareholder deciding during a merger
+     */
+    public String getActingPlayerName(){
+        if(UIState == GameUI.MERGING && !Objects.isNull(currentMerger)){
+            return currentMerger.getPlayerName();
+        }
+        if(Objects.isNull(currentPlayer)){
+            return null;
+        }
+        return currentPlayer.getPlayerName();
+    }
+
+    /**
+     * lists every legal move for the player who has to act, the moves use the same encoding as GameState
+     *
+     * @param moves a buffer of at least MoveGenerator.MAX_MOVES entries that the moves are written to
+     *
+     * @return the number of moves written
+     */
+    public int generateMoves(int[] moves){
+        int count = 0;
+        switch(UIState){
+            case GameUI.PLACE_TILE:
+                List<Tile> hand = currentPlayer.getPlayerTiles();
+                for(int i = 0; i < hand.size(); i++){
+                    if(moveIsLegal(i)){
+                        moves[count++] = Move.placeTile(GameState.cellOf(hand.get(i)));
+                    }
+                }
+                if(count == 0){
+                    moves[count++] = getNumberOfUnplayedTiles() > 0 ? Move.NEW_HAND : Move.SKIP_TILE;
+                }
+                break;
+            case GameUI.FOUND_CHAIN:
+                for(String name : getUnfoundedChains()){
+                    moves[count++] = Move.foundChain(GameState.chainIndex(name));
+                }
+                break;
+            case GameUI.MERGING:
+                int held = currentMerger.getPlayerStockCount();
+                if(held > 0){
+                    moves[count++] = Move.SELL_STOCK;
+                }
+                if(held >= 2 && currentMerger.getAcquiringChain().getNumberOfUnsoldStock() > 0){
+                    moves[count++] = Move.TRADE_STOCK;
+                }
+                moves[count++] = Move.HOLD_STOCK;
+                break;
+            case GameUI.BUY_STOCK:
+                List<HotelChain> founded = gameBoard.getFoundedChains();
+                for(int i = 0; i < founded.size(); i++){
+                    if(playerCanBuyStock(i)){
+                        moves[count++] = Move.buyStock(GameState.chainIndex(founded.get(i).getName()));
+                    }
+                }
+                moves[count++] = Move.END_TURN;
+                break;
+            case GameUI.END_GAME:
+                moves[count++] = Move.END_GAME;
+                moves[count++] = Move.CONTINUE;
+                break;
+            default:
+                break;
+        }
+        return count;
+    }
+
+    /**
+     * checks a move against the moves the acting player can make
+     *
+     * @param move an encoded move, see Move
+     *
+     * @return true if the move can be applied
+     */
+    public boolean isLegalMove(int move){
+        if(Objects.isNull(legalMoves)){
+            legalMoves = new int[MoveGenerator.MAX_MOVES];
+        }
+        int count = generateMoves(legalMoves);
+        for(int i = 0; i < count; i++){
+            if(legalMoves[i] == move){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * makes a move for the acting player and steps the game to the next decision,
+     * following the same turn cycle as the action menus
+     *
+     * @param move an encoded move, see Move
+     *
+     * @throws IllegalArgumentException if the move is not legal right now
+     */
+    public void applyMove(int move){
+        if(!isLegalMove(move)){
+            throw new IllegalArgumentException("Illegal move: " + Move.toString(move));
+        }
+
+        int argument = Move.getArgument(move);
+        switch(Move.getType(move)){
+            case Move.TYPE_PLACE_TILE:
+                placeTile(findTileInHand(argument));
+                addTileToCurrentPlayer();
+                skippedTurns = 0;
+                if(!Objects.isNull(foundNeeded())){
+                    UIState = GameUI.FOUND_CHAIN;
+                }else if(mergeNeeded()){
+                    startNextMerger();
+                }else{
+                    finishPlacement();
+                }
+                break;
+            case Move.TYPE_NEW_HAND:
+                giveCurrentPlayerNewHand();
+                break;
+            case Move.TYPE_SKIP_TILE:
+                skippedTurns++;
+                if(skippedTurns >= players.size()){
+                    endGame();
+                    UIState = GameState.GAME_OVER;
+                }else{
+                    UIState = GameUI.BUY_STOCK;
+                }
+                break;
+            case Move.TYPE_FOUND_CHAIN:
+                foundChain(GameState.getChainName(argument));
+                finishPlacement();
+                break;
+            case Move.TYPE_SELL_STOCK:
+                currentMerger.sellStock();
+                break;
+            case Move.TYPE_TRADE_STOCK:
+                currentMerger.tradeStock();
+                break;
+            case Move.TYPE_HOLD_STOCK:
+                currentMerger.goToNextPlayer();
+                if(!currentMerger.morePlayersToHandle()){
+                    finishMerger();
+                }
+                break;
+            case Move.TYPE_BUY_STOCK:
+                buyStock(findFoundedChain(GameState.getChainName(argument)));
+                break;
+            case Move.TYPE_END_TURN:
+                goToNextPlayer();
+                UIState = GameUI.PLACE_TILE;
+                break;
+            case Move.TYPE_END_GAME:
+                endGame();
+                UIState = GameState.GAME_OVER;
+                break;
+            case Move.TYPE_CONTINUE:
+                UIState = GameUI.BUY_STOCK;
+                break;
+            default:
+                break;
+        }
     }
 
+    /**
+     * pays the bonuses for the next merger, a merger nobody owns stock in is finished straight away
+     */
+    private void startNextMerger(){
+        currentMerger = getCurrentMerger();
+        currentMerger.giveShareholderBonus();
+        UIState = GameUI.MERGING;
+        if(!currentMerger.morePlayersToHandle()){
+            finishMerger();
+        }
+    }
+
+    private void finishMerger(){
+        currentMerger.mergeChains();
+        currentMerger = null;
+        if(mergeNeeded()){
+            startNextMerger();
+        }else{
+            finishPlacement();
+        }
+    }
+
+    private void finishPlacement(){
+        UIState = gameCanEnd() ? GameUI.END_GAME : GameUI.BUY_STOCK;
+    }
+
+    private int findTileInHand(int cell){
+        List<Tile> hand = currentPlayer.getPlayerTiles();
+        for(int i = 0; i < hand.size(); i++){
+            if(GameState.cellOf(hand.get(i)) == cell){
+                return i;
+            }
+        }
+        return -1;
+    }
 
+    private int findFoundedChain(String name){
+        List<HotelChain> founded = gameBoard.getFoundedChains();
+        for(int i = 0; i < founded.size(); i++){
+            if(founded.get(i).getName().equals(name)){
+                return i;
+            }
+        }
+        return -1;
+    }
 }
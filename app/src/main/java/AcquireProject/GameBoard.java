@@ -49,6 +49,8 @@ class GameBoard{
 
   private Founder currentFounder = null;
   private List<Merger> mergersToHandle;
+  // the tiles placed or moved into a chain since DeltaTracker last asked, null until it first asks
+  private transient List<Tile> changedTiles;
 
 
    /**
@@ -96,6 +98,7 @@ class GameBoard{
      */
    public void addToPlayedTiles(Tile playedTile) {
       playedTiles.add(playedTile);
+      tileChanged(playedTile);
    }
 
     /**
@@ -184,7 +187,7 @@ class GameBoard{
    public List<HotelChain> modeInNeighborList(List<Tile> neighbors) {
       String chainName;
 
-      Map<HotelChain, Integer> frequencyMap = new HashMap<>();
+      Map<HotelChain, Integer> frequencyMap = new LinkedHashMap<>();
       for (int i = 0; i < neighbors.size(); i++) {
          chainName = neighbors.get(i).getChainName();
          for (HotelChain chain : foundedChains) {
@@ -229,6 +232,7 @@ class GameBoard{
      */
    public void placeTile(Tile tile){
       playedTiles.add(tile);
+      tileChanged(tile);
       List<Tile> chain = Scout(tile);
       List<HotelChain> modeChain = modeInNeighborList(chain);
 
@@ -237,6 +241,7 @@ class GameBoard{
       }else if(modeChain.size() == 1){
           for(Tile t : chain){
               t.setChainName(modeChain.get(0).getName());
+              tileChanged(t);
               if(!modeChain.get(0).getTiles().contains(t)){
                   modeChain.get(0).getTiles().add(t);
               }
@@ -283,6 +288,7 @@ class GameBoard{
    public void mergeChains(Merger merger){
         for(Tile t : Scout(playedTiles.get(playedTiles.size()-1))){
             t.setChainName(merger.getAcquiringChain().getName());
+            tileChanged(t);
             if(!merger.getAcquiringChain().getTiles().contains(t)){
                 merger.getAcquiringChain().addTile(t);
             }
@@ -302,6 +308,15 @@ class GameBoard{
        return currentFounder;
    }
 
+    /**
+     * sets the tiles waiting for a chain to be founded, used when a stored game is brought back
+     *
+     * @param founder the founding to be handled
+     */
+   void setFounder(Founder founder){
+       currentFounder = founder;
+   }
+
     /**
      * founds a new hotel chain by adding tiles to the chain, giving the player who founded it stock,
      * and moving the chain into the founded list
@@ -323,6 +338,7 @@ class GameBoard{
 
        for(Tile t : currentFounder.getChainTiles()){
            t.setChainName(chain);
+           tileChanged(t);
            chainToFound.addTile(t);
        }
 
@@ -336,6 +352,30 @@ class GameBoard{
        }
    }
 
+    private void tileChanged(Tile tile){
+        if(changedTiles != null){
+            changedTiles.add(tile);
+        }
+    }
+
+    /**
+     * hands the tiles placed or moved into a chain since the last call to the game's DeltaTracker. A board only
+     * keeps track for one tracker
+     *
+     * @param into the list the changed tiles are added to, a tile can be added more than once
+     *
+     * @return false if nothing had asked before, so every played tile has to be looked at
+     */
+    boolean takeChangedTiles(List<Tile> into){
+        if(changedTiles == null){
+            changedTiles = new ArrayList<>();
+            return false;
+        }
+        into.addAll(changedTiles);
+        changedTiles.clear();
+        return true;
+    }
+
     /**
      * checks if a tile can be placed
      *
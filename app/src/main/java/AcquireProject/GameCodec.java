@@ -0,0 +1,212 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * stores a Game in a compact binary form and rebuilds it, so a server can keep games nobody is playing out of the
+ * heap. A game takes a few hundred bytes: each tile is one byte holding its cell, each chain one byte holding its index,
+ * and each player's stock a count per chain. A game can not be stored in the middle of a merger. The tiles still to be
+ * drawn come back in the same order but are drawn at random again, like in a new game
+ *
+ * @since 1.1.0
+ */
+
+package AcquireProject;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+public class GameCodec {
+
+    private static final byte VERSION = 1;
+    private static final byte NO_CHAIN = (byte) GameState.NO_CHAIN;
+    // large enough for six players, every tile and all the stock, the players' names are added on top
+    private static final int SIZE_WITHOUT_NAMES = 2048;
+
+    private GameCodec(){}
+
+    /**
+     * @param game the game to store
+     * @return the stored game
+     *
+     * @throws IllegalStateException if the game is in the middle of a merger
+     */
+    public static byte[] encode(Game game){
+        if(game.getUIState() == GameState.MERGING || game.mergeNeeded()){
+            throw new IllegalStateException("A game can not be stored in the middle of a merger");
+        }
+        List<byte[]> names = new ArrayList<>(game.getPlayers().size());
+        int size = SIZE_WITHOUT_NAMES;
+        for(Player player : game.getPlayers()){
+            byte[] name = player.getPlayerName().getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            size += name.length;
+        }
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.put(VERSION);
+        out.put((byte) game.getUIState());
+        out.put((byte) game.getNumberOfStockLeftToBuy());
+        out.put((byte) game.getSkippedTurns());
+        out.put((byte) (game.getCurrentPlayer() == null ? 0 : 1));
+
+        out.put((byte) game.getPlayers().size());
+        Iterator<byte[]> name = names.iterator();
+        for(Player player : game.getPlayers()){
+            byte[] bytes = name.next();
+            out.putShort((short) bytes.length).put(bytes);
+            out.putInt(player.getBalance());
+            putTiles(out, player.getPlayerTiles());
+            byte[] holdings = new byte[GameState.CHAINS];
+            for(Stock stock : player.getPlayerStocks()){
+                holdings[GameState.chainIndex(stock.getChainName())]++;
+            }
+            out.put(holdings);
+        }
+
+        GameBoard board = game.getGameBoard();
+        List<Tile> played = board.getPlayedTiles();
+        out.put((byte) played.size());
+        for(Tile tile : played){
+            out.put((byte) GameState.cellOf(tile));
+            out.put(tile.getChainName().isEmpty() ? NO_CHAIN : (byte) GameState.chainIndex(tile.getChainName()));
+        }
+        putChains(out, board.getFoundedChains());
+        putChains(out, board.getUnfoundedChains());
+        putTiles(out, game.getUnplayedTiles().getTiles());
+        Founder founder = board.foundNeeded();
+        putTiles(out, founder == null ? Collections.<Tile>emptyList() : founder.getChainTiles());
+
+        return Arrays.copyOf(out.array(), out.position());
+    }
+
+    /**
+     * rebuilds a stored game
+     *
+     * @param in the stored game, read from its position onwards
+     * @return a game in the same position as the one that was stored
+     *
+     * @throws IllegalArgumentException if the data was not written by this version of encode
+     */
+    public static Game decode(ByteBuffer in){
+        if(in.get() != VERSION){
+            throw new IllegalArgumentException("Unknown game format");
+        }
+        int UIState = in.get();
+        int stockLeftToBuy = in.get();
+        int skippedTurns = in.get();
+        boolean started = in.get() != 0;
+
+        Tile[] tiles = new Tile[GameState.CELLS];
+        List<HotelChain> chains = Game.makeHotelChains();
+
+        int numberOfPlayers = in.get();
+        List<Player> seated = new ArrayList<>(numberOfPlayers);
+        byte[][] holdings = new byte[numberOfPlayers][GameState.CHAINS];
+        for(int i = 0; i < numberOfPlayers; i++){
+            byte[] name = new byte[in.getShort()];
+            in.get(name);
+            int balance = in.getInt();
+            Player player = new Player(new String(name, StandardCharsets.UTF_8), getTiles(in, tiles));
+            player.modifyBalance(balance - player.getBalance());
+            in.get(holdings[i]);
+            seated.add(player);
+        }
+        // stock is handed out afterwards so every chain's stock list is in the order the players sit
+        for(int i = 0; i < numberOfPlayers; i++){
+            for(int chain = 0; chain < GameState.CHAINS; chain++){
+                for(int n = 0; n < holdings[i][chain]; n++){
+                    chains.get(chain).giveStock(seated.get(i));
+                }
+            }
+        }
+
+        int numberOfPlayed = in.get() & 0xFF;
+        int[] playedCells = new int[numberOfPlayed];
+        byte[] playedChains = new byte[numberOfPlayed];
+        for(int i = 0; i < numberOfPlayed; i++){
+            playedCells[i] = in.get();
+            playedChains[i] = in.get();
+        }
+        List<HotelChain> founded = getChains(in, chains);
+        GameBoard board = new GameBoard(getChains(in, chains), founded);
+        for(int i = 0; i < numberOfPlayed; i++){
+            Tile tile = tile(tiles, playedCells[i]);
+            if(playedChains[i] != NO_CHAIN){
+                HotelChain chain = chains.get(playedChains[i]);
+                tile.setChainName(chain.getName());
+                chain.addTile(tile);
+            }
+            board.getGameBoardMatrix().get(tile.getCoordinates().get(0)).set(tile.getCoordinates().get(1), tile);
+            board.addToPlayedTiles(tile);
+        }
+        UnplayedTiles unplayed = new UnplayedTiles(getTiles(in, tiles));
+        List<Tile> founding = getTiles(in, tiles);
+        if(!founding.isEmpty()){
+            board.setFounder(new Founder(founding));
+        }
+
+        return new Game(new LinkedList<>(seated), board, unplayed, started, stockLeftToBuy, UIState, skippedTurns);
+    }
+
+    private static void putTiles(ByteBuffer out, List<Tile> tiles){
+        out.put((byte) tiles.size());
+        for(Tile tile : tiles){
+            out.put((byte) GameState.cellOf(tile));
+        }
+    }
+
+    private static List<Tile> getTiles(ByteBuffer in, Tile[] tiles){
+        int count = in.get() & 0xFF;
+        List<Tile> list = new ArrayList<>(count);
+        for(int i = 0; i < count; i++){
+            list.add(tile(tiles, in.get()));
+        }
+        return list;
+    }
+
+    private static void putChains(ByteBuffer out, List<HotelChain> chains){
+        out.put((byte) chains.size());
+        for(HotelChain chain : chains){
+            out.put((byte) GameState.chainIndex(chain.getName()));
+        }
+    }
+
+    private static List<HotelChain> getChains(ByteBuffer in, List<HotelChain> chains){
+        int count = in.get();
+        List<HotelChain> list = new ArrayList<>(count);
+        for(int i = 0; i < count; i++){
+            list.add(chains.get(in.get()));
+        }
+        return list;
+    }
+
+    /**
+     * @return the one tile for a cell, so the board, the chains and the founding all share it like they do in play
+     */
+    private static Tile tile(Tile[] tiles, int cell){
+        if(tiles[cell] == null){
+            tiles[cell] = new Tile(new ArrayList<>(Arrays.asList(cell / GameState.BOARD_HEIGHT, cell % GameState.BOARD_HEIGHT)));
+        }
+        return tiles[cell];
+    }
+}
@@ -0,0 +1,211 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * Flight Recorder events for the engine's actions, so a recording shows how long each step of a turn takes and what
+ * the board looked like at the time. Every event carries the number of tiles on the board and the size of each chain.
+ * <p>
+ * Callers begin an event before the action and only fill it in and commit it when shouldCommit is true, so while no
+ * recording is running an event costs next to nothing. Legality checks and bot decisions happen many times a turn, so
+ * they are recorded without stack traces
+ *
+ * @since 1.1.0
+ */
+
+package AcquireProject;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+public final class GameEvents {
+
+    private GameEvents(){}
+
+    /**
+     * the board when an event happened
+     */
+    @Category({"Acquire", "Engine"})
+    public abstract static class BoardEvent extends Event {
+
+        @Label("Occupied Cells")
+        @Description("The number of tiles on the board")
+        int occupiedCells;
+
+        @Label("Worldwide Size")
+        int worldwide;
+
+        @Label("Sackson Size")
+        int sackson;
+
+        @Label("Festival Size")
+        int festival;
+
+        @Label("Imperial Size")
+        int imperial;
+
+        @Label("American Size")
+        int american;
+
+        @Label("Continental Size")
+        int continental;
+
+        @Label("Tower Size")
+        int tower;
+
+        void capture(GameBoard board){
+            occupiedCells = board.getPlayedTiles().size();
+            int[] sizes = new int[GameState.CHAINS];
+            for(HotelChain chain : board.getFoundedChains()){
+                int index = GameState.chainIndex(chain.getName());
+                if(index != GameState.NO_CHAIN){
+                    sizes[index] = chain.getSize();
+                }
+            }
+            setChainSizes(sizes);
+        }
+
+        /**
+         * @param state the game the event is about
+         */
+        public void capture(GameState state){
+            int occupied = 0;
+            for(int cell = 0; cell < GameState.CELLS; cell++){
+                if(state.isOccupied(cell)){
+                    occupied++;
+                }
+            }
+            occupiedCells = occupied;
+            int[] sizes = new int[GameState.CHAINS];
+            for(int chain = 0; chain < GameState.CHAINS; chain++){
+                sizes[chain] = state.getChainSize(chain);
+            }
+            setChainSizes(sizes);
+        }
+
+        private void setChainSizes(int[] sizes){
+            worldwide = sizes[0];
+            sackson = sizes[1];
+            festival = sizes[2];
+            imperial = sizes[3];
+            american = sizes[4];
+            continental = sizes[5];
+            tower = sizes[6];
+        }
+    }
+
+    @Name("acquire.PlaceTile")
+    @Label("Place Tile")
+    public static class PlaceTile extends BoardEvent {
+
+        @Label("Tile")
+        String tile;
+    }
+
+    @Name("acquire.MoveIsLegal")
+    @Label("Move Is Legal")
+    @StackTrace(false)
+    public static class MoveIsLegal extends BoardEvent {
+
+        @Label("Tile")
+        String tile;
+
+        @Label("Legal")
+        boolean legal;
+    }
+
+    @Name("acquire.FoundChain")
+    @Label("Found Chain")
+    public static class FoundChain extends BoardEvent {
+
+        @Label("Chain")
+        String chain;
+
+        @Label("Founder")
+        String founder;
+    }
+
+    @Name("acquire.MergeChains")
+    @Label("Merge Chains")
+    @Description("Moving the acquired chain's tiles into the acquiring chain once every shareholder has decided")
+    public static class MergeChains extends BoardEvent {
+
+        @Label("Acquiring Chain")
+        String acquiringChain;
+
+        @Label("Acquired Chain")
+        String acquiredChain;
+
+        @Label("Acquired Size")
+        int acquiredSize;
+    }
+
+    @Name("acquire.SaveGame")
+    @Label("Save Game")
+    public static class SaveGame extends BoardEvent {
+
+        @Label("File")
+        String file;
+    }
+
+    @Name("acquire.LoadGame")
+    @Label("Load Game")
+    public static class LoadGame extends BoardEvent {
+
+        @Label("File")
+        String file;
+
+        @Label("Loaded")
+        boolean loaded;
+    }
+
+    @Name("acquire.BotDecision")
+    @Label("Bot Decision")
+    @StackTrace(false)
+    public static class BotDecision extends BoardEvent {
+
+        @Label("Bot")
+        String bot;
+
+        @Label("Legal Moves")
+        int legalMoves;
+
+        @Label("Move")
+        String move;
+
+        /**
+         * @param bot the name of the bot
+         * @param legalMoves the number of moves it chose from
+         * @param move the move it chose, see Move
+         */
+        public void set(String bot, int legalMoves, int move){
+            this.bot = bot;
+            this.legalMoves = legalMoves;
+            this.move = Move.toString(move);
+        }
+    }
+
+}
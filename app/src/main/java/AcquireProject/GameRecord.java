@@ -0,0 +1,125 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * the moves of a finished game and the deal it was played on, enough to play it back move by move since the same
+ * seed always deals the same tiles. Records are saved as JSON like saved games
+ *
+ * @since 1.1.0
+ */
+
+package AcquireProject;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class GameRecord {
+
+    public static final String REPLAY_FILE = "replay.json";
+
+    private final String[] names;
+    private final long seed;
+    private final int[] moves;
+
+    /**
+     * @param names the players in seat order
+     * @param seed the seed the tiles were dealt with, see GameState.newGame
+     * @param moves the moves in the order they were made, see Move
+     */
+    public GameRecord(String[] names, long seed, int[] moves){
+        this.names = names.clone();
+        this.seed = seed;
+        this.moves = moves.clone();
+    }
+
+    public int getNumberOfPlayers(){
+        return names.length;
+    }
+
+    public String getName(int seat){
+        return names[seat];
+    }
+
+    public long getSeed(){
+        return seed;
+    }
+
+    public int getNumberOfMoves(){
+        return moves.length;
+    }
+
+    /**
+     * @param index the number of moves made before this one
+     * @return the move, see Move
+     */
+    public int getMove(int index){
+        return moves[index];
+    }
+
+    /**
+     * @return the game as it was before the first move
+     */
+    public GameState start(){
+        return GameState.newGame(names.length, seed);
+    }
+
+    /**
+     * @param file the file to write
+     *
+     * @throws IOException if the file can not be written
+     */
+    public void save(Path file) throws IOException {
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try(Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)){
+            gson.toJson(this, writer);
+        }
+    }
+
+    /**
+     * @param file a file written by save
+     *
+     * @return the record in the file
+     *
+     * @throws IOException if the file can not be read or is not a game record
+     */
+    public static GameRecord load(Path file) throws IOException {
+        GameRecord record;
+        try(Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)){
+            record = new Gson().fromJson(reader, GameRecord.class);
+        }catch(RuntimeException e){
+            throw new IOException(file + " is not a game record", e);
+        }
+        if(record == null || record.names == null || record.moves == null){
+            throw new IOException(file + " is not a game record");
+        }
+        return record;
+    }
+
+}
@@ -0,0 +1,995 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * an immutable snapshot of a game packed into a handful of longs and small arrays.
+ * applying a move returns a new state that shares every array the move did not change with the state it came from,
+ * so search and what-if analysis can fork a game many times without deep copying players, tiles and stocks.
+ * the rules follow the turn cycle of the action menus: place a tile, found or merge, buy stock, end the turn.
+ *
+ * cells are numbered column by column the same way GameUI numbers the board, cell = x * 9 + y,
+ * and hotel chains are numbered in the order Game creates them
+ *
+ * @since 1.1.0
+ */
+
+package AcquireProject;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+public final class GameState {
+
+    public static final int BOARD_WIDTH = 12;
+    public static final int BOARD_HEIGHT = 9;
+    public static final int CELLS = BOARD_WIDTH * BOARD_HEIGHT;
+    public static final int CHAINS = 7;
+    public static final int HAND_SIZE = 6;
+    public static final int STARTING_BALANCE = 6000;
+    public static final int STOCK_PER_CHAIN = 25;
+    public static final int STOCK_PER_TURN = 3;
+    public static final int SAFE_SIZE = 11;
+    public static final int END_SIZE = 41;
+
+    // phases use the same numbers as the matching action menus in GameUI
+    public static final int PLACE_TILE = 0;
+    public static final int BUY_STOCK = 1;
+    public static final int END_GAME = 2;
+    public static final int MERGING = 3;
+    public static final int FOUND_CHAIN = 4;
+    public static final int GAME_OVER = 6;
+
+    public static final int NO_CHAIN = -1;
+
+    private static final String[] CHAIN_NAMES = new String[]{"Worldwide", "Sackson", "Festival", "Imperial",
+            "American", "Continental", "Tower"};
+    private static final int[] CHAIN_TIERS = new int[]{HotelChain.TIER_ONE, HotelChain.TIER_ONE, HotelChain.TIER_TWO,
+            HotelChain.TIER_TWO, HotelChain.TIER_TWO, HotelChain.TIER_THREE, HotelChain.TIER_THREE};
+    private static final String ROWS = "ABCDEFGHI";
+
+    // each cell is four bits: empty, a tile in no chain, or a tile in chain (value - 2)
+    private static final int CELLS_PER_LONG = 16;
+    private static final int CELL_EMPTY = 0;
+    private static final int CELL_UNINCORPORATED = 1;
+    private static final int CELL_CHAIN = 2;
+
+    // chain sizes are seven bits each, stock holdings five bits each, hand slots seven bits each
+    private static final int SIZE_BITS = 7;
+    private static final int HOLDING_BITS = 5;
+    private static final int SLOT_BITS = 7;
+    private static final int EMPTY_SLOT = 127;
+    private static final long EMPTY_HAND = (1L << (SLOT_BITS * HAND_SIZE)) - 1;
+
+    private static final int OWNS_BOARD = 1;
+    private static final int OWNS_BALANCES = 2;
+    private static final int OWNS_HOLDINGS = 4;
+    private static final int OWNS_HANDS = 8;
+
+    private static final ThreadLocal<int[]> FLOOD_STACK = ThreadLocal.withInitial(() -> new int[CELLS * 4 + 1]);
+
+    private final int[] deck;
+    private int deckPosition;
+    private long[] board;
+    private long chainSizes;
+    private int[] balances;
+    private long[] holdings;
+    private long[] hands;
+
+    private int currentSeat;
+    private int phase;
+    private int stockLeftToBuy;
+    private int turn;
+    private int lastTile;
+    private int skippedTurns;
+
+    private int acquiringChain;
+    private int acquiredQueue;
+    private int deciders;
+    private int decider;
+
+    // arrays this state copied while a move was being applied, so each array is copied at most once per move
+    private int owned;
+
+    private GameState(int[] deck, int players){
+        this.deck = deck;
+        this.board = new long[(CELLS + CELLS_PER_LONG - 1) / CELLS_PER_LONG];
+        this.balances = new int[players];
+        this.holdings = new long[players];
+        this.hands = new long[players];
+        this.phase = PLACE_TILE;
+        this.stockLeftToBuy = STOCK_PER_TURN;
+        this.lastTile = -1;
+        this.acquiringChain = NO_CHAIN;
+        this.decider = -1;
+
+        for(int seat = 0; seat < players; seat++){
+            balances[seat] = STARTING_BALANCE;
+            hands[seat] = EMPTY_HAND;
+        }
+    }
+
+    /**
+     * deals six tiles to every player in seat order
+     */
+    private GameState deal(){
+        for(int seat = 0; seat < getNumberOfPlayers(); seat++){
+            for(int slot = 0; slot < HAND_SIZE && deckPosition < deck.length; slot++){
+                hands[seat] = setSlot(hands[seat], slot, deck[deckPosition++]);
+            }
+        }
+        return this;
+    }
+
+    private GameState(GameState parent){
+        this(parent, parent.deck);
+    }
+
+    private GameState(GameState parent, int[] deck){
+        this.deck = deck;
+        this.deckPosition = parent.deckPosition;
+        this.board = parent.board;
+        this.chainSizes = parent.chainSizes;
+        this.balances = parent.balances;
+        this.holdings = parent.holdings;
+        this.hands = parent.hands;
+        this.currentSeat = parent.currentSeat;
+        this.phase = parent.phase;
+        this.stockLeftToBuy = parent.stockLeftToBuy;
+        this.turn = parent.turn;
+        this.lastTile = parent.lastTile;
+        this.skippedTurns = parent.skippedTurns;
+        this.acquiringChain = parent.acquiringChain;
+        this.acquiredQueue = parent.acquiredQueue;
+        this.deciders = parent.deciders;
+        this.decider = parent.decider;
+    }
+
+    /**
+     * starts a new game with the tiles shuffled by the seed, every player is dealt six tiles in seat order
+     *
+     * @param players the number of players
+     * @param seed the seed for the order of the tiles
+     *
+     * @return the state before the first tile is placed
+     */
+    public static GameState newGame(int players, long seed){
+        int[] deck = new int[CELLS];
+        for(int i = 0; i < CELLS; i++){
+            deck[i] = i;
+        }
+        shuffle(deck, 0, new Random(seed));
+        return new GameState(deck, players).deal();
+    }
+
+    private static void shuffle(int[] deck, int from, Random random){
+        for(int i = deck.length - 1; i > from; i--){
+            int j = from + random.nextInt(i + 1 - from);
+            int swap = deck[i];
+            deck[i] = deck[j];
+            deck[j] = swap;
+        }
+    }
+
+    /**
+     * starts a new game where tiles are drawn in the given order, used for tests and replays
+     *
+     * @param players the number of players
+     * @param deck the cells of the tiles in the order they are drawn
+     *
+     * @return the state before the first tile is placed
+     */
+    static GameState withDeck(int players, int[] deck){
+        return new GameState(deck.clone(), players).deal();
+    }
+
+    /**
+     * takes a snapshot of a game being played through the Game facade. The tiles still to be drawn are
+     * shuffled by the seed since the facade draws them at random. The current player is seat zero and the
+     * other players follow in turn order.
+     *
+     * @param game the game to copy
+     * @param seed the seed for the order of the tiles still to be drawn
+     *
+     * @return a state matching the game
+     *
+     * @throws IllegalStateException if the game is in the middle of a merger
+     */
+    public static GameState fromGame(Game game, long seed){
+        if(game.getUIState() == MERGING || game.mergeNeeded()){
+            throw new IllegalStateException("A game can not be copied in the middle of a merger");
+        }
+
+        List<Tile> unplayed = game.getUnplayedTiles().getTiles();
+        int[] deck = new int[unplayed.size()];
+        for(int i = 0; i < deck.length; i++){
+            deck[i] = cellOf(unplayed.get(i));
+        }
+        shuffle(deck, 0, new Random(seed));
+
+        GameState state = new GameState(deck, game.getPlayers().size());
+
+        int seat = 0;
+        for(Player player : game.getPlayers()){
+            state.balances[seat] = player.getBalance();
+            long hand = EMPTY_HAND;
+            List<Tile> tiles = player.getPlayerTiles();
+            for(int slot = 0; slot < tiles.size() && slot < HAND_SIZE; slot++){
+                hand = setSlot(hand, slot, cellOf(tiles.get(slot)));
+            }
+            state.hands[seat] = hand;
+            for(Stock stock : player.getPlayerStocks()){
+                int chain = chainIndex(stock.getChainName());
+                state.holdings[seat] = setHolding(state.holdings[seat], chain, getHolding(state.holdings[seat], chain) + 1);
+            }
+            seat++;
+        }
+
+        for(Tile tile : game.getPlayedTiles()){
+            int cell = cellOf(tile);
+            int chain = tile.getChainName().length() == 0 ? NO_CHAIN : chainIndex(tile.getChainName());
+            setCell(state.board, cell, chain == NO_CHAIN ? CELL_UNINCORPORATED : CELL_CHAIN + chain);
+            state.lastTile = cell;
+        }
+        state.chainSizes = countChains(state.board);
+
+        state.stockLeftToBuy = game.getNumberOfStockLeftToBuy();
+        if(!Objects.isNull(game.foundNeeded())){
+            state.phase = FOUND_CHAIN;
+        }else if(game.getUIState() == BUY_STOCK || game.getUIState() == END_GAME){
+            state.phase = game.getUIState();
+        }
+        return state;
+    }
+
+    /**
+     * copies the state with the tiles still to be drawn put in a new order, so rollouts from one position
+     * do not all draw the same tiles
+     *
+     * @param seed the seed for the new order
+     *
+     * @return the same position with a reshuffled draw pile
+     */
+    public GameState reshuffle(long seed){
+        int[] shuffled = deck.clone();
+        shuffle(shuffled, deckPosition, new Random(seed));
+        return new GameState(this, shuffled);
+    }
+
+    /**
+     * applies a move and returns the state after it, this state is never changed
+     *
+     * @param move an encoded move, see Move
+     *
+     * @return the state after the move
+     *
+     * @throws IllegalArgumentException if the move is not legal in this state
+     */
+    public GameState apply(int move){
+        GameState next = new GameState(this);
+        int argument = Move.getArgument(move);
+
+        switch(Move.getType(move)){
+            case Move.TYPE_PLACE_TILE:
+                require(phase == PLACE_TILE && argument < CELLS && handContains(currentSeat, argument)
+                        && isLegalPlacement(argument), move);
+                next.placeTile(argument);
+                break;
+            case Move.TYPE_NEW_HAND:
+                require(phase == PLACE_TILE && !hasLegalTile() && getTilesLeft() > 0, move);
+                next.drawNewHand();
+                break;
+            case Move.TYPE_SKIP_TILE:
+                require(phase == PLACE_TILE && !hasLegalTile() && getTilesLeft() == 0, move);
+                next.skipTile();
+                break;
+            case Move.TYPE_FOUND_CHAIN:
+                require(phase == FOUND_CHAIN && argument < CHAINS && getChainSize(argument) == 0, move);
+                next.foundChain(argument);
+                break;
+            case Move.TYPE_SELL_STOCK:
+                require(phase == MERGING && getHoldings(decider, getAcquiredChain()) > 0, move);
+                next.sellStock();
+                break;
+            case Move.TYPE_TRADE_STOCK:
+                require(phase == MERGING && getHoldings(decider, getAcquiredChain()) >= 2
+                        && getBankStock(acquiringChain) > 0, move);
+                next.tradeStock();
+                break;
+            case Move.TYPE_HOLD_STOCK:
+                require(phase == MERGING, move);
+                next.holdStock();
+                break;
+            case Move.TYPE_BUY_STOCK:
+                require(phase == BUY_STOCK && argument < CHAINS && canBuyStock(argument), move);
+                next.buyStock(argument);
+                break;
+            case Move.TYPE_END_TURN:
+                require(phase == BUY_STOCK, move);
+                next.endTurn();
+                break;
+            case Move.TYPE_END_GAME:
+                require(phase == END_GAME, move);
+                next.scoreGame();
+                next.phase = GAME_OVER;
+                break;
+            case Move.TYPE_CONTINUE:
+                require(phase == END_GAME, move);
+                next.phase = BUY_STOCK;
+                break;
+            default:
+                require(false, move);
+        }
+
+        next.owned = 0;
+        return next;
+    }
+
+    private void require(boolean legal, int move){
+        if(!legal){
+            throw new IllegalArgumentException("Illegal move in phase " + phase + ": " + Move.toString(move));
+        }
+    }
+
+    private void placeTile(int cell){
+        ownHands();
+        ownBoard();
+        skippedTurns = 0;
+        lastTile = cell;
+
+        long hand = hands[currentSeat];
+        int slot = findSlot(hand, cell);
+        hand = setSlot(hand, slot, deckPosition < deck.length ? deck[deckPosition++] : EMPTY_SLOT);
+        hands[currentSeat] = hand;
+
+        int first = NO_CHAIN;
+        int chains = 0;
+        boolean touchesTile = false;
+        for(int direction = 0; direction < 4; direction++){
+            int neighbor = neighbor(cell, direction);
+            if(neighbor < 0 || getCell(board, neighbor) == CELL_EMPTY){
+                continue;
+            }
+            touchesTile = true;
+            int chain = getCell(board, neighbor) - CELL_CHAIN;
+            if(chain >= 0 && (chains & 1 << chain) == 0){
+                chains |= 1 << chain;
+                first = chain;
+            }
+        }
+
+        setCell(board, cell, CELL_UNINCORPORATED);
+
+        if(chains == 0 && touchesTile){
+            phase = FOUND_CHAIN;
+        }else if(chains == 0){
+            finishPlacement();
+        }else if(Integer.bitCount(chains) == 1){
+            floodFill(board, cell, CELL_CHAIN + first);
+            chainSizes = countChains(board);
+            finishPlacement();
+        }else{
+            startMergers(chains);
+        }
+    }
+
+    /**
+     * orders the chains being merged from largest to smallest, the largest acquires the rest
+     */
+    private void startMergers(int chains){
+        int queue = 0;
+        int entries = 0;
+        while(chains != 0){
+            int largest = NO_CHAIN;
+            for(int chain = 0; chain < CHAINS; chain++){
+                if((chains & 1 << chain) != 0 && (largest == NO_CHAIN || getChainSize(chain) > getChainSize(largest))){
+                    largest = chain;
+                }
+            }
+            chains &= ~(1 << largest);
+            if(entries == 0){
+                acquiringChain = largest;
+            }else{
+                queue |= (largest + 1) << 4 * (entries - 1);
+            }
+            entries++;
+        }
+        acquiredQueue = queue;
+        phase = MERGING;
+        startNextMerger();
+    }
+
+    /**
+     * pays the shareholder bonuses for the next chain being acquired and finds who has to decide what
+     * to do with their stock, chains that nobody owns stock in are merged straight away
+     */
+    private void startNextMerger(){
+        while(acquiredQueue != 0){
+            int acquired = getAcquiredChain();
+            giveShareholderBonus(acquired);
+
+            deciders = 0;
+            for(int seat = 0; seat < getNumberOfPlayers(); seat++){
+                if(getHoldings(seat, acquired) > 0){
+                    deciders |= 1 << seat;
+                }
+            }
+            if(deciders != 0){
+                decider = nextDecider(currentSeat);
+                return;
+            }
+            acquiredQueue >>>= 4;
+        }
+
+        ownBoard();
+        floodFill(board, lastTile, CELL_CHAIN + acquiringChain);
+        chainSizes = countChains(board);
+        acquiringChain = NO_CHAIN;
+        decider = -1;
+        finishPlacement();
+    }
+
+    private int nextDecider(int from){
+        for(int i = 0; i < getNumberOfPlayers(); i++){
+            int seat = (from + i) % getNumberOfPlayers();
+            if((deciders & 1 << seat) != 0){
+                return seat;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * the largest holders split the majority bonus and the next largest split the minority bonus,
+     * when nobody else owns stock the largest holders split both. Bonuses match Merger.giveShareholderBonus
+     */
+    private void giveShareholderBonus(int chain){
+        ownBalances();
+        int majorityBonus = getStockPrice(chain) * 10;
+        int minorityBonus = majorityBonus / 2;
+
+        int most = 0;
+        int second = 0;
+        for(int seat = 0; seat < getNumberOfPlayers(); seat++){
+            int held = getHoldings(seat, chain);
+            if(held > most){
+                second = most;
+                most = held;
+            }else if(held < most && held > second){
+                second = held;
+            }
+        }
+        if(most == 0){
+            return;
+        }
+
+        int majority = 0;
+        int minority = 0;
+        for(int seat = 0; seat < getNumberOfPlayers(); seat++){
+            int held = getHoldings(seat, chain);
+            if(held == most){
+                majority++;
+            }else if(second > 0 && held == second){
+                minority++;
+            }
+        }
+
+        for(int seat = 0; seat < getNumberOfPlayers(); seat++){
+            int held = getHoldings(seat, chain);
+            if(held == most){
+                balances[seat] += majorityBonus / majority;
+                if(minority == 0){
+                    balances[seat] += minorityBonus / 100 / majority * 100;
+                }
+            }else if(second > 0 && held == second){
+                balances[seat] += minorityBonus / 100 / minority * 100;
+            }
+        }
+    }
+
+    private void sellStock(){
+        ownBalances();
+        ownHoldings();
+        int acquired = getAcquiredChain();
+        holdings[decider] = setHolding(holdings[decider], acquired, getHoldings(decider, acquired) - 1);
+        balances[decider] += getStockPrice(acquired);
+    }
+
+    private void tradeStock(){
+        ownHoldings();
+        int acquired = getAcquiredChain();
+        holdings[decider] = setHolding(holdings[decider], acquired, getHoldings(decider, acquired) - 2);
+        holdings[decider] = setHolding(holdings[decider], acquiringChain, getHoldings(decider, acquiringChain) + 1);
+    }
+
+    private void holdStock(){
+        deciders &= ~(1 << decider);
+        if(deciders != 0){
+            decider = nextDecider(decider);
+            return;
+        }
+        acquiredQueue >>>= 4;
+        startNextMerger();
+    }
+
+    /**
+     * a player with no tile to place skips to buying stock, the game ends once every player in a row has had to skip
+     */
+    private void skipTile(){
+        skippedTurns++;
+        if(skippedTurns >= getNumberOfPlayers()){
+            scoreGame();
+            phase = GAME_OVER;
+        }else{
+            phase = BUY_STOCK;
+        }
+    }
+
+    private void foundChain(int chain){
+        ownBoard();
+        floodFill(board, lastTile, CELL_CHAIN + chain);
+        chainSizes = countChains(board);
+        if(getBankStock(chain) > 0){
+            ownHoldings();
+            holdings[currentSeat] = setHolding(holdings[currentSeat], chain, getHoldings(currentSeat, chain) + 1);
+        }
+        finishPlacement();
+    }
+
+    private void finishPlacement(){
+        phase = canEnd() ? END_GAME : BUY_STOCK;
+    }
+
+    private void drawNewHand(){
+        ownHands();
+        long hand = EMPTY_HAND;
+        for(int slot = 0; slot < HAND_SIZE && deckPosition < deck.length; slot++){
+            hand = setSlot(hand, slot, deck[deckPosition++]);
+        }
+        hands[currentSeat] = hand;
+    }
+
+    private void buyStock(int chain){
+        ownBalances();
+        ownHoldings();
+        balances[currentSeat] -= getStockPrice(chain);
+        holdings[currentSeat] = setHolding(holdings[currentSeat], chain, getHoldings(currentSeat, chain) + 1);
+        stockLeftToBuy--;
+    }
+
+    private void endTurn(){
+        currentSeat = (currentSeat + 1) % getNumberOfPlayers();
+        stockLeftToBuy = STOCK_PER_TURN;
+        phase = PLACE_TILE;
+        turn++;
+    }
+
+    /**
+     * sells every player's stock back to the founded chains, matching Game.endGame
+     */
+    private void scoreGame(){
+        ownBalances();
+        ownHoldings();
+        for(int seat = 0; seat < getNumberOfPlayers(); seat++){
+            for(int chain = 0; chain < CHAINS; chain++){
+                if(getChainSize(chain) > 0){
+                    balances[seat] += getHoldings(seat, chain) * getStockPrice(chain);
+                    holdings[seat] = setHolding(holdings[seat], chain, 0);
+                }
+            }
+        }
+    }
+
+    private void ownBoard(){
+        if((owned & OWNS_BOARD) == 0){
+            board = board.clone();
+            owned |= OWNS_BOARD;
+        }
+    }
+
+    private void ownBalances(){
+        if((owned & OWNS_BALANCES) == 0){
+            balances = balances.clone();
+            owned |= OWNS_BALANCES;
+        }
+    }
+
+    private void ownHoldings(){
+        if((owned & OWNS_HOLDINGS) == 0){
+            holdings = holdings.clone();
+            owned |= OWNS_HOLDINGS;
+        }
+    }
+
+    private void ownHands(){
+        if((owned & OWNS_HANDS) == 0){
+            hands = hands.clone();
+            owned |= OWNS_HANDS;
+        }
+    }
+
+    /**
+     * checks the same conditions as GameBoard.moveIsLegal: a tile can not start a chain when every chain
+     * is already founded, and can not merge two safe chains
+     *
+     * @param cell the cell of the tile
+     *
+     * @return true if placing a tile on the cell is legal
+     */
+    public boolean isLegalPlacement(int cell){
+        if(getCell(board, cell) != CELL_EMPTY){
+            return false;
+        }
+        int chains = 0;
+        boolean touchesTile = false;
+        for(int direction = 0; direction < 4; direction++){
+            int neighbor = neighbor(cell, direction);
+            if(neighbor < 0 || getCell(board, neighbor) == CELL_EMPTY){
+                continue;
+            }
+            touchesTile = true;
+            int chain = getCell(board, neighbor) - CELL_CHAIN;
+            if(chain >= 0){
+                chains |= 1 << chain;
+            }
+        }
+        if(chains == 0){
+            return !touchesTile || getNumberOfUnfoundedChains() > 0;
+        }
+        int safeChains = 0;
+        for(int chain = 0; chain < CHAINS; chain++){
+            if((chains & 1 << chain) != 0 && getChainSize(chain) >= SAFE_SIZE){
+                safeChains++;
+            }
+        }
+        return safeChains < 2;
+    }
+
+    /**
+     * @return true if the current player has a tile that can be placed
+     */
+    public boolean hasLegalTile(){
+        for(int slot = 0; slot < HAND_SIZE; slot++){
+            int cell = getHandTile(currentSeat, slot);
+            if(cell >= 0 && isLegalPlacement(cell)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param chain the index of the chain
+     *
+     * @return true if the current player can afford a stock in the founded chain and has not bought three this turn
+     */
+    public boolean canBuyStock(int chain){
+        return getChainSize(chain) > 0 && stockLeftToBuy > 0 && getBankStock(chain) > 0
+                && balances[currentSeat] >= getStockPrice(chain);
+    }
+
+    /**
+     * @return true if all founded chains are safe or one chain is large enough to end the game
+     */
+    public boolean canEnd(){
+        boolean founded = false;
+        boolean allSafe = true;
+        for(int chain = 0; chain < CHAINS; chain++){
+            int size = getChainSize(chain);
+            if(size == 0){
+                continue;
+            }
+            founded = true;
+            if(size >= END_SIZE){
+                return true;
+            }
+            if(size < SAFE_SIZE){
+                allSafe = false;
+            }
+        }
+        return founded && allSafe;
+    }
+
+    public int getNumberOfPlayers(){
+        return balances.length;
+    }
+
+    public int getCurrentSeat(){
+        return currentSeat;
+    }
+
+    public int getPhase(){
+        return phase;
+    }
+
+    public boolean isGameOver(){
+        return phase == GAME_OVER;
+    }
+
+    public int getStockLeftToBuy(){
+        return stockLeftToBuy;
+    }
+
+    /**
+     * @return the number of turns that have been finished
+     */
+    public int getTurn(){
+        return turn;
+    }
+
+    /**
+     * @return the cell of the last tile placed, or -1 before the first tile
+     */
+    public int getLastTile(){
+        return lastTile;
+    }
+
+    public int getTilesLeft(){
+        return deck.length - deckPosition;
+    }
+
+    public int getBalance(int seat){
+        return balances[seat];
+    }
+
+    public int getHoldings(int seat, int chain){
+        return getHolding(holdings[seat], chain);
+    }
+
+    /**
+     * @param chain the index of the chain
+     * @return the number of stock the chain has not sold
+     */
+    public int getBankStock(int chain){
+        int owned = 0;
+        for(long holding : holdings){
+            owned += getHolding(holding, chain);
+        }
+        return STOCK_PER_CHAIN - owned;
+    }
+
+    public int getChainSize(int chain){
+        return (int) (chainSizes >>> SIZE_BITS * chain) & ((1 << SIZE_BITS) - 1);
+    }
+
+    public int getNumberOfUnfoundedChains(){
+        int unfounded = 0;
+        for(int chain = 0; chain < CHAINS; chain++){
+            if(getChainSize(chain) == 0){
+                unfounded++;
+            }
+        }
+        return unfounded;
+    }
+
+    /**
+     * calculates the price of one stock the same way HotelChain.getStockPrice does
+     *
+     * @param chain the index of the chain
+     * @return the price of one stock in the chain
+     */
+    public int getStockPrice(int chain){
+        int size = getChainSize(chain);
+        int bracket;
+        if(size <= 2){
+            bracket = 0;
+        }else if(size <= 5){
+            bracket = size - 2;
+        }else if(size <= 10){
+            bracket = 4;
+        }else if(size < END_SIZE){
+            bracket = 5 + (size - SAFE_SIZE) / 10;
+        }else{
+            bracket = 8;
+        }
+        return (bracket + CHAIN_TIERS[chain] + 2) * 100;
+    }
+
+    /**
+     * @param cell the cell on the board
+     * @return true if a tile has been placed on the cell
+     */
+    public boolean isOccupied(int cell){
+        return getCell(board, cell) != CELL_EMPTY;
+    }
+
+    /**
+     * @param cell the cell on the board
+     * @return the chain the tile on the cell belongs to, or NO_CHAIN
+     */
+    public int getChainAt(int cell){
+        return Math.max(getCell(board, cell) - CELL_CHAIN, NO_CHAIN);
+    }
+
+    /**
+     * @param seat the seat of the player
+     * @param slot the slot in the player's hand, from 0 to 5
+     * @return the cell of the tile in the slot, or -1 if the slot is empty
+     */
+    public int getHandTile(int seat, int slot){
+        int cell = getSlot(hands[seat], slot);
+        return cell == EMPTY_SLOT ? -1 : cell;
+    }
+
+    /**
+     * @return the chain taking over the others while merging, or NO_CHAIN
+     */
+    public int getAcquiringChain(){
+        return acquiringChain;
+    }
+
+    /**
+     * @return the chain whose stock is being decided on while merging, or NO_CHAIN
+     */
+    public int getAcquiredChain(){
+        return (acquiredQueue & 0xF) - 1;
+    }
+
+    /**
+     * @return the seat deciding what to do with their stock while merging, or -1
+     */
+    public int getMergeDecider(){
+        return phase == MERGING ? decider : -1;
+    }
+
+    /**
+     * @return the seat of the player with the most cash, the earlier seat wins a tie
+     */
+    public int getLeader(){
+        int leader = 0;
+        for(int seat = 1; seat < getNumberOfPlayers(); seat++){
+            if(balances[seat] > balances[leader]){
+                leader = seat;
+            }
+        }
+        return leader;
+    }
+
+    private boolean handContains(int seat, int cell){
+        return findSlot(hands[seat], cell) >= 0;
+    }
+
+    public static String getChainName(int chain){
+        return CHAIN_NAMES[chain];
+    }
+
+    /**
+     * @param name the name of a hotel chain
+     * @return the index of the chain, or NO_CHAIN if there is no chain with the name
+     */
+    public static int chainIndex(String name){
+        for(int chain = 0; chain < CHAINS; chain++){
+            if(CHAIN_NAMES[chain].equals(name)){
+                return chain;
+            }
+        }
+        return NO_CHAIN;
+    }
+
+    /**
+     * @param tile a tile from the Game facade
+     * @return the cell of the tile
+     */
+    public static int cellOf(Tile tile){
+        return tile.getCoordinates().get(0) * BOARD_HEIGHT + tile.getCoordinates().get(1);
+    }
+
+    /**
+     * @param cell a cell on the board
+     * @return the name printed on the tile, such as 6D
+     */
+    public static String cellName(int cell){
+        return (cell / BOARD_HEIGHT + 1) + String.valueOf(ROWS.charAt(cell % BOARD_HEIGHT));
+    }
+
+    private static int neighbor(int cell, int direction){
+        int x = cell / BOARD_HEIGHT;
+        int y = cell % BOARD_HEIGHT;
+        switch(direction){
+            case 0: return x + 1 < BOARD_WIDTH ? cell + BOARD_HEIGHT : -1;
+            case 1: return x > 0 ? cell - BOARD_HEIGHT : -1;
+            case 2: return y + 1 < BOARD_HEIGHT ? cell + 1 : -1;
+            default: return y > 0 ? cell - 1 : -1;
+        }
+    }
+
+    /**
+     * gives every tile connected to the start cell the same value
+     */
+    private static void floodFill(long[] board, int start, int value){
+        int[] stack = FLOOD_STACK.get();
+        long visitedLow = 0;
+        long visitedHigh = 0;
+        int size = 0;
+        stack[size++] = start;
+        while(size > 0){
+            int cell = stack[--size];
+            if(cell < 0 || getCell(board, cell) == CELL_EMPTY){
+                continue;
+            }
+            if(cell < 64 ? (visitedLow & 1L << cell) != 0 : (visitedHigh & 1L << cell - 64) != 0){
+                continue;
+            }
+            if(cell < 64){
+                visitedLow |= 1L << cell;
+            }else{
+                visitedHigh |= 1L << cell - 64;
+            }
+            setCell(board, cell, value);
+            for(int direction = 0; direction < 4; direction++){
+                stack[size++] = neighbor(cell, direction);
+            }
+        }
+    }
+
+    private static long countChains(long[] board){
+        int[] sizes = new int[CHAINS];
+        for(int cell = 0; cell < CELLS; cell++){
+            int chain = getCell(board, cell) - CELL_CHAIN;
+            if(chain >= 0){
+                sizes[chain]++;
+            }
+        }
+        long packed = 0;
+        for(int chain = 0; chain < CHAINS; chain++){
+            packed |= (long) sizes[chain] << SIZE_BITS * chain;
+        }
+        return packed;
+    }
+
+    private static int getCell(long[] board, int cell){
+        return (int) (board[cell / CELLS_PER_LONG] >>> 4 * (cell % CELLS_PER_LONG)) & 0xF;
+    }
+
+    private static void setCell(long[] board, int cell, int value){
+        int shift = 4 * (cell % CELLS_PER_LONG);
+        board[cell / CELLS_PER_LONG] = board[cell / CELLS_PER_LONG] & ~(0xFL << shift) | (long) value << shift;
+    }
+
+    private static int getHolding(long holding, int chain){
+        return (int) (holding >>> HOLDING_BITS * chain) & ((1 << HOLDING_BITS) - 1);
+    }
+
+    private static long setHolding(long holding, int chain, int amount){
+        int shift = HOLDING_BITS * chain;
+        return holding & ~((long) ((1 << HOLDING_BITS) - 1) << shift) | (long) amount << shift;
+    }
+
+    private static int getSlot(long hand, int slot){
+        return (int) (hand >>> SLOT_BITS * slot) & EMPTY_SLOT;
+    }
+
+    private static long setSlot(long hand, int slot, int cell){
+        int shift = SLOT_BITS * slot;
+        return hand & ~((long) EMPTY_SLOT << shift) | (long) cell << shift;
+    }
+
+    private static int findSlot(long hand, int cell){
+        for(int slot = 0; slot < HAND_SIZE; slot++){
+            if(getSlot(hand, slot) == cell){
+                return slot;
+            }
+        }
+        return -1;
+    }
+}
@@ -69,8 +69,6 @@ public class HotelChain {
         this.tiles = new ArrayList<>();
         this.unownedStock = generateStock();
         this.ownedStock = new ArrayList<>();
-
-        StockProfiler.instance().addChain(name);
     }
 
     /**
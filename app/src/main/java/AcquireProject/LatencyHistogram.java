@@ -0,0 +1,157 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * counts recorded latencies in buckets that keep two significant digits at every magnitude, the way HdrHistogram
+ * does, so percentiles from nanoseconds up to minutes are within one percent while recording is a shift and an
+ * increment into a fixed array. A histogram is not thread safe: each thread records into its own and they are added
+ * together at the end
+ *
+ * @since 1.1.0
+ */
+
+package AcquireProject;
+
+public class LatencyHistogram {
+
+    // 2^8 sub-buckets per magnitude keeps two significant digits, the first half is shared with the magnitude below
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_BITS = SUB_BUCKET_BITS - 1;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final long SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+
+    private final long highestTrackableValue;
+    private final long[] counts;
+    private long totalCount;
+    private long total;
+    private long max;
+    private long min = Long.MAX_VALUE;
+
+    /**
+     * @param highestTrackableValue the largest value kept exactly, larger values are recorded as this
+     */
+    public LatencyHistogram(long highestTrackableValue){
+        this.highestTrackableValue = highestTrackableValue;
+        int buckets = 1;
+        long smallestUntrackable = SUB_BUCKET_COUNT;
+        while(smallestUntrackable <= highestTrackableValue){
+            smallestUntrackable <<= 1;
+            buckets++;
+        }
+        this.counts = new long[(buckets + 1) * SUB_BUCKET_HALF_COUNT];
+    }
+
+    /**
+     * @param value a latency, negative values are recorded as zero
+     */
+    public void record(long value){
+        long clamped = Math.max(0, Math.min(value, highestTrackableValue));
+        counts[indexOf(clamped)]++;
+        totalCount++;
+        total += clamped;
+        max = Math.max(max, clamped);
+        min = Math.min(min, clamped);
+    }
+
+    /**
+     * adds the counts of another histogram with the same highest trackable value to this one
+     *
+     * @param other the histogram to add
+     */
+    public void add(LatencyHistogram other){
+        if(other.counts.length != counts.length){
+            throw new IllegalArgumentException("Histograms track different ranges");
+        }
+        for(int i = 0; i < counts.length; i++){
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        total += other.total;
+        max = Math.max(max, other.max);
+        min = Math.min(min, other.min);
+    }
+
+    public long getTotalCount(){
+        return totalCount;
+    }
+
+    public long getMax(){
+        return max;
+    }
+
+    public long getMin(){
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public double getMean(){
+        return totalCount == 0 ? 0 : (double) total / totalCount;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the largest value that percentile of the recorded values are at or below, to two significant digits
+     */
+    public long getValueAtPercentile(double percentile){
+        if(totalCount == 0){
+            return 0;
+        }
+        long wanted = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * totalCount));
+        long seen = 0;
+        for(int i = 0; i < counts.length; i++){
+            seen += counts[i];
+            if(seen >= wanted){
+                return Math.min(max, highestValueAt(i));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return the percentiles in a line, with the values divided by the scale, e.g. 1000 to print nanoseconds as microseconds
+     */
+    public String summary(long scale){
+        return String.format("p50 %d  p99 %d  p99.9 %d  max %d  mean %.1f  (n=%d)",
+                getValueAtPercentile(50) / scale, getValueAtPercentile(99) / scale,
+                getValueAtPercentile(99.9) / scale, max / scale, getMean() / scale, totalCount);
+    }
+
+    private static int indexOf(long value){
+        int bucket = 64 - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> bucket);
+        return ((bucket + 1) << SUB_BUCKET_HALF_BITS) + subBucket - SUB_BUCKET_HALF_COUNT;
+    }
+
+    /**
+     * @return the largest value that is counted in the slot
+     */
+    private static long highestValueAt(int index){
+        int bucket = (index >> SUB_BUCKET_HALF_BITS) - 1;
+        int subBucket = (index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+        if(bucket < 0){
+            subBucket -= SUB_BUCKET_HALF_COUNT;
+            bucket = 0;
+        }
+        return ((long) subBucket << bucket) + (1L << bucket) - 1;
+    }
+}
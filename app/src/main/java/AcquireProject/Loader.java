@@ -67,6 +67,9 @@ public class Loader {
      * @return game object
      */
     public Game loadGame(){
+        GameEvents.LoadGame event = new GameEvents.LoadGame();
+        event.begin();
+
         Game savedGame = null;
         try {
             String json = String.join("\n", Files.readAllLines(Paths.get("gameData.txt")));
@@ -76,6 +79,15 @@ public class Loader {
         catch (Exception ex){
             System.out.format("I/O error: %s%n", ex);
         }
+
+        if(event.shouldCommit()){
+            event.file = "gameData.txt";
+            event.loaded = savedGame != null;
+            if(savedGame != null && savedGame.getGameBoard() != null){
+                event.capture(savedGame.getGameBoard());
+            }
+            event.commit();
+        }
         return savedGame;
     }
 
@@ -85,11 +97,20 @@ public class Loader {
      * @throws IOException in case the file is not found or something is wrong with the data
      */
     public void saveGame(Game gameData) throws IOException {
+        GameEvents.SaveGame event = new GameEvents.SaveGame();
+        event.begin();
+
         Gson gson = new GsonBuilder().setPrettyPrinting().create();
         Writer writer = new BufferedWriter((new OutputStreamWriter(
                 new FileOutputStream("gameData.txt"), StandardCharsets.UTF_8)
         ));
         gson.toJson(gameData, writer);
         writer.close();
+
+        if(event.shouldCommit()){
+            event.file = "gameData.txt";
+            event.capture(gameData.getGameBoard());
+            event.commit();
+        }
     }
 }
@@ -140,7 +140,7 @@ public class Merger {
      * @return the omount of stock the current player owns in the hotel chain being acquired
      */
     public int getPlayerStockCount(){
-        return StockProfiler.instance().createPlayerProfile(playersToMakeDecision.get(0)).get(acquiredChain.getName());
+        return StockProfiler.instance().createPlayerProfile(playersToMakeDecision.get(0)).getOrDefault(acquiredChain.getName(), 0);
     }
 
     /**
@@ -171,6 +171,18 @@ public class Merger {
      * merges the two chains tiles together
      */
     public void mergeChains(){
+        GameEvents.MergeChains event = new GameEvents.MergeChains();
+        event.begin();
+        int acquiredSize = acquiredChain.getSize();
+
         gameBoard.mergeChains(this);
+
+        if(event.shouldCommit()){
+            event.acquiringChain = acquiringChain.getName();
+            event.acquiredChain = acquiredChain.getName();
+            event.acquiredSize = acquiredSize;
+            event.capture(gameBoard);
+            event.commit();
+        }
     }
 }
@@ -0,0 +1,124 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * moves are packed into a single int so bots and simulators can pass them around without allocating.
+ * the move type is kept in the bits above the lowest eight and the tile or hotel chain the move is about
+ * is kept in the lowest eight bits
+ *
+ * @since 1.1.0
+ */
+
+package AcquireProject;
+
+public final class Move {
+
+    public static final int TYPE_PLACE_TILE = 1;
+    public static final int TYPE_NEW_HAND = 2;
+    public static final int TYPE_SKIP_TILE = 3;
+    public static final int TYPE_FOUND_CHAIN = 4;
+    public static final int TYPE_SELL_STOCK = 5;
+    public static final int TYPE_TRADE_STOCK = 6;
+    public static final int TYPE_HOLD_STOCK = 7;
+    public static final int TYPE_BUY_STOCK = 8;
+    public static final int TYPE_END_TURN = 9;
+    public static final int TYPE_END_GAME = 10;
+    public static final int TYPE_CONTINUE = 11;
+
+    private static final int TYPE_SHIFT = 8;
+    private static final int ARGUMENT_MASK = 0xFF;
+
+    public static final int NEW_HAND = TYPE_NEW_HAND << TYPE_SHIFT;
+    public static final int SKIP_TILE = TYPE_SKIP_TILE << TYPE_SHIFT;
+    public static final int SELL_STOCK = TYPE_SELL_STOCK << TYPE_SHIFT;
+    public static final int TRADE_STOCK = TYPE_TRADE_STOCK << TYPE_SHIFT;
+    public static final int HOLD_STOCK = TYPE_HOLD_STOCK << TYPE_SHIFT;
+    public static final int END_TURN = TYPE_END_TURN << TYPE_SHIFT;
+    public static final int END_GAME = TYPE_END_GAME << TYPE_SHIFT;
+    public static final int CONTINUE = TYPE_CONTINUE << TYPE_SHIFT;
+
+    private Move(){}
+
+    /**
+     * @param cell the board cell of the tile, see GameState.cellOf
+     * @return the move that places the tile
+     */
+    public static int placeTile(int cell){
+        return TYPE_PLACE_TILE << TYPE_SHIFT | cell;
+    }
+
+    /**
+     * @param chain the index of the hotel chain, see GameState.getChainName
+     * @return the move that founds the chain
+     */
+    public static int foundChain(int chain){
+        return TYPE_FOUND_CHAIN << TYPE_SHIFT | chain;
+    }
+
+    /**
+     * @param chain the index of the hotel chain, see GameState.getChainName
+     * @return the move that buys one stock in the chain
+     */
+    public static int buyStock(int chain){
+        return TYPE_BUY_STOCK << TYPE_SHIFT | chain;
+    }
+
+    /**
+     * @param move an encoded move
+     * @return the type of the move
+     */
+    public static int getType(int move){
+        return move >>> TYPE_SHIFT;
+    }
+
+    /**
+     * @param move an encoded move
+     * @return the tile or chain the move is about
+     */
+    public static int getArgument(int move){
+        return move & ARGUMENT_MASK;
+    }
+
+    /**
+     * describes a move for logs and debugging
+     *
+     * @param move an encoded move
+     * @return a readable description of the move
+     */
+    public static String toString(int move){
+        switch(getType(move)){
+            case TYPE_PLACE_TILE: return "place " + GameState.cellName(getArgument(move));
+            case TYPE_NEW_HAND: return "new hand";
+            case TYPE_SKIP_TILE: return "skip tile";
+            case TYPE_FOUND_CHAIN: return "found " + GameState.getChainName(getArgument(move));
+            case TYPE_SELL_STOCK: return "sell stock";
+            case TYPE_TRADE_STOCK: return "trade stock";
+            case TYPE_HOLD_STOCK: return "hold stock";
+            case TYPE_BUY_STOCK: return "buy " + GameState.getChainName(getArgument(move));
+            case TYPE_END_TURN: return "end turn";
+            case TYPE_END_GAME: return "end game";
+            case TYPE_CONTINUE: return "continue";
+            default: return "unknown move " + move;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * lists every legal move for the player who has to act into a buffer the caller reuses,
+ * so bots and simulators can step through a game without allocating
+ *
+ * @since 1.1.0
+ */
+
+package AcquireProject;
+
+public final class MoveGenerator {
+
+    /**
+     * no phase has more legal moves than buying stock in all seven chains or ending the turn
+     */
+    public static final int MAX_MOVES = GameState.CHAINS + 1;
+
+    private MoveGenerator(){}
+
+    /**
+     * @param state the state to find moves for
+     * @param moves a buffer of at least MAX_MOVES entries that the moves are written to
+     *
+     * @return the number of moves written, zero once the game is over
+     */
+    public static int generate(GameState state, int[] moves){
+        int count = 0;
+        switch(state.getPhase()){
+            case GameState.PLACE_TILE:
+                int seat = state.getCurrentSeat();
+                for(int slot = 0; slot < GameState.HAND_SIZE; slot++){
+                    int cell = state.getHandTile(seat, slot);
+                    if(cell >= 0 && state.isLegalPlacement(cell)){
+                        moves[count++] = Move.placeTile(cell);
+                    }
+                }
+                if(count == 0){
+                    moves[count++] = state.getTilesLeft() > 0 ? Move.NEW_HAND : Move.SKIP_TILE;
+                }
+                break;
+            case GameState.FOUND_CHAIN:
+                for(int chain = 0; chain < GameState.CHAINS; chain++){
+                    if(state.getChainSize(chain) == 0){
+                        moves[count++] = Move.foundChain(chain);
+                    }
+                }
+                break;
+            case GameState.MERGING:
+                int held = state.getHoldings(state.getMergeDecider(), state.getAcquiredChain());
+                if(held > 0){
+                    moves[count++] = Move.SELL_STOCK;
+                }
+                if(held >= 2 && state.getBankStock(state.getAcquiringChain()) > 0){
+                    moves[count++] = Move.TRADE_STOCK;
+                }
+                moves[count++] = Move.HOLD_STOCK;
+                break;
+            case GameState.BUY_STOCK:
+                for(int chain = 0; chain < GameState.CHAINS; chain++){
+                    if(state.canBuyStock(chain)){
+                        moves[count++] = Move.buyStock(chain);
+                    }
+                }
+                moves[count++] = Move.END_TURN;
+                break;
+            case GameState.END_GAME:
+                moves[count++] = Move.END_GAME;
+                moves[count++] = Move.CONTINUE;
+                break;
+            default:
+                break;
+        }
+        return count;
+    }
+
+    /**
+     * @param state the state to find the acting player for
+     *
+     * @return the seat that has to make the next move, the deciding shareholder while merging
+     */
+    public static int getActingSeat(GameState state){
+        if(state.getPhase() == GameState.MERGING){
+            return state.getMergeDecider();
+        }
+        return state.getCurrentSeat();
+    }
+}
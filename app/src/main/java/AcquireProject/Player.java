@@ -39,6 +39,11 @@ public class Player {
     private int balance;
     private List<Tile> playerTiles;
     private List<Stock> playerStocks;
+    // the number of stocks held in each chain, by GameState chain index. Not saved, it is counted again on first use
+    private transient int[] stockCounts;
+    // set when the balance or stock changes and cleared when DeltaTracker reports the player. Not saved, the tracker
+    // looks at every player of a game it has not seen before
+    private transient boolean changed;
 
     /**
      * Constructor that creates a player object with a name and starting money
@@ -52,6 +57,7 @@ public class Player {
         this.playerName = name;
         this.balance = 6000;
         this.playerStocks = new ArrayList<>();
+        this.changed = true;
     }
 
     /**
@@ -97,6 +103,7 @@ public class Player {
      */
     public void modifyBalance(int change){
         balance += change;
+        changed = true;
     }
 
     /**
@@ -124,6 +131,8 @@ public class Player {
      */
     public void addStock(Stock stock){
         playerStocks.add(stock);
+        countStock(stock, 1);
+        changed = true;
     }
 
     /**
@@ -132,7 +141,47 @@ public class Player {
      * @param stock the Stock object that will be removed from the player's list of stocks
      */
     public void removeStock(Stock stock){
-        playerStocks.remove(stock);
+        if(playerStocks.remove(stock)){
+            countStock(stock, -1);
+            changed = true;
+        }
+    }
+
+    /**
+     * gets the number of stocks the player holds in a chain without going through their stocks
+     *
+     * @param chain the index of the chain, see GameState
+     *
+     * @return the number of stocks held in the chain
+     */
+    public int getStockCount(int chain){
+        return stockCounts()[chain];
+    }
+
+    /**
+     * @return true if the balance or stock changed since the last call
+     */
+    boolean takeChanged(){
+        boolean wasChanged = changed;
+        changed = false;
+        return wasChanged;
+    }
+
+    private int[] stockCounts(){
+        if(stockCounts == null){
+            stockCounts = new int[GameState.CHAINS];
+            for(Stock stock : playerStocks){
+                countStock(stock, 1);
+            }
+        }
+        return stockCounts;
+    }
+
+    private void countStock(Stock stock, int change){
+        int chain = GameState.chainIndex(stock.getChainName());
+        if(stockCounts != null && chain != GameState.NO_CHAIN){
+            stockCounts[chain] += change;
+        }
     }
 
     /**
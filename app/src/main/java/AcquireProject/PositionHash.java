@@ -0,0 +1,192 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * Zobrist hashes of the parts of a GameState that decide the next move: the board, the phase, the acting seat,
+ * the stock left to buy this turn, and the acting player's holdings. The board looks the same mirrored left to right
+ * or top to bottom, so the canonical hash is the smallest hash over those four views and positions that are mirror
+ * images of each other share one hash. Moves have to be mirrored the same way to be compared between positions
+ *
+ * @since 1.1.0
+ */
+
+package AcquireProject;
+
+import java.util.Random;
+
+public final class PositionHash {
+
+    public static final int TRANSFORMS = 4;
+
+    private static final int CELL_VALUES = GameState.CHAINS + 2;
+    private static final int MAX_PLAYERS = 8;
+    private static final int PHASES = GameState.GAME_OVER + 1;
+
+    private static final long[][] CELL_KEYS = new long[GameState.CELLS][CELL_VALUES];
+    private static final long[][] HOLDING_KEYS = new long[GameState.CHAINS][GameState.STOCK_PER_CHAIN + 1];
+    private static final long[] PHASE_KEYS = new long[PHASES];
+    private static final long[] SEAT_KEYS = new long[MAX_PLAYERS];
+    private static final long[] PLAYER_KEYS = new long[MAX_PLAYERS + 1];
+    private static final long[] STOCK_LEFT_KEYS = new long[GameState.STOCK_PER_TURN + 1];
+
+    static {
+        // a fixed seed so hashes stay the same between runs and can be stored in files
+        Random random = new Random(0x4163717569726540L);
+        for(long[] keys : CELL_KEYS){
+            for(int i = 1; i < keys.length; i++){
+                keys[i] = random.nextLong();
+            }
+        }
+        for(long[] keys : HOLDING_KEYS){
+            for(int i = 1; i < keys.length; i++){
+                keys[i] = random.nextLong();
+            }
+        }
+        fill(PHASE_KEYS, random);
+        fill(SEAT_KEYS, random);
+        fill(PLAYER_KEYS, random);
+        fill(STOCK_LEFT_KEYS, random);
+    }
+
+    private PositionHash(){}
+
+    private static void fill(long[] keys, Random random){
+        for(int i = 0; i < keys.length; i++){
+            keys[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * @param state the state to hash
+     * @return the smallest hash over the mirror images of the position
+     */
+    public static long canonicalHash(GameState state){
+        return hash(state, canonicalTransform(state));
+    }
+
+    /**
+     * @param state the state to hash
+     * @return the mirror image that gives the canonical hash, pass it to transformMove to mirror moves the same way
+     */
+    public static int canonicalTransform(GameState state){
+        int best = 0;
+        long bestHash = hash(state, 0);
+        for(int transform = 1; transform < TRANSFORMS; transform++){
+            long hash = hash(state, transform);
+            if(Long.compareUnsigned(hash, bestHash) < 0){
+                bestHash = hash;
+                best = transform;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * hashes the position as seen through one of the mirror images
+     *
+     * @param state the state to hash
+     * @param transform 0 for the board as it is, 1 mirrored left to right, 2 mirrored top to bottom, 3 for both
+     *
+     * @return the hash of the mirrored position
+     */
+    public static long hash(GameState state, int transform){
+        long hash = PHASE_KEYS[state.getPhase()] ^ PLAYER_KEYS[state.getNumberOfPlayers()]
+                ^ STOCK_LEFT_KEYS[state.getStockLeftToBuy()];
+
+        int seat = MoveGenerator.getActingSeat(state);
+        if(seat >= 0){
+            hash ^= SEAT_KEYS[seat];
+            for(int chain = 0; chain < GameState.CHAINS; chain++){
+                hash ^= HOLDING_KEYS[chain][state.getHoldings(seat, chain)];
+            }
+        }
+
+        for(int cell = 0; cell < GameState.CELLS; cell++){
+            if(state.isOccupied(cell)){
+                hash ^= CELL_KEYS[transformCell(cell, transform)][state.getChainAt(cell) + 2];
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * hashes everything the players can see: the board, the phase, whose turn it is, and every player's
+     * balance and holdings. Unlike hash it tells the players apart and is not mirrored, so it suits
+     * caching values that differ per player.
+     *
+     * @param state the state to hash
+     * @return the hash of the public position
+     */
+    public static long publicHash(GameState state){
+        long hash = hash(state, 0) ^ mix(state.getCurrentSeat() + 1);
+        for(int seat = 0; seat < state.getNumberOfPlayers(); seat++){
+            long player = state.getBalance(seat);
+            for(int chain = 0; chain < GameState.CHAINS; chain++){
+                player = player * (GameState.STOCK_PER_CHAIN + 1) + state.getHoldings(seat, chain);
+            }
+            hash ^= mix(player + (seat + 1) * 0x9E3779B97F4A7C15L);
+        }
+        return hash;
+    }
+
+    /**
+     * spreads the bits of a value over the whole long, the finalizer of SplitMix64
+     */
+    private static long mix(long value){
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * mirrors a move the same way a position was mirrored, only tile placements change
+     *
+     * @param move an encoded move
+     * @param transform the mirror image, every mirror image is its own inverse
+     *
+     * @return the mirrored move
+     */
+    public static int transformMove(int move, int transform){
+        if(Move.getType(move) != Move.TYPE_PLACE_TILE){
+            return move;
+        }
+        return Move.placeTile(transformCell(Move.getArgument(move), transform));
+    }
+
+    /**
+     * @param cell a cell on the board
+     * @param transform the mirror image
+     * @return the cell in the mirrored board
+     */
+    public static int transformCell(int cell, int transform){
+        int x = cell / GameState.BOARD_HEIGHT;
+        int y = cell % GameState.BOARD_HEIGHT;
+        if((transform & 1) != 0){
+            x = GameState.BOARD_WIDTH - 1 - x;
+        }
+        if((transform & 2) != 0){
+            y = GameState.BOARD_HEIGHT - 1 - y;
+        }
+        return x * GameState.BOARD_HEIGHT + y;
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * plays back a recorded game and can jump to any move. A snapshot of the game is kept every few moves, so
+ * seeking starts from the snapshot at or before the move, or from the current move when that is closer, and replays
+ * at most a few moves forward instead of the whole game
+ *
+ * @since 1.1.0
+ */
+
+package AcquireProject;
+
+public class Replay {
+
+    public static final int KEYFRAME_INTERVAL = 16;
+
+    private final GameRecord record;
+    // keyframes[i] is the game after i * KEYFRAME_INTERVAL moves
+    private final GameState[] keyframes;
+    private GameState current;
+    private int position;
+
+    /**
+     * plays the whole game once to take the snapshots
+     *
+     * @param record the game to play back
+     *
+     * @throws IllegalArgumentException if a move in the record is not legal where it was made
+     */
+    public Replay(GameRecord record){
+        this.record = record;
+        this.keyframes = new GameState[record.getNumberOfMoves() / KEYFRAME_INTERVAL + 1];
+
+        GameState state = record.start();
+        keyframes[0] = state;
+        for(int move = 0; move < record.getNumberOfMoves(); move++){
+            state = state.apply(record.getMove(move));
+            if((move + 1) % KEYFRAME_INTERVAL == 0){
+                keyframes[(move + 1) / KEYFRAME_INTERVAL] = state;
+            }
+        }
+
+        this.current = keyframes[0];
+        this.position = 0;
+    }
+
+    public GameRecord getRecord(){
+        return record;
+    }
+
+    /**
+     * @return the number of moves in the game, positions run from 0 to this
+     */
+    public int getLength(){
+        return record.getNumberOfMoves();
+    }
+
+    /**
+     * @return the number of moves made in the game being shown
+     */
+    public int getPosition(){
+        return position;
+    }
+
+    /**
+     * @return the game after the moves made so far
+     */
+    public GameState getState(){
+        return current;
+    }
+
+    /**
+     * moves to the game after the given number of moves
+     *
+     * @param position the number of moves made, from 0 to getLength
+     *
+     * @return the game at that point
+     *
+     * @throws IndexOutOfBoundsException if the position is outside the game
+     */
+    public GameState seek(int position){
+        if(position < 0 || position > getLength()){
+            throw new IndexOutOfBoundsException("Move " + position + " is outside a game of " + getLength() + " moves");
+        }
+
+        int keyframe = position / KEYFRAME_INTERVAL * KEYFRAME_INTERVAL;
+        if(position < this.position || this.position < keyframe){
+            current = keyframes[keyframe / KEYFRAME_INTERVAL];
+            this.position = keyframe;
+        }
+        while(this.position < position){
+            current = current.apply(record.getMove(this.position));
+            this.position++;
+        }
+        return current;
+    }
+
+    /**
+     * @param position the number of moves made before it
+     * @return the move made at that point, see Move
+     */
+    public int getMove(int position){
+        return record.getMove(position);
+    }
+
+}
@@ -0,0 +1,130 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * times how long the game takes from launching the JVM to its first frame, with and without a class data sharing
+ * archive. Each run is a fresh JVM on this benchmark's classpath that exits as soon as the main menu is drawn, so the
+ * archive, which is only used with the exact classpath it was recorded with, applies when it was made by the cdsArchive
+ * task
+ *
+ * @since 1.1.0
+ */
+
+package AcquireProject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class StartupBenchmark {
+
+    private final String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    private final String classpath = System.getProperty("java.class.path");
+
+    /**
+     * launches the game once and waits for it to exit
+     *
+     * @param jvmOptions options for the JVM, such as the archive to use
+     *
+     * @return the milliseconds from starting the JVM to the first frame, as the game reports it
+     *
+     * @throws IOException if the game could not be started or did not report its startup time
+     */
+    public long launch(List<String> jvmOptions) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmOptions);
+        command.add("-Dacquire.startupReport=true");
+        command.add("-Dacquire.exitAfterFirstFrame=true");
+        command.add("-cp");
+        command.add(classpath);
+        command.add(Launcher.class.getName());
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        long millis = -1;
+        try(BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))){
+            String line;
+            while((line = reader.readLine()) != null){
+                if(line.startsWith(App.STARTUP_REPORT)){
+                    millis = Long.parseLong(line.substring(App.STARTUP_REPORT.length()).split(" ")[0]);
+                }
+            }
+        }
+        process.waitFor();
+        if(millis < 0){
+            throw new IOException("The game exited with " + process.exitValue() + " without reporting its startup time");
+        }
+        return millis;
+    }
+
+    /**
+     * launches the game a number of times
+     *
+     * @param runs the number of launches
+     * @param jvmOptions options for the JVM
+     *
+     * @return the startup time of each launch in milliseconds, sorted
+     */
+    public long[] measure(int runs, List<String> jvmOptions) throws IOException, InterruptedException {
+        long[] times = new long[runs];
+        for(int i = 0; i < runs; i++){
+            times[i] = launch(jvmOptions);
+        }
+        Arrays.sort(times);
+        return times;
+    }
+
+    private static String describe(long[] times){
+        return String.format("median %d ms  best %d ms  worst %d ms  (n=%d)",
+                times[times.length / 2], times[0], times[times.length - 1], times.length);
+    }
+
+    /**
+     * compares startup without and with the archive
+     *
+     * @param args the number of launches of each kind and the archive file, which is skipped if it does not exist
+     */
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        Path archive = Paths.get(args.length > 1 ? args[1] : "acquire.jsa");
+
+        StartupBenchmark benchmark = new StartupBenchmark();
+        // one launch first so the files the JVM reads are in the page cache for every measured launch
+        benchmark.launch(Arrays.asList("-Xshare:auto"));
+
+        System.out.println("default CDS   " + describe(benchmark.measure(runs, Arrays.asList("-Xshare:auto"))));
+        if(Files.exists(archive)){
+            System.out.println("app archive   " + describe(benchmark.measure(runs, Arrays.asList("-Xshare:auto",
+                    "-XX:SharedArchiveFile=" + archive.toAbsolutePath()))));
+        }else{
+            System.out.println("no archive at " + archive.toAbsolutePath() + ", run gradle cdsArchive to make one");
+        }
+    }
+}
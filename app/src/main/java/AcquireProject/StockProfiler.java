@@ -21,7 +21,8 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
 
- * a singleton class that is a factory that makes maps called profiles.
+ * a singleton class that is a factory that makes maps called profiles. it holds no state, the chains in a game
+ * belong to that game's board, so games on different threads can share it.
  * profiles can link the number of stocks a player holds in each chain and the chain name
  * profiles can also link the number of stocks a player holds in a chain with the player who holds them
  *
@@ -31,44 +32,42 @@
 
 package AcquireProject;
 
-import lombok.Getter;
 import lombok.NonNull;
 
 import java.util.*;
 
 public class StockProfiler {
 
-    @Getter private static List<String> chains = new ArrayList<>();
-
-    private static StockProfiler stockProfiler1;
-
     private StockProfiler(){}
 
+    private static class Holder {
+        private static final StockProfiler INSTANCE = new StockProfiler();
+    }
+
     public static StockProfiler instance(){
-        if(stockProfiler1 == null){
-            return stockProfiler1 = new StockProfiler();
-        }else {
-            return stockProfiler1;
-        }
+        return Holder.INSTANCE;
     }
 
     /**
-     * adds a chain to the list of chains in the system
-     * @param name the name of the chian
+     * Creates a map where keys are the names of the hotel chains the given player holds stock in
+     * and values are the amount of stock the given player owns in that chain
+     *
+     * @param player the player to create the profile for
+     * @return a map of chains to the amount of stock owned
      */
-    public void addChain(String name){
-        chains.add(name);
+    public Map<String, Integer> createPlayerProfile(@NonNull Player player){
+        return createPlayerProfile(player, Collections.emptyList());
     }
 
-
     /**
-     * Creates a map where keys are the names of the hotel chains in the system
+     * Creates a map where keys are the names of the hotel chains in a game
      * and values are the amount of stock the given player owns in that chain
      *
      * @param player the player to create the profile for
+     * @param chains the names of the chains in the player's game, listed even when the player owns none of their stock
      * @return a map of chains to the amount of stock owned
      */
-    public Map<String, Integer> createPlayerProfile(@NonNull Player player){
+    public Map<String, Integer> createPlayerProfile(@NonNull Player player, @NonNull Collection<String> chains){
         Map<String, Integer> profile = new HashMap<>();
 
         List<Stock> stocks = player.getPlayerStocks();
@@ -78,8 +77,7 @@ public class StockProfiler {
         }
 
         for(Stock stock : stocks){
-            String name = stock.getChainName();
-            profile.put(name, profile.get(name) + 1);
+            profile.merge(stock.getChainName(), 1, Integer::sum);
         }
 
         return profile;
@@ -92,7 +90,7 @@ public class StockProfiler {
      * @return a map of players to the amount of stock owned
      */
     public Map<Player, Integer> createChainProfile(@NonNull HotelChain chain){
-        Map<Player, Integer> profile = new HashMap<>();
+        Map<Player, Integer> profile = new LinkedHashMap<>();
 
         List<Stock> stocks = chain.getOwnedStock();
 
@@ -108,9 +106,4 @@ public class StockProfiler {
         return profile;
     }
 
-    public void clearRegesteredChains(){
-        this.chains.clear();
-    }
-
-
 }
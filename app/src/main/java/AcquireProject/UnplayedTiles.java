@@ -32,16 +32,29 @@ package AcquireProject;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 public  class UnplayedTiles {
 
 
     private List<Tile> allTiles = new ArrayList<>();
+    private transient Random random;
 
     /**
      * Constructor that creates a list of all 108 Tile objects in the game
      */
      UnplayedTiles() {
+        this(new Random());
+    }
+
+    /**
+     * Constructor that creates a list of all 108 Tile objects drawn in an order decided by the given random source,
+     * so two games given the same seed are dealt identical tiles
+     *
+     * @param random the source used to pick which tile is drawn next
+     */
+    UnplayedTiles(Random random) {
+        this.random = random;
         for (int i = 0; i < 12; i++) {
             for (int j = 0; j < 9; j++) {
                 ArrayList<Integer> coords = new ArrayList<>();
@@ -59,6 +72,7 @@ public  class UnplayedTiles {
 
     UnplayedTiles(List<Tile> sampleTiles){
         this.allTiles = sampleTiles;
+        this.random = new Random();
     }
 
     /**
@@ -79,8 +93,7 @@ public  class UnplayedTiles {
         List<Tile> tile = new ArrayList<>();
 
         if(allTiles.size() > 0) {
-            int random = (int) ((Math.random() * getTiles().size()));
-            tile.add(getTiles().remove(random));
+            tile.add(getTiles().remove(nextIndex()));
         }
 
         return tile;
@@ -94,11 +107,20 @@ public  class UnplayedTiles {
     public ArrayList<Tile> drawStartingTiles(){
          ArrayList<Tile> startingTiles = new ArrayList<Tile>();
          for(int i =0;i<6;i++) {
-             int random = (int) ((Math.random() * getTiles().size()));
-             Tile returnTile = getTiles().get(random);
-             getTiles().remove(random);
-             startingTiles.add(returnTile);
+             startingTiles.add(getTiles().remove(nextIndex()));
          }
          return startingTiles;
     }
+
+    /**
+     * picks the index of the next tile to draw
+     *
+     * @return a random index into the list of unplayed tiles
+     */
+    private int nextIndex(){
+        if(random == null){
+            random = new Random();
+        }
+        return random.nextInt(getTiles().size());
+    }
 }
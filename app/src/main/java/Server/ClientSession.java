@@ -0,0 +1,124 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * one connected client: the table it sits at and the name it plays under
+ *
+ * @since 1.1.0
+ */
+
+package Server;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ClientSession {
+
+    private final Connection connection;
+    private final AtomicReference<Table> table = new AtomicReference<>();
+    @Getter @Setter private volatile String playerName;
+
+    /**
+     * @param connection the connection replies and table events are sent over
+     */
+    public ClientSession(Connection connection){
+        this.connection = connection;
+    }
+
+    /**
+     * @return the table the client is at, or null if it is not at one
+     */
+    public Table getTable(){
+        return table.get();
+    }
+
+    /**
+     * puts the client at a table, in one step so two requests racing each other can not both seat it
+     *
+     * @param claimed the table the client is joining or watching
+     *
+     * @return false if the client is already at a table
+     */
+    public boolean claimTable(Table claimed){
+        return table.compareAndSet(null, claimed);
+    }
+
+    /**
+     * takes the client away from a table, leaving it alone if it has since moved to another one. The name the
+     * client played under belongs to that table, so it is forgotten too
+     *
+     * @param released the table the client is leaving
+     */
+    public void releaseTable(Table released){
+        if(table.compareAndSet(released, null)){
+            playerName = null;
+        }
+    }
+
+    /**
+     * @param line a line of the protocol to send to the client
+     */
+    public void send(String line){
+        connection.send(line);
+    }
+
+    /**
+     * @param actingPlayer the name of the player who has to act
+     * @param moves a buffer holding the encoded moves
+     * @param count the number of moves in the buffer
+     */
+    public void sendMoves(String actingPlayer, int[] moves, int count){
+        connection.sendMoves(actingPlayer, moves, count);
+    }
+
+    /**
+     * @param player the name of the player who moved
+     * @param move the encoded move
+     */
+    public void sendMoved(String player, int move){
+        connection.sendMoved(player, move);
+    }
+
+    /**
+     * @param frame an update shared with other clients
+     */
+    public void sendFrame(SharedFrame frame){
+        connection.sendFrame(frame);
+    }
+
+    /**
+     * @param cursor the client's cursor into the feed of the table it is watching, or null while the table is hibernating
+     */
+    public void feedUpdated(SpectatorFeed.Cursor cursor){
+        connection.feedUpdated(cursor);
+    }
+
+    /**
+     * closes the connection to the client
+     */
+    public void close(){
+        connection.close();
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * reads the lines clients send and passes them on to the tables. The protocol is one command per line with
+ * space separated arguments, and every reply or event is one line back:
+ * <pre>
+ * CREATE                  TABLE &lt;id&gt;, a client can have TableRegistry.MAX_TABLES_PER_CLIENT open tables
+ * LIST                    TABLES &lt;id&gt;:&lt;players&gt;:&lt;started&gt; ...
+ * QUEUE &lt;name&gt; [rating]   QUEUED &lt;rating&gt;, later MATCHED &lt;id&gt; &lt;players&gt; followed by JOINED and STARTED,
+ *                         or UNQUEUED if the match fell through
+ * UNQUEUE                 UNQUEUED
+ * JOIN &lt;id&gt; &lt;name&gt;        JOINED &lt;id&gt; &lt;name&gt;, PLAYER &lt;name&gt; to the table, then SNAPSHOT
+ * WATCH &lt;id&gt;              WATCHING &lt;id&gt;, then SNAPSHOT
+ * RESYNC                  SNAPSHOT &lt;names&gt; &lt;delta&gt; ...
+ * ADDBOT &lt;name&gt;           PLAYER &lt;name&gt; to the table, the bot moves on its own
+ * START                   STARTED &lt;names&gt; and TURN &lt;name&gt; to the table
+ * MOVES                   MOVES &lt;acting name&gt; &lt;move&gt; ...
+ * MOVE &lt;move&gt;             MOVED &lt;name&gt; &lt;move&gt;, then TURN &lt;name&gt; or GAME_OVER &lt;message&gt; to the table
+ * STATE                   STATE &lt;id&gt; &lt;phase&gt; &lt;acting name&gt; &lt;name&gt;:&lt;balance&gt; ...
+ * QUIT                    BYE
+ * </pre>
+ * Every TURN for a player is followed by CLOCK &lt;name&gt; &lt;millis&gt;, the time they have to move. A player who runs out
+ * of time gets TIMEOUT &lt;name&gt; sent to the table and a bot makes the move for them.
+ * A table closes after GAME_OVER or once its last player leaves, and the clients that were at it can join another.
+ * Changes to the game follow every tick as DELTAS &lt;delta&gt; ... to players and spectators, with the deltas
+ * encoded as described in DeltaTracker. Moves are sent as their int encoding, see Move. A request that can not be carried out is answered with
+ * ERROR and a message. The handler does not care how clients are connected, so any transport can use it
+ *
+ * @since 1.1.0
+ */
+
+package Server;
+
+public class CommandHandler {
+
+    private final TableRegistry tables;
+    private final Matchmaker matchmaker;
+
+    /**
+     * @param tables the tables clients can create and join
+     * @param matchmaker groups queued clients into new tables
+     */
+    public CommandHandler(TableRegistry tables, Matchmaker matchmaker){
+        this.tables = tables;
+        this.matchmaker = matchmaker;
+    }
+
+    /**
+     * carries out one command from a client
+     *
+     * @param session the client that sent the command
+     * @param line the line the client sent
+     *
+     * @return false once the client has asked to disconnect
+     */
+    public boolean handle(ClientSession session, String line){
+        String[] words = line.trim().split("\\s+");
+        Table table = session.getTable();
+
+        try{
+            switch(words[0].toUpperCase()){
+                case "CREATE":
+                    Table created = tables.createTable(session);
+                    session.send(created == null
+                            ? "ERROR at most " + TableRegistry.MAX_TABLES_PER_CLIENT + " open tables per client"
+                            : "TABLE " + created.getId());
+                    break;
+                case "LIST":
+                    StringBuilder list = new StringBuilder("TABLES");
+                    for(Table t : tables.getTables()){
+                        list.append(' ').append(t.getId()).append(':').append(t.getNumberOfPlayers())
+                                .append(':').append(t.isStarted());
+                    }
+                    session.send(list.toString());
+                    break;
+                case "QUEUE":
+                    if(words.length < 2 || words.length > 3){
+                        session.send("ERROR usage: QUEUE <name> [rating]");
+                    }else if(words[1].length() > Table.MAX_NAME_LENGTH){
+                        session.send("ERROR names can be at most " + Table.MAX_NAME_LENGTH + " characters");
+                    }else if(table != null){
+                        session.send("ERROR already at table " + table.getId());
+                    }else{
+                        matchmaker.queue(session, words[1],
+                                words.length == 3 ? Integer.parseInt(words[2]) : Matchmaker.DEFAULT_RATING);
+                    }
+                    break;
+                case "UNQUEUE":
+                    matchmaker.cancel(session);
+                    break;
+                case "JOIN":
+                    Table joining = words.length == 3 ? tables.getTable(Integer.parseInt(words[1])) : null;
+                    if(matchmaker.isQueued(session)){
+                        session.send("ERROR leave the queue first");
+                    }else if(joining == null){
+                        session.send("ERROR no such table");
+                    }else{
+                        joining.join(session, words[2]);
+                    }
+                    break;
+                case "WATCH":
+                    Table watching = words.length == 2 ? tables.getTable(Integer.parseInt(words[1])) : null;
+                    if(matchmaker.isQueued(session)){
+                        session.send("ERROR leave the queue first");
+                    }else if(watching == null){
+                        session.send("ERROR no such table");
+                    }else{
+                        watching.watch(session);
+                    }
+                    break;
+                case "RESYNC":
+                    if(requireTable(session, table)){
+                        table.resync(session);
+                    }
+                    break;
+                case "ADDBOT":
+                    if(words.length != 2){
+                        session.send("ERROR usage: ADDBOT <name>");
+                    }else if(requireTable(session, table)){
+                        table.addBot(session, words[1]);
+                    }
+                    break;
+                case "START":
+                    if(requireTable(session, table)){
+                        table.start(session);
+                    }
+                    break;
+                case "MOVES":
+                    if(requireTable(session, table)){
+                        table.listMoves(session);
+                    }
+                    break;
+                case "MOVE":
+                    if(words.length != 2){
+                        session.send("ERROR usage: MOVE <move>");
+                    }else{
+                        move(session, Integer.parseInt(words[1]));
+                    }
+                    break;
+                case "STATE":
+                    if(requireTable(session, table)){
+                        table.describe(session);
+                    }
+                    break;
+                case "QUIT":
+                    session.send("BYE");
+                    return false;
+                default:
+                    session.send("ERROR unknown command " + words[0]);
+                    break;
+            }
+        }catch(NumberFormatException e){
+            session.send("ERROR not a number: " + e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * makes a move for a client, used directly by transports that send moves without a text command
+     *
+     * @param session the client making the move
+     * @param move an encoded move, see Move
+     */
+    public void move(ClientSession session, int move){
+        Table table = session.getTable();
+        if(requireTable(session, table)){
+            table.move(session, move);
+        }
+    }
+
+    /**
+     * cleans up after a client that has disconnected
+     *
+     * @param session the client
+     */
+    public void disconnected(ClientSession session){
+        if(matchmaker.isQueued(session)){
+            matchmaker.cancel(session);
+        }
+        Table table = session.getTable();
+        if(table != null){
+            table.leave(session);
+        }
+    }
+
+    private static boolean requireTable(ClientSession session, Table table){
+        if(table == null){
+            session.send("ERROR join a table first");
+            return false;
+        }
+        return true;
+    }
+}
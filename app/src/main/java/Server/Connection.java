@@ -0,0 +1,93 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * the way the server sends lines back to one client, so the protocol does not depend on how the client is connected
+ *
+ * @since 1.1.0
+ */
+
+package Server;
+
+public interface Connection {
+
+    /**
+     * sends one line of the protocol to the client, may be called from any thread
+     *
+     * @param line the line to send, without the line break
+     */
+    void send(String line);
+
+    /**
+     * sends the moves the acting player can make, as a MOVES line unless the transport has a better encoding
+     *
+     * @param actingPlayer the name of the player who has to act
+     * @param moves a buffer holding the encoded moves
+     * @param count the number of moves in the buffer
+     */
+    default void sendMoves(String actingPlayer, int[] moves, int count){
+        StringBuilder line = new StringBuilder("MOVES ").append(actingPlayer);
+        for(int i = 0; i < count; i++){
+            line.append(' ').append(moves[i]);
+        }
+        send(line.toString());
+    }
+
+    /**
+     * tells the client a move was made, as a MOVED line unless the transport has a better encoding
+     *
+     * @param player the name of the player who moved
+     * @param move the encoded move
+     */
+    default void sendMoved(String player, int move){
+        send("MOVED " + player + " " + move);
+    }
+
+    /**
+     * sends an update shared with other clients, as its protocol line unless the transport can send the
+     * shared binary frames
+     *
+     * @param frame the update
+     */
+    default void sendFrame(SharedFrame frame){
+        send(frame.getText());
+    }
+
+    /**
+     * tells a spectator's connection that its feed has new updates. Unless the transport reads the feed when
+     * it is ready for more, the updates are sent straight away.
+     *
+     * @param cursor the spectator's cursor into the table's feed, or null while the table has no feed
+     */
+    default void feedUpdated(SpectatorFeed.Cursor cursor){
+        SharedFrame frame;
+        while(cursor != null && (frame = cursor.poll()) != null){
+            sendFrame(frame);
+        }
+    }
+
+    /**
+     * closes the connection to the client
+     */
+    void close();
+}
@@ -0,0 +1,177 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * one selector thread of NioServer, serving many connections. Other threads never touch the selector
+ * directly, they queue tasks that the loop runs between selects
+ *
+ * @since 1.1.0
+ */
+
+package Server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class EventLoop implements Runnable {
+
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+
+    private final Selector selector;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_BYTES);
+    private final CommandHandler handler;
+    private final FramePool pool;
+    private final AtomicInteger connections = new AtomicInteger();
+    private volatile boolean running = true;
+
+    EventLoop(CommandHandler handler, FramePool pool) throws IOException {
+        this.selector = Selector.open();
+        this.handler = handler;
+        this.pool = pool;
+    }
+
+    /**
+     * runs a task on the loop's thread
+     */
+    void execute(Runnable task){
+        tasks.offer(task);
+        selector.wakeup();
+    }
+
+    /**
+     * starts serving a newly accepted client
+     */
+    void register(SocketChannel channel){
+        connections.incrementAndGet();
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                NioConnection connection = new NioConnection(channel, EventLoop.this, pool);
+                try{
+                    channel.configureBlocking(false);
+                    connection.setKey(channel.register(selector, SelectionKey.OP_READ, connection));
+                }catch(IOException e){
+                    connection.closeNow();
+                }
+            }
+        });
+    }
+
+    void requestWrite(NioConnection connection){
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                try{
+                    connection.flush();
+                }catch(IOException | CancelledKeyException e){
+                    connection.closeNow();
+                }catch(RuntimeException e){
+                    failed(connection, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * called by a connection once it has closed
+     */
+    void closed(NioConnection connection){
+        connections.decrementAndGet();
+        handler.disconnected(connection.getSession());
+    }
+
+    /**
+     * closes a connection that hit a bug, so one bad connection can not stop the loop serving every other one
+     */
+    private void failed(NioConnection connection, RuntimeException e){
+        System.err.println("Closing a connection that failed: " + e);
+        connection.closeNow();
+    }
+
+    int getNumberOfConnections(){
+        return connections.get();
+    }
+
+    @Override
+    public void run() {
+        while(running){
+            try{
+                selector.select();
+            }catch(IOException e){
+                System.err.println("Selector failed: " + e.getMessage());
+                break;
+            }
+
+            Runnable task;
+            while((task = tasks.poll()) != null){
+                try{
+                    task.run();
+                }catch(RuntimeException e){
+                    System.err.println("Event loop task failed: " + e);
+                }
+            }
+
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while(keys.hasNext()){
+                SelectionKey key = keys.next();
+                keys.remove();
+                NioConnection connection = (NioConnection) key.attachment();
+                try{
+                    if(key.isValid() && key.isWritable()){
+                        connection.flush();
+                    }
+                    if(key.isValid() && key.isReadable()){
+                        connection.read(readBuffer, handler);
+                    }
+                }catch(IOException | CancelledKeyException e){
+                    connection.closeNow();
+                }catch(RuntimeException e){
+                    failed(connection, e);
+                }
+            }
+        }
+
+        for(SelectionKey key : selector.keys()){
+            ((NioConnection) key.attachment()).closeNow();
+        }
+        try{
+            selector.close();
+        }catch(IOException e){
+            // shutting down anyway
+        }
+    }
+
+    void stop(){
+        running = false;
+        selector.wakeup();
+    }
+}
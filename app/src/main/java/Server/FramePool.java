@@ -0,0 +1,88 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * hands out direct buffers of one frame each and takes them back once the frame has been sent or read, so
+ * connections only hold a buffer while a frame is in flight and the buffers are not left for the garbage collector
+ *
+ * @since 1.1.0
+ */
+
+package Server;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FramePool {
+
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+    private final AtomicInteger allocated = new AtomicInteger();
+    private final int maxPooled;
+
+    /**
+     * @param maxPooled the most buffers kept for reuse, buffers given back beyond this are dropped
+     */
+    public FramePool(int maxPooled){
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * @return a cleared buffer of Frames.MAX_FRAME bytes
+     */
+    public ByteBuffer acquire(){
+        ByteBuffer buffer = buffers.poll();
+        if(buffer == null){
+            allocated.incrementAndGet();
+            return ByteBuffer.allocateDirect(Frames.MAX_FRAME);
+        }
+        pooled.decrementAndGet();
+        return buffer;
+    }
+
+    /**
+     * gives a buffer back to the pool, buffers that did not come from the pool are ignored
+     *
+     * @param buffer the buffer to give back
+     */
+    public void release(ByteBuffer buffer){
+        if(!buffer.isDirect() || buffer.capacity() != Frames.MAX_FRAME){
+            return;
+        }
+        if(pooled.incrementAndGet() > maxPooled){
+            pooled.decrementAndGet();
+            return;
+        }
+        buffer.clear();
+        buffers.offer(buffer);
+    }
+
+    /**
+     * @return the number of buffers the pool has had to allocate
+     */
+    public int getNumberOfAllocations(){
+        return allocated.get();
+    }
+}
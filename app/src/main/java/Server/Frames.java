@@ -0,0 +1,97 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * the binary framing used by NioServer. Every message is a four byte big-endian length, followed by that many
+ * bytes: a one byte message type and the body.
+ * <pre>
+ * COMMAND   a protocol line in UTF-8, in either direction, see CommandHandler
+ * MOVE      int move, from the client
+ * MOVED     int move, then the name of the player in UTF-8, from the server
+ * MOVES     byte count, count ints, then the name of the acting player in UTF-8, from the server
+ * DELTAS    short count, then count longs, each a delta as encoded by DeltaTracker, from the server
+ * SNAPSHOT  short length, that many bytes of player names in UTF-8 separated by commas, then as DELTAS,
+ *           from the server. A snapshot too big for one frame carries on in DELTAS frames
+ * </pre>
+ *
+ * @since 1.1.0
+ */
+
+package Server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public final class Frames {
+
+    public static final byte COMMAND = 1;
+    public static final byte MOVE = 2;
+    public static final byte MOVED = 3;
+    public static final byte MOVES = 4;
+    public static final byte DELTAS = 5;
+    public static final byte SNAPSHOT = 6;
+
+    public static final int LENGTH_BYTES = 4;
+    // frames are read into and written from pooled buffers of this size
+    public static final int MAX_FRAME = 4096;
+    public static final int MAX_PAYLOAD = MAX_FRAME - LENGTH_BYTES;
+
+    private Frames(){}
+
+    /**
+     * starts a frame in a buffer, the length is filled in by end
+     *
+     * @param buffer a buffer in write mode
+     * @param type the message type
+     */
+    public static void begin(ByteBuffer buffer, byte type){
+        buffer.putInt(0);
+        buffer.put(type);
+    }
+
+    /**
+     * fills in the length of the frame started at the start of the buffer and flips it for writing out
+     *
+     * @param buffer the buffer the frame was written to
+     */
+    public static void end(ByteBuffer buffer){
+        buffer.putInt(0, buffer.position() - LENGTH_BYTES);
+        buffer.flip();
+    }
+
+    /**
+     * @param buffer a buffer positioned at text that runs to the limit
+     * @return the text
+     */
+    public static String readText(ByteBuffer buffer){
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+
+    /**
+     * @param text some text
+     * @return the text as UTF-8 bytes
+     */
+    public static byte[] encodeText(String text){
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
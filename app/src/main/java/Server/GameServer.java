@@ -0,0 +1,199 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * hosts Acquire tables for clients connecting over TCP. Each connected client gets a thread that reads its
+ * commands, and the tables are spread over one worker per core so thousands of tables do not need thousands of threads
+ *
+ * @since 1.1.0
+ */
+
+package Server;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class GameServer {
+
+    private final int port;
+    private final TableRegistry tables;
+    private final Matchmaker matchmaker;
+    private final CommandHandler handler;
+    private final ShardedScheduler scheduler;
+    private final HashedWheelTimer timer = new HashedWheelTimer();
+    private final ExecutorService clientThreads;
+    private ServerSocket serverSocket;
+
+    /**
+     * @param port the port to listen on, 0 picks a free port
+     * @param tableThreads the number of workers the tables are spread over, normally one per core
+     */
+    public GameServer(int port, int tableThreads){
+        this.port = port;
+        this.scheduler = new ShardedScheduler(tableThreads);
+        this.tables = new TableRegistry(scheduler, timer);
+        this.matchmaker = new Matchmaker(tables);
+        this.handler = new CommandHandler(tables, matchmaker);
+        // one thread per connected client, these spend nearly all their time blocked reading
+        this.clientThreads = Executors.newCachedThreadPool();
+    }
+
+    /**
+     * starts accepting clients on a background thread
+     *
+     * @return the port the server is listening on
+     */
+    public int start() throws IOException {
+        serverSocket = new ServerSocket(port, 1024);
+        Thread acceptor = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                acceptClients();
+            }
+        }, "acquire-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return serverSocket.getLocalPort();
+    }
+
+    private void acceptClients(){
+        while(!serverSocket.isClosed()){
+            try{
+                Socket socket = serverSocket.accept();
+                clientThreads.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        serve(socket);
+                    }
+                });
+            }catch(IOException e){
+                if(!serverSocket.isClosed()){
+                    System.err.println("Could not accept a client: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * reads commands from one client until it quits or disconnects
+     */
+    private void serve(Socket socket){
+        SocketConnection connection;
+        try{
+            socket.setTcpNoDelay(true);
+            connection = new SocketConnection(socket);
+        }catch(IOException e){
+            closeQuietly(socket);
+            return;
+        }
+
+        ClientSession session = new ClientSession(connection);
+        try(BufferedReader reader = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))){
+            String line;
+            while((line = reader.readLine()) != null){
+                if(!line.isBlank() && !handler.handle(session, line)){
+                    break;
+                }
+            }
+        }catch(IOException e){
+            // the client went away, clean up below
+        }finally{
+            handler.disconnected(session);
+            connection.close();
+        }
+    }
+
+    public TableRegistry getTables(){
+        return tables;
+    }
+
+    /**
+     * stops accepting clients and disconnects everyone
+     */
+    public void stop() throws IOException {
+        if(serverSocket != null){
+            serverSocket.close();
+        }
+        clientThreads.shutdownNow();
+        matchmaker.shutdown();
+        scheduler.shutdown();
+        timer.shutdown();
+    }
+
+    private static void closeQuietly(Socket socket){
+        try{
+            socket.close();
+        }catch(IOException e){
+            // nothing left to do with the socket
+        }
+    }
+
+    /**
+     * sends lines over a blocking socket, writes from the client thread and the table threads are serialised
+     */
+    private static class SocketConnection implements Connection {
+
+        private final Socket socket;
+        private final Writer writer;
+
+        SocketConnection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public synchronized void send(String line) {
+            try{
+                writer.write(line);
+                writer.write('\n');
+                writer.flush();
+            }catch(IOException e){
+                close();
+            }
+        }
+
+        @Override
+        public void close() {
+            closeQuietly(socket);
+        }
+    }
+
+    /**
+     * runs a server until the process is stopped
+     *
+     * @param args the port to listen on and the number of table threads
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 4441;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        GameServer server = new GameServer(port, threads);
+        System.out.println("Acquire server listening on port " + server.start());
+        Thread.currentThread().join();
+    }
+}
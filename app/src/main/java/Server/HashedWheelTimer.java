@@ -0,0 +1,275 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * runs tasks after a delay for every table on the server, tens of thousands of turn clocks at once. Deadlines are
+ * hashed into the buckets of a wheel that one thread turns a bucket every tick, so adding or cancelling a deadline is
+ * constant time whatever the number of deadlines, at the cost of only being as accurate as a tick. Deadlines further out
+ * than one turn of the wheel wait in their bucket for the number of rounds left. Tasks run on the timer's thread and
+ * should only hand work to a table's mailbox
+ *
+ * @since 1.1.0
+ */
+
+package Server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HashedWheelTimer {
+
+    public static final int DEFAULT_TICK_MILLIS = 10;
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    // deadlines are added and cancelled from any thread and only put in or taken out of the wheel by the timer's thread
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final long startTime = System.nanoTime();
+    private final Thread thread;
+    private volatile boolean running = true;
+    private long tick;
+
+    /**
+     * starts a timer with DEFAULT_TICK_MILLIS ticks and DEFAULT_WHEEL_SIZE buckets
+     */
+    public HashedWheelTimer(){
+        this(DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * starts the timer's thread
+     *
+     * @param tickMillis how often the wheel turns, tasks run up to this late
+     * @param wheelSize the number of buckets, rounded up to a power of two
+     */
+    public HashedWheelTimer(int tickMillis, int wheelSize){
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.wheel = new Bucket[size];
+        this.mask = size - 1;
+        for(int i = 0; i < size; i++){
+            wheel[i] = new Bucket();
+        }
+        this.thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                turn();
+            }
+        }, "acquire-timer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * runs a task once a delay has passed, safe to call from any thread
+     *
+     * @param task the task, run on the timer's thread
+     * @param delayMillis how long to wait
+     *
+     * @return a handle for cancelling the task
+     */
+    public Timeout schedule(Runnable task, long delayMillis){
+        long deadline = System.nanoTime() - startTime + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+        Timeout timeout = new Timeout(task, deadline);
+        pending.incrementAndGet();
+        added.offer(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return the number of tasks waiting to run
+     */
+    public int getNumberOfPending(){
+        return pending.get();
+    }
+
+    /**
+     * stops the timer, tasks that have not run yet never will
+     */
+    public void shutdown(){
+        running = false;
+        thread.interrupt();
+    }
+
+    private void turn(){
+        while(running){
+            long deadline = (tick + 1) * tickNanos;
+            long sleep = deadline - (System.nanoTime() - startTime);
+            if(sleep > 0){
+                try{
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                }catch(InterruptedException e){
+                    return;
+                }
+                continue;
+            }
+            removeCancelled();
+            addNew();
+            wheel[(int) (tick & mask)].expire();
+            tick++;
+        }
+    }
+
+    private void removeCancelled(){
+        Timeout timeout;
+        while((timeout = cancelled.poll()) != null){
+            if(timeout.bucket != null){
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void addNew(){
+        Timeout timeout;
+        while((timeout = added.poll()) != null){
+            if(timeout.state.get() == Timeout.CANCELLED){
+                continue;
+            }
+            // a deadline that has already passed goes in the current bucket
+            long ticks = Math.max(timeout.deadline / tickNanos, tick);
+            timeout.remainingRounds = (ticks - tick) / wheel.length;
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * a task waiting in the wheel
+     */
+    public class Timeout {
+
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        // only touched by the timer's thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout previous;
+
+        private Timeout(Runnable task, long deadline){
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * stops the task from running if it has not already started
+         *
+         * @return true if the task will not run because of this call
+         */
+        public boolean cancel(){
+            if(!state.compareAndSet(WAITING, CANCELLED)){
+                return false;
+            }
+            pending.decrementAndGet();
+            cancelled.offer(this);
+            return true;
+        }
+
+        public boolean isCancelled(){
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired(){
+            return state.get() == EXPIRED;
+        }
+
+        private void expire(){
+            if(!state.compareAndSet(WAITING, EXPIRED)){
+                return;
+            }
+            pending.decrementAndGet();
+            try{
+                task.run();
+            }catch(RuntimeException e){
+                System.err.println("A timer task failed: " + e);
+            }
+        }
+    }
+
+    /**
+     * the deadlines hashed to one slot of the wheel, a doubly linked list so a cancelled deadline is taken out in
+     * constant time
+     */
+    private static class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout){
+            timeout.bucket = this;
+            if(head == null){
+                head = tail = timeout;
+            }else{
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        /**
+         * runs the deadlines that are due this round and counts down the rest
+         */
+        private void expire(){
+            Timeout timeout = head;
+            while(timeout != null){
+                Timeout next = timeout.next;
+                if(timeout.remainingRounds <= 0){
+                    remove(timeout);
+                    timeout.expire();
+                }else{
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout){
+            if(timeout.bucket != this){
+                return;
+            }
+            if(timeout.previous != null){
+                timeout.previous.next = timeout.next;
+            }else{
+                head = timeout.next;
+            }
+            if(timeout.next != null){
+                timeout.next.previous = timeout.previous;
+            }else{
+                tail = timeout.previous;
+            }
+            timeout.next = null;
+            timeout.previous = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,356 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * plays games against a server from many simulated clients to find out how much load it takes. Clients are grouped
+ * into tables, join them over the binary protocol, and play random legal moves as fast as the server answers, with
+ * any seats left over filled by the server's own bots. Each client times every action, from asking for the moves to
+ * getting them and from making a move to seeing it played, and the report gives the throughput and the latency
+ * percentiles. Without a port the generator starts an NioServer in the same process
+ *
+ * @since 1.1.0
+ */
+
+package Server;
+
+import AcquireProject.LatencyHistogram;
+import lombok.Getter;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+
+public class LoadGenerator {
+
+    // an hour in nanoseconds, far longer than any action should take
+    private static final long HIGHEST_LATENCY = TimeUnit.HOURS.toNanos(1);
+    private static final int READ_TIMEOUT_MILLIS = 60000;
+
+    private final String host;
+    private final int port;
+    private final int numberOfClients;
+    private final int playersPerTable;
+    private final int botsPerTable;
+    private final int gamesPerTable;
+    private final long seed;
+
+    /**
+     * @param host the server to connect to
+     * @param port the port of the server, it must speak binary frames
+     * @param numberOfClients the number of clients playing at once
+     * @param playersPerTable the number of clients seated at each table
+     * @param botsPerTable the number of server bots added to each table
+     * @param gamesPerTable the number of games each table plays one after another, each on a new table
+     * @param seed the seed the clients pick their moves with
+     */
+    public LoadGenerator(String host, int port, int numberOfClients, int playersPerTable, int botsPerTable,
+                         int gamesPerTable, long seed){
+        if(playersPerTable < 1 || playersPerTable + botsPerTable < Table.MIN_PLAYERS
+                || playersPerTable + botsPerTable > Table.MAX_PLAYERS){
+            throw new IllegalArgumentException("A table seats " + Table.MIN_PLAYERS + " to " + Table.MAX_PLAYERS
+                    + " players with at least one client");
+        }
+        this.host = host;
+        this.port = port;
+        this.numberOfClients = numberOfClients;
+        this.playersPerTable = playersPerTable;
+        this.botsPerTable = botsPerTable;
+        this.gamesPerTable = gamesPerTable;
+        this.seed = seed;
+    }
+
+    /**
+     * plays every game and waits for them to finish
+     *
+     * @return what was measured
+     */
+    public Report run() throws InterruptedException, ExecutionException {
+        int numberOfTables = Math.max(1, numberOfClients / playersPerTable);
+        ExecutorService threads = Executors.newFixedThreadPool(numberOfTables * playersPerTable);
+        Random seeds = new Random(seed);
+        long started = System.nanoTime();
+        try{
+            List<Future<Report>> tables = new ArrayList<>();
+            for(int t = 0; t < numberOfTables; t++){
+                long tableSeed = seeds.nextLong();
+                int tableNumber = t;
+                tables.add(threads.submit(new Callable<Report>() {
+                    @Override
+                    public Report call() throws Exception {
+                        return playTable(tableNumber, tableSeed, threads);
+                    }
+                }));
+            }
+            Report report = new Report();
+            for(Future<Report> table : tables){
+                report.add(table.get());
+            }
+            report.nanos = System.nanoTime() - started;
+            return report;
+        }finally{
+            threads.shutdownNow();
+        }
+    }
+
+    /**
+     * plays the games of one group of clients, the first client creates each table and starts the game
+     */
+    private Report playTable(int tableNumber, long tableSeed, ExecutorService threads) throws Exception {
+        Report report = new Report();
+        Random random = new Random(tableSeed);
+        for(int game = 0; game < gamesPerTable; game++){
+            List<LoadClient> clients = new ArrayList<>();
+            try{
+                for(int i = 0; i < playersPerTable; i++){
+                    clients.add(new LoadClient(host, port, "t" + tableNumber + "p" + i, random.nextLong()));
+                }
+                LoadClient first = clients.get(0);
+                String id = first.request("CREATE").split(" ")[1];
+                for(LoadClient client : clients){
+                    client.join(id);
+                }
+                for(int bot = 0; bot < botsPerTable; bot++){
+                    first.sendText("ADDBOT t" + tableNumber + "bot" + bot);
+                }
+                first.sendText("START");
+
+                // the first client plays on this thread, the others on their own
+                List<Future<LoadClient>> playing = new ArrayList<>();
+                for(LoadClient client : clients.subList(1, clients.size())){
+                    playing.add(threads.submit(new Callable<LoadClient>() {
+                        @Override
+                        public LoadClient call() throws IOException {
+                            client.play();
+                            return client;
+                        }
+                    }));
+                }
+                first.play();
+                report.add(first);
+                for(Future<LoadClient> client : playing){
+                    report.add(client.get());
+                }
+                report.games++;
+            }finally{
+                for(LoadClient client : clients){
+                    client.close();
+                }
+            }
+        }
+        return report;
+    }
+
+    /**
+     * what a run measured, added up over every client
+     */
+    public static class Report {
+
+        @Getter private final LatencyHistogram latencies = new LatencyHistogram(HIGHEST_LATENCY);
+        @Getter private long games;
+        @Getter private long errors;
+        @Getter private long nanos;
+
+        private void add(LoadClient client){
+            latencies.add(client.latencies);
+            errors += client.errors;
+        }
+
+        private void add(Report other){
+            latencies.add(other.latencies);
+            games += other.games;
+            errors += other.errors;
+        }
+
+        public double getActionsPerSecond(){
+            return latencies.getTotalCount() * 1e9 / Math.max(1, nanos);
+        }
+
+        @Override
+        public String toString(){
+            return String.format("%d games, %d actions in %.1fs: %.0f actions/s, %.1f games/s, %d errors%n"
+                            + "action latency (us): %s",
+                    games, latencies.getTotalCount(), nanos / 1e9, getActionsPerSecond(), games * 1e9 / Math.max(1, nanos),
+                    errors, latencies.summary(1000));
+        }
+    }
+
+    /**
+     * one simulated player, a blocking socket speaking binary frames
+     */
+    private static class LoadClient {
+
+        private final Socket socket;
+        private final DataInputStream input;
+        private final DataOutputStream output;
+        private final String name;
+        private final Random random;
+        private final LatencyHistogram latencies = new LatencyHistogram(HIGHEST_LATENCY);
+        private long errors;
+        private long sentAt;
+
+        private LoadClient(String host, int port, String name, long seed) throws IOException {
+            this.socket = new Socket(host, port);
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+            this.input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            this.name = name;
+            this.random = new Random(seed);
+        }
+
+        private void sendText(String line) throws IOException {
+            byte[] text = Frames.encodeText(line);
+            output.writeInt(text.length + 1);
+            output.writeByte(Frames.COMMAND);
+            output.write(text);
+            output.flush();
+        }
+
+        private void sendMove(int move) throws IOException {
+            output.writeInt(1 + Integer.BYTES);
+            output.writeByte(Frames.MOVE);
+            output.writeInt(move);
+            output.flush();
+        }
+
+        /**
+         * sends a command and skips frames until the text reply
+         */
+        private String request(String line) throws IOException {
+            sendText(line);
+            while(true){
+                int length = input.readInt();
+                byte type = input.readByte();
+                byte[] body = new byte[length - 1];
+                input.readFully(body);
+                if(type == Frames.COMMAND){
+                    return new String(body, StandardCharsets.UTF_8);
+                }
+            }
+        }
+
+        private void join(String id) throws IOException {
+            String reply = request("JOIN " + id + " " + name);
+            if(!reply.startsWith("JOINED")){
+                throw new IOException("Could not join table " + id + ": " + reply);
+            }
+        }
+
+        /**
+         * plays random legal moves whenever it is this client's turn until the game is over
+         */
+        private void play() throws IOException {
+            while(true){
+                int length = input.readInt();
+                byte type = input.readByte();
+                switch(type){
+                    case Frames.COMMAND:
+                        byte[] text = new byte[length - 1];
+                        input.readFully(text);
+                        String line = new String(text, StandardCharsets.UTF_8);
+                        if(line.startsWith("GAME_OVER")){
+                            return;
+                        }else if(line.equals("TURN " + name)){
+                            sentAt = System.nanoTime();
+                            sendText("MOVES");
+                        }else if(line.startsWith("ERROR")){
+                            // only this client's own requests are answered with errors, so ask again
+                            errors++;
+                            sentAt = System.nanoTime();
+                            sendText("MOVES");
+                        }
+                        break;
+                    case Frames.MOVES:
+                        latencies.record(System.nanoTime() - sentAt);
+                        int count = input.readUnsignedByte();
+                        int chosen = random.nextInt(count);
+                        int move = 0;
+                        for(int i = 0; i < count; i++){
+                            int m = input.readInt();
+                            if(i == chosen){
+                                move = m;
+                            }
+                        }
+                        input.skipBytes(length - 2 - count * Integer.BYTES);
+                        sentAt = System.nanoTime();
+                        sendMove(move);
+                        break;
+                    case Frames.MOVED:
+                        byte[] moved = new byte[length - 1];
+                        input.readFully(moved);
+                        String player = new String(moved, Integer.BYTES, moved.length - Integer.BYTES, StandardCharsets.UTF_8);
+                        if(player.equals(name)){
+                            latencies.record(System.nanoTime() - sentAt);
+                        }
+                        break;
+                    default:
+                        input.skipBytes(length - 1);
+                        break;
+                }
+            }
+        }
+
+        private void close(){
+            try{
+                socket.close();
+            }catch(IOException e){
+                // already closed
+            }
+        }
+    }
+
+    /**
+     * runs a load test, the arguments are the number of clients, clients per table, bots per table, games per table,
+     * then optionally the port of a running server. e.g. LoadGenerator 400 4 0 5
+     */
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int playersPerTable = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int botsPerTable = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        int games = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+
+        NioServer server = null;
+        int port;
+        if(args.length > 4){
+            port = Integer.parseInt(args[4]);
+        }else{
+            int cores = Runtime.getRuntime().availableProcessors();
+            server = new NioServer(0, Math.max(1, cores / 2), Math.max(1, cores / 2));
+            port = server.start();
+        }
+        try{
+            LoadGenerator generator = new LoadGenerator("localhost", port, clients, playersPerTable, botsPerTable, games, 1);
+            // one short run first so the server and the clients are compiled before anything is measured
+            new LoadGenerator("localhost", port, Math.min(clients, 40), playersPerTable, botsPerTable, 1, 2).run();
+            System.out.println(generator.run());
+        }finally{
+            if(server != null){
+                server.stop();
+            }
+        }
+    }
+}
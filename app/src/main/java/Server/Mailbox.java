@@ -0,0 +1,139 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * the mailbox of a table: many threads post messages and one consumer at a time runs them on a shared pool, so
+ * the game behind it needs no locks. Client requests are bounded so a flooded table turns requests away instead of
+ * queueing without limit, and the consumer gives its thread back after a batch so a busy table can not hold up the
+ * tables sharing the pool
+ *
+ * @since 1.1.0
+ */
+
+package Server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class Mailbox {
+
+    // messages run before the consumer gives its thread back to the pool
+    private static final int BATCH = 32;
+
+    private final Queue<Runnable> messages = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicLong rejected = new AtomicLong();
+    private final Executor pool;
+    private final int capacity;
+    private final Runnable consumer = new Runnable() {
+        @Override
+        public void run() {
+            drain();
+        }
+    };
+
+    /**
+     * @param pool the threads messages run on
+     * @param capacity the most client requests that can wait in the mailbox
+     */
+    public Mailbox(Executor pool, int capacity){
+        this.pool = pool;
+        this.capacity = capacity;
+    }
+
+    /**
+     * posts a client request
+     *
+     * @param message the request
+     *
+     * @return false if the mailbox is full and the request was turned away
+     */
+    public boolean offer(Runnable message){
+        if(size.incrementAndGet() > capacity){
+            size.decrementAndGet();
+            rejected.incrementAndGet();
+            return false;
+        }
+        messages.offer(message);
+        schedule();
+        return true;
+    }
+
+    /**
+     * posts a message that must not be lost, such as cleaning up after a client or sending a tick, whether or
+     * not the mailbox is full
+     *
+     * @param message the message
+     */
+    public void put(Runnable message){
+        size.incrementAndGet();
+        messages.offer(message);
+        schedule();
+    }
+
+    private void schedule(){
+        if(scheduled.compareAndSet(false, true)){
+            pool.execute(consumer);
+        }
+    }
+
+    private void drain(){
+        for(int i = 0; i < BATCH; i++){
+            Runnable message = messages.poll();
+            if(message == null){
+                break;
+            }
+            size.decrementAndGet();
+            try{
+                message.run();
+            }catch(RuntimeException e){
+                System.err.println("A table message failed: " + e);
+            }
+        }
+
+        scheduled.set(false);
+        // messages posted after the batch but before the flag was cleared still need a consumer
+        if(!messages.isEmpty()){
+            schedule();
+        }
+    }
+
+    /**
+     * @return the number of messages waiting
+     */
+    public int getSize(){
+        return size.get();
+    }
+
+    /**
+     * @return the number of requests turned away since the mailbox was created
+     */
+    public long getNumberOfRejections(){
+        return rejected.get();
+    }
+}
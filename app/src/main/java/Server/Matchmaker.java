@@ -0,0 +1,339 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * groups clients waiting for a game into tables. Clients queue with a rating and are matched in rounds that run a few
+ * times a second: each round takes everyone who queued since the last one off a lock free queue, sorts the waiting
+ * players by rating and, oldest first, seats each one with the closest rated players around them. The longer a player
+ * waits the wider the range of ratings they will accept and the fewer players they need to start a table, from a full
+ * table straight away down to two players after SEAT_RELAX_MILLIS * 4. Every match gets a new table, and so a new game,
+ * which starts as soon as the players are seated. Players that can not be seated, say because they sat down somewhere
+ * else in the meantime, are told UNQUEUED and the rest play on if there are still enough of them
+ *
+ * @since 1.1.0
+ */
+
+package Server;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+public class Matchmaker {
+
+    public static final int MAX_RATING = 4000;
+    public static final int DEFAULT_RATING = 1500;
+    public static final int ROUND_MILLIS = 100;
+    // players this far apart in rating can be matched straight away
+    public static final int BASE_BAND = 100;
+    // and the range grows by this much for every second a player waits
+    public static final int BAND_GROWTH_PER_SECOND = 50;
+    // each time a player has waited this long they will accept a table with one seat fewer
+    public static final int SEAT_RELAX_MILLIS = 2500;
+
+    private final TableRegistry tables;
+    private final LongSupplier clock;
+    private final Queue<Ticket> arrivals = new ConcurrentLinkedQueue<>();
+    private final Queue<ClientSession> cancellations = new ConcurrentLinkedQueue<>();
+    private final Map<ClientSession, Ticket> queued = new ConcurrentHashMap<>();
+    private final AtomicLong matches = new AtomicLong();
+    // only used by the thread running the rounds
+    private final List<Ticket> waiting = new ArrayList<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * starts matching players on a background thread
+     *
+     * @param tables where the tables for matched players are created
+     */
+    public Matchmaker(TableRegistry tables){
+        this(tables, new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return System.currentTimeMillis();
+            }
+        }, true);
+    }
+
+    /**
+     * @param tables where the tables for matched players are created
+     * @param clock the time in milliseconds, used to work out how long players have waited
+     * @param background true to run rounds on a background thread, false to leave calling round to the caller
+     */
+    public Matchmaker(TableRegistry tables, LongSupplier clock, boolean background){
+        this.tables = tables;
+        this.clock = clock;
+        this.thread = background ? new Thread(new Runnable() {
+            @Override
+            public void run() {
+                runRounds();
+            }
+        }, "acquire-matchmaker") : null;
+        if(thread != null){
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * puts a client in the queue for a game, safe to call from any thread
+     *
+     * @param session the client
+     * @param name the name the client will play under
+     * @param rating the client's rating, clamped between 0 and MAX_RATING
+     */
+    public void queue(ClientSession session, String name, int rating){
+        Ticket ticket = new Ticket(session, name, Math.max(0, Math.min(MAX_RATING, rating)), clock.getAsLong());
+        if(queued.putIfAbsent(session, ticket) != null){
+            session.send("ERROR already queued");
+            return;
+        }
+        arrivals.offer(ticket);
+        session.send("QUEUED " + ticket.rating);
+    }
+
+    /**
+     * takes a client out of the queue, the client is told once the next round has removed it
+     *
+     * @param session the client
+     */
+    public void cancel(ClientSession session){
+        if(!queued.containsKey(session)){
+            session.send("ERROR not queued");
+            return;
+        }
+        cancellations.offer(session);
+    }
+
+    /**
+     * @param session a client
+     * @return true if the client is waiting for a game
+     */
+    public boolean isQueued(ClientSession session){
+        return queued.containsKey(session);
+    }
+
+    /**
+     * @return the number of clients waiting for a game
+     */
+    public int getNumberOfWaiting(){
+        return queued.size();
+    }
+
+    /**
+     * @return the number of tables created for matched players
+     */
+    public long getNumberOfMatches(){
+        return matches.get();
+    }
+
+    /**
+     * stops the background rounds
+     */
+    public void shutdown(){
+        running = false;
+        if(thread != null){
+            thread.interrupt();
+        }
+    }
+
+    private void runRounds(){
+        while(running){
+            try{
+                Thread.sleep(ROUND_MILLIS);
+            }catch(InterruptedException e){
+                return;
+            }
+            round();
+        }
+    }
+
+    /**
+     * runs one round of matching, only ever called from one thread at a time
+     *
+     * @return the number of tables created
+     */
+    public int round(){
+        long now = clock.getAsLong();
+        Ticket ticket;
+        while((ticket = arrivals.poll()) != null){
+            waiting.add(ticket);
+        }
+        ClientSession session;
+        while((session = cancellations.poll()) != null){
+            Ticket cancelled = queued.remove(session);
+            if(cancelled != null){
+                cancelled.settled = true;
+                session.send("UNQUEUED");
+            }
+        }
+        waiting.removeIf(SETTLED);
+
+        waiting.sort(BY_RATING);
+        for(int i = 0; i < waiting.size(); i++){
+            waiting.get(i).position = i;
+        }
+        List<Ticket> oldestFirst = new ArrayList<>(waiting);
+        oldestFirst.sort(BY_ARRIVAL);
+
+        int created = 0;
+        List<Ticket> group = new ArrayList<>(Table.MAX_PLAYERS);
+        for(Ticket anchor : oldestFirst){
+            if(anchor.settled){
+                continue;
+            }
+            gather(anchor, now, group);
+            if(group.size() >= seatsWanted(anchor, now)){
+                seat(group);
+                created++;
+            }
+        }
+        waiting.removeIf(SETTLED);
+        return created;
+    }
+
+    /**
+     * collects the anchor and the closest rated players either side of it that it and they will accept, up to a full table
+     */
+    private void gather(Ticket anchor, long now, List<Ticket> group){
+        group.clear();
+        group.add(anchor);
+        int band = band(anchor, now);
+        int below = anchor.position - 1;
+        int above = anchor.position + 1;
+        while(group.size() < Table.MAX_PLAYERS){
+            below = nextCandidate(below, -1, anchor, band, now, group);
+            above = nextCandidate(above, 1, anchor, band, now, group);
+            if(below < 0 && above >= waiting.size()){
+                return;
+            }
+            boolean takeBelow = above >= waiting.size() || below >= 0
+                    && anchor.rating - waiting.get(below).rating <= waiting.get(above).rating - anchor.rating;
+            if(takeBelow){
+                group.add(waiting.get(below--));
+            }else{
+                group.add(waiting.get(above++));
+            }
+        }
+    }
+
+    /**
+     * walks from index in the given direction to the next player that could join the anchor's group
+     *
+     * @return the index of the player, or an index off the end of the list if there is none within the band
+     */
+    private int nextCandidate(int index, int step, Ticket anchor, int band, long now, List<Ticket> group){
+        for(; index >= 0 && index < waiting.size(); index += step){
+            Ticket candidate = waiting.get(index);
+            int distance = Math.abs(candidate.rating - anchor.rating);
+            if(distance > band){
+                break;
+            }
+            if(!candidate.settled && distance <= band(candidate, now) && !hasName(group, candidate.name)){
+                return index;
+            }
+        }
+        return step < 0 ? -1 : waiting.size();
+    }
+
+    private static boolean hasName(List<Ticket> group, String name){
+        for(Ticket t : group){
+            if(t.name.equals(name)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * creates a table for a group and hands it everyone in it, the table starts the game once they are all seated
+     */
+    private void seat(List<Ticket> group){
+        Table table = tables.createTable();
+        List<ClientSession> players = new ArrayList<>(group.size());
+        List<String> names = new ArrayList<>(group.size());
+        for(Ticket t : group){
+            t.settled = true;
+            queued.remove(t.session);
+            players.add(t.session);
+            names.add(t.name);
+        }
+        table.seatMatch(players, names);
+        matches.incrementAndGet();
+    }
+
+    private static int band(Ticket ticket, long now){
+        long waited = Math.max(0, now - ticket.queuedAt);
+        return (int) Math.min(MAX_RATING, BASE_BAND + waited * BAND_GROWTH_PER_SECOND / 1000);
+    }
+
+    private static int seatsWanted(Ticket ticket, long now){
+        long waited = Math.max(0, now - ticket.queuedAt);
+        return (int) Math.max(Table.MIN_PLAYERS, Table.MAX_PLAYERS - waited / SEAT_RELAX_MILLIS);
+    }
+
+    private static final Comparator<Ticket> BY_RATING = new Comparator<Ticket>() {
+        @Override
+        public int compare(Ticket a, Ticket b) {
+            return Integer.compare(a.rating, b.rating);
+        }
+    };
+
+    private static final Predicate<Ticket> SETTLED = new Predicate<Ticket>() {
+        @Override
+        public boolean test(Ticket ticket) {
+            return ticket.settled;
+        }
+    };
+
+    private static final Comparator<Ticket> BY_ARRIVAL = new Comparator<Ticket>() {
+        @Override
+        public int compare(Ticket a, Ticket b) {
+            return Long.compare(a.queuedAt, b.queuedAt);
+        }
+    };
+
+    /**
+     * a client waiting for a game
+     */
+    private static class Ticket {
+        private final ClientSession session;
+        private final String name;
+        private final int rating;
+        private final long queuedAt;
+        // only touched by the thread running the rounds, true once matched or cancelled
+        private boolean settled;
+        private int position;
+
+        private Ticket(ClientSession session, String name, int rating, long queuedAt){
+            this.session = session;
+            this.name = name;
+            this.rating = rating;
+            this.queuedAt = queuedAt;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * one client connected to NioServer. Idle connections hold no buffers: bytes are read into the event loop's
+ * shared buffer and only the tail of an unfinished frame is kept, in a pooled buffer. Frames sent from table threads are
+ * queued and written by the event loop when the socket can take them. A client that stops reading falls behind like a
+ * spectator: past MAX_QUEUED_FRAMES its game updates are dropped and it is sent a snapshot once it has caught up, and
+ * a client that lets even its replies pile up is disconnected
+ *
+ * @since 1.1.0
+ */
+
+package Server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class NioConnection implements Connection {
+
+    // game updates queued past this are dropped until the client catches up and is sent a snapshot
+    static final int MAX_QUEUED_FRAMES = 256;
+    // replies queued past this close the connection, they can not be dropped
+    static final int MAX_QUEUED_REPLIES = 4 * MAX_QUEUED_FRAMES;
+
+    private final SocketChannel channel;
+    private final EventLoop loop;
+    private final FramePool pool;
+    private final ClientSession session;
+    private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    // set when game updates were dropped, the client is sent a snapshot once its queue is empty
+    private final AtomicBoolean lagging = new AtomicBoolean();
+    private final AtomicBoolean writeRequested = new AtomicBoolean();
+    private SelectionKey key;
+    private volatile SpectatorFeed.Cursor cursor;
+    private ByteBuffer partial;
+    private volatile boolean closing;
+    private volatile boolean closed;
+
+    NioConnection(SocketChannel channel, EventLoop loop, FramePool pool){
+        this.channel = channel;
+        this.loop = loop;
+        this.pool = pool;
+        this.session = new ClientSession(this);
+    }
+
+    void setKey(SelectionKey key){
+        this.key = key;
+    }
+
+    ClientSession getSession(){
+        return session;
+    }
+
+    @Override
+    public void send(String line) {
+        byte[] text = Frames.encodeText(line);
+        ByteBuffer frame = allocate(1 + text.length);
+        Frames.begin(frame, Frames.COMMAND);
+        frame.put(text);
+        enqueue(frame);
+    }
+
+    @Override
+    public void sendMoves(String actingPlayer, int[] moves, int count) {
+        byte[] name = Frames.encodeText(actingPlayer);
+        ByteBuffer frame = allocate(2 + count * Integer.BYTES + name.length);
+        Frames.begin(frame, Frames.MOVES);
+        frame.put((byte) count);
+        for(int i = 0; i < count; i++){
+            frame.putInt(moves[i]);
+        }
+        frame.put(name);
+        enqueue(frame);
+    }
+
+    @Override
+    public void sendMoved(String player, int move) {
+        byte[] name = Frames.encodeText(player);
+        ByteBuffer frame = allocate(1 + Integer.BYTES + name.length);
+        Frames.begin(frame, Frames.MOVED);
+        frame.putInt(move);
+        frame.put(name);
+        enqueue(frame);
+    }
+
+    @Override
+    public void sendFrame(SharedFrame frame) {
+        if(closed){
+            return;
+        }
+        if(lagging.get() || queued.get() >= MAX_QUEUED_FRAMES){
+            lagging.set(true);
+            return;
+        }
+        queued.incrementAndGet();
+        outbound.offer(frame.getBinary());
+        requestFlush();
+    }
+
+    @Override
+    public void feedUpdated(SpectatorFeed.Cursor cursor) {
+        this.cursor = cursor;
+        requestFlush();
+    }
+
+    /**
+     * @param payload the bytes the frame needs after the length
+     * @return a pooled buffer, or a buffer of its own for the rare frame too big for the pool
+     */
+    private ByteBuffer allocate(int payload){
+        if(payload <= Frames.MAX_PAYLOAD){
+            return pool.acquire();
+        }
+        return ByteBuffer.allocate(Frames.LENGTH_BYTES + payload);
+    }
+
+    private void enqueue(ByteBuffer frame){
+        Frames.end(frame);
+        if(closed){
+            pool.release(frame);
+            return;
+        }
+        if(queued.incrementAndGet() > MAX_QUEUED_REPLIES){
+            queued.decrementAndGet();
+            pool.release(frame);
+            close();
+            return;
+        }
+        outbound.offer(frame);
+        requestFlush();
+    }
+
+    private void requestFlush(){
+        if(writeRequested.compareAndSet(false, true)){
+            loop.requestWrite(this);
+        }
+    }
+
+    /**
+     * writes queued frames, and then updates from the feed the client is watching, until there is nothing left
+     * or the socket is full. Only called on the event loop.
+     */
+    void flush() throws IOException {
+        while(true){
+            ByteBuffer frame = outbound.peek();
+            if(frame == null){
+                frame = nextFromFeed();
+                if(frame == null){
+                    break;
+                }
+                queued.incrementAndGet();
+                outbound.offer(frame);
+            }
+            channel.write(frame);
+            if(frame.hasRemaining()){
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+            outbound.poll();
+            queued.decrementAndGet();
+            pool.release(frame);
+        }
+
+        Table table = session.getTable();
+        if(lagging.compareAndSet(true, false) && table != null){
+            table.resync(session);
+        }
+        writeRequested.set(false);
+        // a frame queued after the loop above found nothing to send but before the flag was cleared
+        if(!outbound.isEmpty() || (cursor != null && cursor.hasNext())){
+            requestFlush();
+        }
+        if(closing){
+            closeNow();
+        }else if(key.isValid()){
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    private ByteBuffer nextFromFeed(){
+        SpectatorFeed.Cursor following = cursor;
+        if(following == null){
+            return null;
+        }
+        SharedFrame frame = following.poll();
+        return frame == null ? null : frame.getBinary();
+    }
+
+    /**
+     * reads what the client has sent and hands every complete frame to the handler, only called on the event loop
+     *
+     * @param buffer the event loop's shared read buffer
+     * @param handler the handler commands are passed to
+     */
+    void read(ByteBuffer buffer, CommandHandler handler) throws IOException {
+        buffer.clear();
+        if(channel.read(buffer) < 0){
+            closeNow();
+            return;
+        }
+        buffer.flip();
+
+        if(partial == null){
+            dispatchFrames(buffer, handler);
+            if(buffer.hasRemaining() && !closed && !closing){
+                if(buffer.remaining() > Frames.MAX_FRAME){
+                    throw new IOException("Frame does not fit in " + Frames.MAX_FRAME + " bytes");
+                }
+                partial = pool.acquire();
+                partial.put(buffer);
+            }
+            return;
+        }
+
+        while(buffer.hasRemaining() && !closed && !closing){
+            if(!partial.hasRemaining()){
+                throw new IOException("Frame does not fit in " + Frames.MAX_FRAME + " bytes");
+            }
+            int limit = buffer.limit();
+            buffer.limit(buffer.position() + Math.min(buffer.remaining(), partial.remaining()));
+            partial.put(buffer);
+            buffer.limit(limit);
+
+            partial.flip();
+            dispatchFrames(partial, handler);
+            partial.compact();
+        }
+        // a client that has asked to disconnect gets nothing more read, whatever it sent after is dropped
+        if(closing || partial.position() == 0){
+            pool.release(partial);
+            partial = null;
+        }
+    }
+
+    private void dispatchFrames(ByteBuffer buffer, CommandHandler handler) throws IOException {
+        while(buffer.remaining() >= Frames.LENGTH_BYTES && !closing){
+            int length = buffer.getInt(buffer.position());
+            if(length < 1 || length > Frames.MAX_PAYLOAD){
+                throw new IOException("Bad frame length " + length);
+            }
+            if(buffer.remaining() < Frames.LENGTH_BYTES + length){
+                return;
+            }
+
+            int end = buffer.position() + Frames.LENGTH_BYTES + length;
+            int limit = buffer.limit();
+            buffer.position(buffer.position() + Frames.LENGTH_BYTES).limit(end);
+            dispatch(buffer, handler);
+            buffer.limit(limit).position(end);
+        }
+    }
+
+    private void dispatch(ByteBuffer frame, CommandHandler handler) throws IOException {
+        byte type = frame.get();
+        switch(type){
+            case Frames.COMMAND:
+                if(!handler.handle(session, Frames.readText(frame))){
+                    closeAfterFlush();
+                }
+                break;
+            case Frames.MOVE:
+                handler.move(session, frame.getInt());
+                break;
+            default:
+                throw new IOException("Unknown frame type " + type);
+        }
+    }
+
+    private void closeAfterFlush(){
+        closing = true;
+        requestFlush();
+    }
+
+    @Override
+    public void close() {
+        loop.execute(new Runnable() {
+            @Override
+            public void run() {
+                closeNow();
+            }
+        });
+    }
+
+    /**
+     * closes the channel and gives back every buffer, only called on the event loop
+     */
+    void closeNow() {
+        if(closed){
+            return;
+        }
+        closed = true;
+        loop.closed(this);
+        if(key != null){
+            key.cancel();
+        }
+        try{
+            channel.close();
+        }catch(IOException e){
+            // the channel is gone either way
+        }
+        if(partial != null){
+            pool.release(partial);
+            partial = null;
+        }
+        ByteBuffer frame;
+        while((frame = outbound.poll()) != null){
+            queued.decrementAndGet();
+            pool.release(frame);
+        }
+    }
+}
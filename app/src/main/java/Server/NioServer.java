@@ -0,0 +1,160 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * hosts the same tables as GameServer but serves clients from a few selector threads instead of a thread per
+ * client, speaking the binary frames described in Frames. An idle client costs a socket, a selection key and a session
+ *
+ * @since 1.1.0
+ */
+
+package Server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+public class NioServer {
+
+    private static final int MAX_POOLED_FRAMES = 4096;
+
+    private final int port;
+    private final ShardedScheduler scheduler;
+    private final HashedWheelTimer timer = new HashedWheelTimer();
+    private final TableRegistry tables;
+    private final Matchmaker matchmaker;
+    private final CommandHandler handler;
+    private final FramePool framePool = new FramePool(MAX_POOLED_FRAMES);
+    private final EventLoop[] loops;
+    private ServerSocketChannel serverChannel;
+
+    /**
+     * @param port the port to listen on, 0 picks a free port
+     * @param eventLoops the number of selector threads
+     * @param tableThreads the number of workers the tables are spread over, normally one per core
+     */
+    public NioServer(int port, int eventLoops, int tableThreads) throws IOException {
+        this.port = port;
+        this.scheduler = new ShardedScheduler(tableThreads);
+        this.tables = new TableRegistry(scheduler, timer);
+        this.matchmaker = new Matchmaker(tables);
+        this.handler = new CommandHandler(tables, matchmaker);
+        this.loops = new EventLoop[eventLoops];
+        for(int i = 0; i < eventLoops; i++){
+            loops[i] = new EventLoop(handler, framePool);
+        }
+    }
+
+    /**
+     * starts the event loops and begins accepting clients
+     *
+     * @return the port the server is listening on
+     */
+    public int start() throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), 1024);
+
+        for(int i = 0; i < loops.length; i++){
+            Thread thread = new Thread(loops[i], "acquire-nio-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        Thread acceptor = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                acceptClients();
+            }
+        }, "acquire-nio-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        return serverChannel.socket().getLocalPort();
+    }
+
+    private void acceptClients(){
+        int next = 0;
+        while(serverChannel.isOpen()){
+            try{
+                SocketChannel channel = serverChannel.accept();
+                channel.socket().setTcpNoDelay(true);
+                loops[next].register(channel);
+                next = (next + 1) % loops.length;
+            }catch(IOException e){
+                if(serverChannel.isOpen()){
+                    System.err.println("Could not accept a client: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    public TableRegistry getTables(){
+        return tables;
+    }
+
+    public FramePool getFramePool(){
+        return framePool;
+    }
+
+    /**
+     * @return the number of clients connected right now
+     */
+    public int getNumberOfConnections(){
+        int connections = 0;
+        for(EventLoop loop : loops){
+            connections += loop.getNumberOfConnections();
+        }
+        return connections;
+    }
+
+    /**
+     * stops accepting clients and disconnects everyone
+     */
+    public void stop() throws IOException {
+        if(serverChannel != null){
+            serverChannel.close();
+        }
+        for(EventLoop loop : loops){
+            loop.stop();
+        }
+        matchmaker.shutdown();
+        scheduler.shutdown();
+        timer.shutdown();
+    }
+
+    /**
+     * runs a server until the process is stopped
+     *
+     * @param args the port to listen on, the number of selector threads, and the number of table threads
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 4442;
+        int loops = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        NioServer server = new NioServer(port, loops, threads);
+        System.out.println("Acquire server listening on port " + server.start());
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,261 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * runs every table on one of a fixed set of worker threads, one per core. Tables are spread across the workers by
+ * their id and stay on the same worker, which runs their messages, their timers and their bots, so a table's data stays in
+ * one core's cache and workers share no locks. A worker with nothing of its own to do takes queued messages from a worker
+ * that is behind, its timers are never taken
+ *
+ * @since 1.1.0
+ */
+
+package Server;
+
+import java.util.Deque;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public class ShardedScheduler {
+
+    // a worker this far behind wakes an idle worker to take some of its messages
+    private static final int STEAL_THRESHOLD = 16;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Shard[] shards;
+    private final AtomicLong steals = new AtomicLong();
+    private volatile boolean running = true;
+
+    /**
+     * starts the workers
+     *
+     * @param numberOfShards the number of worker threads, normally the number of cores
+     */
+    public ShardedScheduler(int numberOfShards){
+        shards = new Shard[numberOfShards];
+        for(int i = 0; i < numberOfShards; i++){
+            shards[i] = new Shard(i);
+        }
+        for(Shard shard : shards){
+            shard.thread.start();
+        }
+    }
+
+    /**
+     * @param key the id of a table
+     * @return the shard that runs the table, always the same one for the same key
+     */
+    public Shard getShard(int key){
+        int hash = key * 0x9E3779B9;
+        return shards[Math.floorMod(hash ^ hash >>> 16, shards.length)];
+    }
+
+    public int getNumberOfShards(){
+        return shards.length;
+    }
+
+    /**
+     * @return the number of messages run by a worker other than the one they were queued on
+     */
+    public long getNumberOfSteals(){
+        return steals.get();
+    }
+
+    /**
+     * stops the workers, queued messages and timers are dropped
+     */
+    public void shutdown(){
+        running = false;
+        for(Shard shard : shards){
+            LockSupport.unpark(shard.thread);
+        }
+    }
+
+    private Runnable steal(Shard thief){
+        for(int i = 1; i < shards.length; i++){
+            Shard victim = shards[(thief.index + i) % shards.length];
+            // leave the victim its next message so it is not left idle in turn
+            if(victim.backlog.get() > 1){
+                Runnable task = victim.tasks.pollLast();
+                if(task != null){
+                    victim.backlog.decrementAndGet();
+                    steals.incrementAndGet();
+                    return task;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void wakeIdleShard(Shard busy){
+        for(Shard shard : shards){
+            if(shard != busy && shard.parked){
+                LockSupport.unpark(shard.thread);
+                return;
+            }
+        }
+    }
+
+    /**
+     * one worker thread with its own message queue and timers
+     */
+    public class Shard implements Executor {
+
+        private final int index;
+        private final Thread thread;
+        private final Deque<Runnable> tasks = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger backlog = new AtomicInteger();
+        private final Queue<Timer> newTimers = new ConcurrentLinkedQueue<>();
+        // only touched by the worker thread
+        private final PriorityQueue<Timer> timers = new PriorityQueue<>();
+        private long timerSequence;
+        private volatile boolean parked;
+
+        private Shard(int index){
+            this.index = index;
+            this.thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    work();
+                }
+            }, "acquire-shard-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        public int getIndex(){
+            return index;
+        }
+
+        /**
+         * queues a message, it may be run by another worker if this one falls behind
+         *
+         * @param task the message
+         */
+        @Override
+        public void execute(Runnable task) {
+            tasks.offer(task);
+            if(backlog.incrementAndGet() > STEAL_THRESHOLD){
+                wakeIdleShard(this);
+            }
+            if(parked){
+                LockSupport.unpark(thread);
+            }
+        }
+
+        /**
+         * runs a task on this worker once the delay has passed
+         *
+         * @param task the task
+         * @param delayMillis the delay in milliseconds
+         */
+        public void schedule(Runnable task, long delayMillis){
+            newTimers.offer(new Timer(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis), task));
+            if(parked){
+                LockSupport.unpark(thread);
+            }
+        }
+
+        /**
+         * @return the number of messages waiting
+         */
+        public int getBacklog(){
+            return backlog.get();
+        }
+
+        private void work(){
+            while(running){
+                long wait = runDueTimers();
+
+                Runnable task = tasks.poll();
+                if(task != null){
+                    backlog.decrementAndGet();
+                }else{
+                    task = steal(this);
+                }
+
+                if(task != null){
+                    run(task);
+                    continue;
+                }
+
+                parked = true;
+                if(tasks.isEmpty() && newTimers.isEmpty() && running){
+                    LockSupport.parkNanos(Math.min(wait, MAX_PARK_NANOS));
+                }
+                parked = false;
+            }
+        }
+
+        /**
+         * @return the nanoseconds until the next timer is due
+         */
+        private long runDueTimers(){
+            Timer added;
+            while((added = newTimers.poll()) != null){
+                added.sequence = timerSequence++;
+                timers.offer(added);
+            }
+
+            long now = System.nanoTime();
+            Timer next;
+            while((next = timers.peek()) != null && next.deadline - now <= 0){
+                timers.poll();
+                run(next.task);
+            }
+            return next == null ? MAX_PARK_NANOS : next.deadline - now;
+        }
+
+        private void run(Runnable task){
+            try{
+                task.run();
+            }catch(RuntimeException e){
+                System.err.println("A task on shard " + index + " failed: " + e);
+            }
+        }
+    }
+
+    private static final class Timer implements Comparable<Timer> {
+
+        private final long deadline;
+        private final Runnable task;
+        private long sequence;
+
+        private Timer(long deadline, Runnable task){
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(Timer other) {
+            int byDeadline = Long.compare(deadline - other.deadline, 0);
+            return byDeadline != 0 ? byDeadline : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * an update for a table encoded once and then shared by every client that receives it. The binary frames are
+ * built when the update is created, the text line only when a line client first asks for it, and neither is changed
+ * afterwards, so connections can send the same bytes without copying them
+ *
+ * @since 1.1.0
+ */
+
+package Server;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+public final class SharedFrame {
+
+    // deltas that fit in one binary frame after the type and count
+    private static final int DELTAS_PER_FRAME = (Frames.MAX_PAYLOAD - 1 - Short.BYTES) / Long.BYTES;
+
+    private final ByteBuffer binary;
+    private final String prefix;
+    private final long[] deltas;
+    private String text;
+
+    private SharedFrame(ByteBuffer binary, String prefix, long[] deltas){
+        this.binary = binary.asReadOnlyBuffer();
+        this.prefix = prefix;
+        this.deltas = deltas;
+    }
+
+    /**
+     * @param deltas a buffer of encoded deltas, see DeltaTracker
+     * @param count the number of deltas in the buffer
+     *
+     * @return the deltas as DELTAS frames
+     */
+    public static SharedFrame deltas(long[] deltas, int count){
+        int frames = Math.max(1, (count + DELTAS_PER_FRAME - 1) / DELTAS_PER_FRAME);
+        ByteBuffer buffer = ByteBuffer.allocate(frames * (Frames.LENGTH_BYTES + 1 + Short.BYTES) + count * Long.BYTES);
+        putDeltas(buffer, Frames.DELTAS, deltas, 0, count);
+        buffer.flip();
+        return new SharedFrame(buffer, "DELTAS", Arrays.copyOf(deltas, count));
+    }
+
+    /**
+     * @param seats the names of the players in seat order
+     * @param deltas a buffer of encoded deltas making up the whole game
+     * @param count the number of deltas in the buffer
+     *
+     * @return a SNAPSHOT frame, followed by DELTAS frames for the deltas that do not fit in it
+     */
+    public static SharedFrame snapshot(List<String> seats, long[] deltas, int count){
+        byte[] names = Frames.encodeText(String.join(",", seats));
+        int header = Frames.LENGTH_BYTES + 1 + Short.BYTES + names.length + Short.BYTES;
+        int first = Math.min(count, Math.max(0, (Frames.MAX_FRAME - header) / Long.BYTES));
+        int rest = count - first;
+        int frames = (rest + DELTAS_PER_FRAME - 1) / DELTAS_PER_FRAME;
+
+        ByteBuffer buffer = ByteBuffer.allocate(header + frames * (Frames.LENGTH_BYTES + 1 + Short.BYTES)
+                + count * Long.BYTES);
+        int start = buffer.position();
+        buffer.putInt(0);
+        buffer.put(Frames.SNAPSHOT);
+        buffer.putShort((short) names.length);
+        buffer.put(names);
+        buffer.putShort((short) first);
+        for(int i = 0; i < first; i++){
+            buffer.putLong(deltas[i]);
+        }
+        buffer.putInt(start, buffer.position() - start - Frames.LENGTH_BYTES);
+        if(rest > 0){
+            putDeltas(buffer, Frames.DELTAS, deltas, first, count);
+        }
+        buffer.flip();
+
+        String prefix = "SNAPSHOT " + (seats.isEmpty() ? "-" : String.join(",", seats));
+        return new SharedFrame(buffer, prefix, Arrays.copyOf(deltas, count));
+    }
+
+    private static void putDeltas(ByteBuffer buffer, byte type, long[] deltas, int from, int to){
+        do{
+            int end = Math.min(to, from + DELTAS_PER_FRAME);
+            int start = buffer.position();
+            buffer.putInt(0);
+            buffer.put(type);
+            buffer.putShort((short) (end - from));
+            for(int i = from; i < end; i++){
+                buffer.putLong(deltas[i]);
+            }
+            buffer.putInt(start, buffer.position() - start - Frames.LENGTH_BYTES);
+            from = end;
+        }while(from < to);
+    }
+
+    /**
+     * @return the binary frames, as a view with its own position so any number of connections can write it
+     */
+    public ByteBuffer getBinary(){
+        return binary.duplicate();
+    }
+
+    /**
+     * @return the update as a protocol line, built the first time it is asked for
+     */
+    public synchronized String getText(){
+        if(text == null){
+            StringBuilder line = new StringBuilder(prefix);
+            for(long delta : deltas){
+                line.append(' ').append(delta);
+            }
+            text = line.toString();
+        }
+        return text;
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * the updates of one table kept in a ring buffer for its spectators. The table publishes each update once and
+ * every spectator reads it through its own cursor when its connection is ready for more, so a slow spectator never holds
+ * up the table or the other spectators. A spectator that falls a whole ring behind is sent a snapshot and carries on
+ * from the newest update
+ *
+ * @since 1.1.0
+ */
+
+package Server;
+
+public class SpectatorFeed {
+
+    public static final int CAPACITY = 64;
+
+    private final SharedFrame[] ring = new SharedFrame[CAPACITY];
+    // the sequence number the next update gets, written only by the table
+    private volatile long head;
+
+    /**
+     * adds an update, only called by the table
+     *
+     * @param frame the update
+     */
+    public void publish(SharedFrame frame){
+        ring[(int) (head % CAPACITY)] = frame;
+        head++;
+    }
+
+    public long getHead(){
+        return head;
+    }
+
+    /**
+     * @param onLag run once each time the spectator falls too far behind, it should send a snapshot and reset
+     *              the cursor
+     *
+     * @return a cursor starting after the newest update
+     */
+    public Cursor newCursor(Runnable onLag){
+        return new Cursor(onLag);
+    }
+
+    /**
+     * how far one spectator has read
+     */
+    public class Cursor {
+
+        private final Runnable onLag;
+        private volatile long next;
+        private volatile boolean lagging;
+
+        private Cursor(Runnable onLag){
+            this.onLag = onLag;
+            this.next = head;
+        }
+
+        /**
+         * @return the next update, or null if the spectator has seen every update or is waiting for a snapshot
+         */
+        public SharedFrame poll(){
+            if(lagging){
+                return null;
+            }
+            long sequence = next;
+            if(sequence >= head){
+                return null;
+            }
+            SharedFrame frame = ring[(int) (sequence % CAPACITY)];
+            // checked after the read, once the head is a ring ahead the table may be writing over the slot
+            if(head - sequence >= CAPACITY){
+                lagging = true;
+                onLag.run();
+                return null;
+            }
+            next = sequence + 1;
+            return frame;
+        }
+
+        /**
+         * @return true if poll has an update to return, or a lag to report
+         */
+        public boolean hasNext(){
+            return !lagging && next < head;
+        }
+
+        /**
+         * carries on from the newest update, called by the table after sending a snapshot
+         */
+        public void reset(){
+            next = head;
+            lagging = false;
+        }
+
+        /**
+         * @return the number of updates published that the spectator has not read
+         */
+        public long getBacklog(){
+            return head - next;
+        }
+    }
+}
@@ -0,0 +1,803 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * one game hosted by the server and the clients seated at it. Every request is posted to the table's mailbox,
+ * so the game is only ever changed by one thread at a time and every client sees events in the same order. A client
+ * whose request finds the mailbox full is told the table is busy. Each decision a player has to make is on a clock: they
+ * get the turn time plus whatever is left of their time bank, running over the turn time spends the bank, and a player
+ * who runs out of time has a bot make the move for them. A table nobody has touched for a while hibernates: its game is
+ * stored off the heap by GameCodec, its change tracking and spectator feed are dropped, and all of it is brought back
+ * the next time anything needs it. A table closes once its game is
+ * over, once every player has left, or if it sits idle with nobody seated, and the clients still at it are free to
+ * join another table
+ *
+ * @since 1.1.0
+ */
+
+package Server;
+
+import AcquireProject.DeltaBatch;
+import AcquireProject.DeltaTracker;
+import AcquireProject.Game;
+import AcquireProject.GameCodec;
+import AcquireProject.GameState;
+import AcquireProject.Move;
+import AcquireProject.MoveGenerator;
+import Simulation.Bot;
+import Simulation.GreedyBot;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+public class Table {
+
+    public static final int MIN_PLAYERS = 2;
+    public static final int MAX_PLAYERS = 6;
+    public static final int MAX_NAME_LENGTH = 32;
+    // the phase reported before the game has started, the other phases are the GameState ones
+    public static final int NOT_STARTED = -1;
+    // changes are collected for this long and then sent to everyone at the table in one batch
+    public static final int TICK_MILLIS = 50;
+    public static final int MAILBOX_CAPACITY = 256;
+    public static final int TURN_MILLIS = 30000;
+    public static final int TIME_BANK_MILLIS = 120000;
+    public static final int IDLE_MILLIS = 60000;
+
+    @Getter private final int id;
+    // null while the table is hibernating
+    private Game game;
+    private volatile ByteBuffer hibernated;
+    private final Mailbox mailbox;
+    private final ShardedScheduler.Shard shard;
+    private final HashedWheelTimer timer;
+    private final int turnMillis;
+    private final int timeBankMillis;
+    private final int idleMillis;
+    // what is left of each player's time bank, only used from the mailbox
+    private final Map<String, Integer> timeBanks = new HashMap<>();
+    // makes the move for a player who runs out of time
+    private final Bot standIn = new GreedyBot();
+    private HashedWheelTimer.Timeout turnTimeout;
+    private long turnStartedAt;
+    // counts the clocks started so a timeout that fires after the player moved is ignored
+    private int clock;
+    private long lastActive = System.nanoTime();
+    private final Map<String, Bot> bots = new HashMap<>();
+    private final Random random = new Random();
+    private final List<ClientSession> sessions = new ArrayList<>();
+    // each spectator's cursor into the feed, null while the table is hibernating
+    private final Map<ClientSession, SpectatorFeed.Cursor> spectators = new LinkedHashMap<>();
+    private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+    // the feed and change tracking are null while the table is hibernating, the seats are kept so clients can carry on
+    private SpectatorFeed feed = new SpectatorFeed();
+    private DeltaTracker tracker = new DeltaTracker();
+    private DeltaBatch pending = new DeltaBatch();
+    private List<String> hibernatedSeats;
+    private boolean tickScheduled;
+    // the snapshot as of the last change, shared by every client that asks for one until the game changes again
+    private SharedFrame snapshot;
+    private volatile int numberOfPlayers;
+    private volatile boolean started;
+    private volatile boolean closed;
+    // tells the registry to stop hosting the table
+    private final Runnable onClosed;
+
+    /**
+     * @param id the number clients use to join the table
+     * @param shard the worker that runs the table's requests, timers and bots
+     * @param timer the timer the players' clocks run on
+     * @param turnMillis the time a player has for each decision before their time bank is used
+     * @param timeBankMillis the extra time each player has for the whole game
+     * @param idleMillis how long the table waits without any requests before it hibernates
+     */
+    public Table(int id, ShardedScheduler.Shard shard, HashedWheelTimer timer, int turnMillis, int timeBankMillis,
+                 int idleMillis){
+        this(id, shard, timer, turnMillis, timeBankMillis, idleMillis, new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+    }
+
+    /**
+     * @param id the number clients use to join the table
+     * @param shard the worker that runs the table's requests, timers and bots
+     * @param timer the timer the players' clocks run on
+     * @param turnMillis the time a player has for each decision before their time bank is used
+     * @param timeBankMillis the extra time each player has for the whole game
+     * @param idleMillis how long the table waits without any requests before it hibernates
+     * @param onClosed run on the table's worker once the table closes
+     */
+    public Table(int id, ShardedScheduler.Shard shard, HashedWheelTimer timer, int turnMillis, int timeBankMillis,
+                 int idleMillis, Runnable onClosed){
+        this.id = id;
+        this.onClosed = onClosed;
+        this.game = new Game();
+        this.mailbox = new Mailbox(shard, MAILBOX_CAPACITY);
+        this.shard = shard;
+        this.timer = timer;
+        this.turnMillis = turnMillis;
+        this.timeBankMillis = timeBankMillis;
+        this.idleMillis = idleMillis;
+        scheduleIdleCheck(idleMillis);
+    }
+
+    public int getNumberOfPlayers(){
+        return numberOfPlayers;
+    }
+
+    public boolean isStarted(){
+        return started;
+    }
+
+    /**
+     * @return true while the game is stored off the heap
+     */
+    public boolean isHibernating(){
+        return hibernated != null;
+    }
+
+    /**
+     * @return true once the table has stopped hosting its game
+     */
+    public boolean isClosed(){
+        return closed;
+    }
+
+    /**
+     * seats a client at the table
+     *
+     * @param session the client
+     * @param name the name the client plays under
+     */
+    public void join(ClientSession session, String name){
+        if(!claim(session)){
+            return;
+        }
+        boolean posted = request(session, new Runnable() {
+            @Override
+            public void run() {
+                if(!canSeat(session, name)){
+                    session.releaseTable(Table.this);
+                }else{
+                    game().addPlayer(name);
+                    numberOfPlayers++;
+                    sessions.add(session);
+                    session.setPlayerName(name);
+                    session.send("JOINED " + id + " " + name);
+                    broadcast("PLAYER " + name);
+                    recordChanges();
+                    sendSnapshot(session);
+                }
+            }
+        });
+        if(!posted){
+            session.releaseTable(this);
+        }
+    }
+
+    /**
+     * puts the client at this table before its request is posted, so a client that sends two requests to
+     * sit down before either has been carried out is only ever seated once
+     *
+     * @return false if the client was already at a table, the client has been told why
+     */
+    private boolean claim(ClientSession session){
+        if(session.claimTable(this)){
+            return true;
+        }
+        Table current = session.getTable();
+        session.send("ERROR already at table " + (current == null ? id : current.getId()));
+        return false;
+    }
+
+    /**
+     * seats a bot at the table, it plays its moves on the table's worker as soon as it is its turn
+     *
+     * @param session the client adding the bot
+     * @param name the name the bot plays under
+     */
+    public void addBot(ClientSession session, String name){
+        request(session, new Runnable() {
+            @Override
+            public void run() {
+                if(!sessions.contains(session)){
+                    session.send("ERROR spectators can not add bots");
+                }else if(canSeat(session, name)){
+                    game().addPlayer(name);
+                    numberOfPlayers++;
+                    bots.put(name, new GreedyBot());
+                    broadcast("PLAYER " + name);
+                    recordChanges();
+                }
+            }
+        });
+    }
+
+    private boolean canSeat(ClientSession session, String name){
+        if(closed){
+            session.send("ERROR table " + id + " has closed");
+        }else if(started){
+            session.send("ERROR table " + id + " has already started");
+        }else if(numberOfPlayers >= MAX_PLAYERS){
+            session.send("ERROR table " + id + " is full");
+        }else if(name.length() > MAX_NAME_LENGTH){
+            session.send("ERROR names can be at most " + MAX_NAME_LENGTH + " characters");
+        }else if(game().getPlayerNames().contains(name)){
+            session.send("ERROR the name " + name + " is taken");
+        }else{
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * removes a client from the table, the player stays in the game
+     *
+     * @param session the client that left
+     */
+    public void leave(ClientSession session){
+        mailbox.put(new Runnable() {
+            @Override
+            public void run() {
+                if(sessions.remove(session)){
+                    broadcast("LEFT " + session.getPlayerName());
+                    if(sessions.isEmpty()){
+                        close();
+                    }
+                }
+                spectators.remove(session);
+                session.releaseTable(Table.this);
+            }
+        });
+    }
+
+    /**
+     * starts the game once enough players have joined
+     *
+     * @param session the client asking to start
+     */
+    public void start(ClientSession session){
+        request(session, new Runnable() {
+            @Override
+            public void run() {
+                if(!sessions.contains(session)){
+                    session.send("ERROR spectators can not start the game");
+                }else if(started){
+                    session.send("ERROR the game has already started");
+                }else if(numberOfPlayers < MIN_PLAYERS){
+                    session.send("ERROR at least " + MIN_PLAYERS + " players are needed");
+                }else{
+                    startGame();
+                }
+            }
+        });
+    }
+
+    /**
+     * seats a group of matched clients and starts the game in one request, so the game only starts once every seat
+     * is confirmed. Clients that can not be seated are told why followed by UNQUEUED, and if fewer than MIN_PLAYERS
+     * are left the match falls through, the rest are told UNQUEUED too and the table closes
+     *
+     * @param players the matched clients
+     * @param names the name each client plays under
+     */
+    public void seatMatch(List<ClientSession> players, List<String> names){
+        List<ClientSession> claimed = new ArrayList<>(players.size());
+        List<String> claimedNames = new ArrayList<>(players.size());
+        for(int i = 0; i < players.size(); i++){
+            if(claim(players.get(i))){
+                claimed.add(players.get(i));
+                claimedNames.add(names.get(i));
+            }else{
+                players.get(i).send("UNQUEUED");
+            }
+        }
+        mailbox.put(new Runnable() {
+            @Override
+            public void run() {
+                List<ClientSession> seated = new ArrayList<>(claimed.size());
+                List<String> seatedNames = new ArrayList<>(claimed.size());
+                for(int i = 0; i < claimed.size(); i++){
+                    ClientSession session = claimed.get(i);
+                    String name = claimedNames.get(i);
+                    boolean fits = canSeat(session, name);
+                    if(fits && seatedNames.contains(name)){
+                        session.send("ERROR the name " + name + " is taken");
+                        fits = false;
+                    }else if(fits && seatedNames.size() >= MAX_PLAYERS){
+                        session.send("ERROR table " + id + " is full");
+                        fits = false;
+                    }
+                    if(fits){
+                        seated.add(session);
+                        seatedNames.add(name);
+                    }else{
+                        session.releaseTable(Table.this);
+                        session.send("UNQUEUED");
+                    }
+                }
+                if(seated.size() < MIN_PLAYERS){
+                    for(ClientSession session : seated){
+                        session.releaseTable(Table.this);
+                        session.send("UNQUEUED");
+                    }
+                    close();
+                    return;
+                }
+                for(int i = 0; i < seated.size(); i++){
+                    ClientSession session = seated.get(i);
+                    String name = seatedNames.get(i);
+                    session.send("MATCHED " + id + " " + seated.size());
+                    game().addPlayer(name);
+                    numberOfPlayers++;
+                    sessions.add(session);
+                    session.setPlayerName(name);
+                    session.send("JOINED " + id + " " + name);
+                    broadcast("PLAYER " + name);
+                }
+                recordChanges();
+                for(ClientSession session : seated){
+                    sendSnapshot(session);
+                }
+                startGame();
+            }
+        });
+    }
+
+    /**
+     * sends a client the moves the acting player can make
+     *
+     * @param session the client asking
+     */
+    public void listMoves(ClientSession session){
+        request(session, new Runnable() {
+            @Override
+            public void run() {
+                if(!started || game().isGameOver()){
+                    session.send("ERROR the game is not being played");
+                    return;
+                }
+                int count = game().generateMoves(moves);
+                session.sendMoves(game().getActingPlayerName(), moves, count);
+            }
+        });
+    }
+
+    /**
+     * makes a move for the client if it is their turn to act
+     *
+     * @param session the client making the move
+     * @param move an encoded move, see Move
+     */
+    public void move(ClientSession session, int move){
+        request(session, new Runnable() {
+            @Override
+            public void run() {
+                if(!started || game().isGameOver()){
+                    session.send("ERROR the game is not being played");
+                }else if(!sessions.contains(session)){
+                    session.send("ERROR spectators can not move");
+                }else if(!Objects.equals(session.getPlayerName(), game().getActingPlayerName())){
+                    session.send("ERROR it is " + game().getActingPlayerName() + "'s turn");
+                }else if(!game().isLegalMove(move)){
+                    session.send("ERROR illegal move " + move);
+                }else{
+                    play(session.getPlayerName(), move);
+                }
+            }
+        });
+    }
+
+    /**
+     * applies a legal move and tells everyone at the table, only called from the mailbox
+     */
+    private void play(String player, int move){
+        stopClock(player);
+        game().applyMove(move);
+        recordChanges();
+        for(ClientSession seated : sessions){
+            seated.sendMoved(player, move);
+        }
+        if(game().isGameOver()){
+            broadcast("GAME_OVER " + game().getWinner());
+            close();
+        }else{
+            nextTurn();
+        }
+    }
+
+    /**
+     * tells everyone whose turn it is, then lets a bot move or starts the player's clock
+     */
+    private void nextTurn(){
+        String acting = game().getActingPlayerName();
+        broadcast("TURN " + acting);
+        if(bots.containsKey(acting)){
+            moveBotIfActing();
+        }else{
+            startClock(acting);
+        }
+    }
+
+    private void startClock(String player){
+        int allowed = turnMillis + timeBanks.getOrDefault(player, timeBankMillis);
+        int started = ++clock;
+        turnStartedAt = System.nanoTime();
+        broadcast("CLOCK " + player + " " + allowed);
+        turnTimeout = timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                mailbox.put(new Runnable() {
+                    @Override
+                    public void run() {
+                        if(clock == started){
+                            timedOut(player);
+                        }
+                    }
+                });
+            }
+        }, allowed);
+    }
+
+    /**
+     * stops the acting player's clock, taking any time over the turn time out of their bank
+     */
+    private void stopClock(String player){
+        clock++;
+        if(turnTimeout == null){
+            return;
+        }
+        turnTimeout.cancel();
+        turnTimeout = null;
+        int over = (int) ((System.nanoTime() - turnStartedAt) / 1000000) - turnMillis;
+        if(over > 0){
+            timeBanks.put(player, Math.max(0, timeBanks.getOrDefault(player, timeBankMillis) - over));
+        }
+    }
+
+    /**
+     * the player ran out of time, their bank is empty and a bot makes the move for them
+     */
+    private void timedOut(String player){
+        turnTimeout = null;
+        timeBanks.put(player, 0);
+        broadcast("TIMEOUT " + player);
+        play(player, chooseMove(standIn));
+    }
+
+    /**
+     * posts the acting player's move if they are a bot. During a merger the game can not be copied for the
+     * bot to look at, so bots hold their stock in the acquired chain.
+     */
+    private void moveBotIfActing(){
+        String acting = game().getActingPlayerName();
+        Bot bot = bots.get(acting);
+        if(bot == null){
+            return;
+        }
+        mailbox.put(new Runnable() {
+            @Override
+            public void run() {
+                play(acting, chooseMove(bot));
+            }
+        });
+    }
+
+    private int chooseMove(Bot bot){
+        if(game().getUIState() == GameState.MERGING){
+            // holding is always legal and leaves the player's stock as it was, a stand in for a player who ran
+            // out of time should not sell or trade it away for them
+            return Move.HOLD_STOCK;
+        }
+        int count = game().generateMoves(moves);
+        return bot.decide(GameState.fromGame(game(), random.nextLong()), moves, count);
+    }
+
+    /**
+     * sends a client a summary of the game: the phase, the acting player, and each player's balance
+     *
+     * @param session the client asking
+     */
+    public void describe(ClientSession session){
+        request(session, new Runnable() {
+            @Override
+            public void run() {
+                StringBuilder line = new StringBuilder("STATE ").append(id)
+                        .append(' ').append(started ? game().getUIState() : NOT_STARTED)
+                        .append(' ').append(started ? game().getActingPlayerName() : "-");
+                List<String> names = game().getPlayerNames();
+                List<Integer> balances = game().getPlayerBalances();
+                for(int i = 0; i < names.size(); i++){
+                    line.append(' ').append(names.get(i)).append(':').append(balances.get(i));
+                }
+                session.send(line.toString());
+            }
+        });
+    }
+
+    /**
+     * lets a client follow the game without playing in it
+     *
+     * @param session the client
+     */
+    public void watch(ClientSession session){
+        if(!claim(session)){
+            return;
+        }
+        boolean posted = request(session, new Runnable() {
+            @Override
+            public void run() {
+                if(closed){
+                    session.send("ERROR table " + id + " has closed");
+                    session.releaseTable(Table.this);
+                    return;
+                }
+                game();
+                spectators.put(session, newCursor(session));
+                session.send("WATCHING " + id);
+                sendSnapshot(session);
+            }
+        });
+        if(!posted){
+            session.releaseTable(this);
+        }
+    }
+
+    /**
+     * @return a cursor into the feed that sends the spectator a snapshot whenever it falls too far behind
+     */
+    private SpectatorFeed.Cursor newCursor(ClientSession session){
+        return feed.newCursor(new Runnable() {
+            @Override
+            public void run() {
+                mailbox.put(new Runnable() {
+                    @Override
+                    public void run() {
+                        sendSnapshot(session);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * sends a client the whole game again, for a client that has lost track of it
+     *
+     * @param session the client
+     */
+    public void resync(ClientSession session){
+        request(session, new Runnable() {
+            @Override
+            public void run() {
+                sendSnapshot(session);
+            }
+        });
+    }
+
+    /**
+     * posts a client's request, telling the client if the table is too busy to take it
+     *
+     * @return false if the request was turned away
+     */
+    /**
+     * deals the opening tiles and starts the first player's clock. Only called from the mailbox
+     */
+    private void startGame(){
+        game().startGame();
+        started = true;
+        broadcast("STARTED " + String.join(" ", game().getPlayerNames()));
+        recordChanges();
+        nextTurn();
+    }
+
+    private boolean request(ClientSession session, Runnable request){
+        if(!mailbox.offer(request)){
+            session.send("ERROR table " + id + " is busy");
+            return false;
+        }
+        return true;
+    }
+
+    public Mailbox getMailbox(){
+        return mailbox;
+    }
+
+    /**
+     * the game, brought back first if the table is hibernating. Only called from the mailbox
+     */
+    private Game game(){
+        if(game == null){
+            game = GameCodec.decode(hibernated.duplicate());
+            hibernated = null;
+            wake();
+            scheduleIdleCheck(idleMillis);
+        }
+        lastActive = System.nanoTime();
+        return game;
+    }
+
+    private void scheduleIdleCheck(long delayMillis){
+        timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                mailbox.put(new Runnable() {
+                    @Override
+                    public void run() {
+                        checkIdle();
+                    }
+                });
+            }
+        }, delayMillis);
+    }
+
+    /**
+     * hibernates the table if nothing has used the game for idleMillis, otherwise checks again when it could next be idle
+     */
+    private void checkIdle(){
+        if(game == null || closed){
+            return;
+        }
+        long idle = (System.nanoTime() - lastActive) / 1000000;
+        if(idle < idleMillis){
+            scheduleIdleCheck(idleMillis - idle);
+        }else if(sessions.isEmpty()){
+            // nobody has sat down since the table was created, so nobody is coming back to it
+            close();
+        }else if(game.getUIState() == GameState.MERGING || game.mergeNeeded()){
+            // a game can not be stored mid merger, a merger is over in a few moves anyway
+            scheduleIdleCheck(idleMillis);
+        }else if(tickScheduled){
+            scheduleIdleCheck(TICK_MILLIS);
+        }else{
+            hibernate();
+        }
+    }
+
+    /**
+     * stores the game off the heap and drops everything that can be rebuilt from it, only called from the mailbox
+     */
+    private void hibernate(){
+        byte[] stored = GameCodec.encode(game);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(stored.length);
+        buffer.put(stored).flip();
+        hibernated = buffer;
+        game = null;
+
+        hibernatedSeats = tracker.getSeats();
+        tracker = null;
+        pending = null;
+        snapshot = null;
+        feed = null;
+        for(Map.Entry<ClientSession, SpectatorFeed.Cursor> spectator : spectators.entrySet()){
+            spectator.setValue(null);
+            spectator.getKey().feedUpdated(null);
+        }
+    }
+
+    /**
+     * rebuilds the change tracking and spectator feed for the game that was just brought back. Every client already
+     * has the game as it was stored, so the tracker keeps its seats and starts from the game without reporting it
+     */
+    private void wake(){
+        tracker = new DeltaTracker(hibernatedSeats);
+        hibernatedSeats = null;
+        pending = new DeltaBatch();
+        tracker.diff(game, pending);
+        pending.clear();
+        feed = new SpectatorFeed();
+        for(Map.Entry<ClientSession, SpectatorFeed.Cursor> spectator : spectators.entrySet()){
+            spectator.setValue(newCursor(spectator.getKey()));
+            spectator.getKey().feedUpdated(spectator.getValue());
+        }
+    }
+
+    /**
+     * stops hosting the table: the clock stops, everyone at the table is free to join another one, and the
+     * registry drops it. Only called from the mailbox
+     */
+    private void close(){
+        if(closed){
+            return;
+        }
+        closed = true;
+        clock++;
+        if(turnTimeout != null){
+            turnTimeout.cancel();
+            turnTimeout = null;
+        }
+        for(ClientSession session : sessions){
+            session.releaseTable(this);
+        }
+        for(ClientSession spectator : spectators.keySet()){
+            spectator.releaseTable(this);
+        }
+        onClosed.run();
+    }
+
+    private void broadcast(String line){
+        for(ClientSession session : sessions){
+            session.send(line);
+        }
+    }
+
+    /**
+     * sends a client the whole game, a spectator then carries on from the newest update in the feed
+     */
+    private void sendSnapshot(ClientSession session){
+        game();
+        if(snapshot == null){
+            DeltaBatch deltas = new DeltaBatch();
+            tracker.snapshot(deltas);
+            snapshot = SharedFrame.snapshot(tracker.getSeats(), deltas.getDeltas(), deltas.size());
+        }
+        session.sendFrame(snapshot);
+
+        SpectatorFeed.Cursor cursor = spectators.get(session);
+        if(cursor != null){
+            cursor.reset();
+        }
+    }
+
+    /**
+     * collects what the last request changed and schedules sending it with the next tick
+     */
+    private void recordChanges(){
+        Game current = game();
+        int before = pending.size();
+        tracker.diff(current, pending);
+        if(pending.size() != before){
+            snapshot = null;
+        }
+        if(!pending.isEmpty() && !tickScheduled){
+            tickScheduled = true;
+            shard.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    mailbox.put(new Runnable() {
+                        @Override
+                        public void run() {
+                            sendChanges();
+                        }
+                    });
+                }
+            }, TICK_MILLIS);
+        }
+    }
+
+    private void sendChanges(){
+        tickScheduled = false;
+        SharedFrame frame = SharedFrame.deltas(pending.getDeltas(), pending.size());
+        pending.clear();
+
+        for(ClientSession session : sessions){
+            session.sendFrame(frame);
+        }
+        feed.publish(frame);
+        for(Map.Entry<ClientSession, SpectatorFeed.Cursor> spectator : spectators.entrySet()){
+            spectator.getKey().feedUpdated(spectator.getValue());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * keeps track of every table the server is hosting. A table is dropped once it closes, and each client can only have
+ * a few tables it created open at once
+ *
+ * @since 1.1.0
+ */
+
+package Server;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TableRegistry {
+
+    public static final int MAX_TABLES_PER_CLIENT = 4;
+
+    private final Map<Integer, Table> tables = new ConcurrentHashMap<>();
+    // the number of open tables each client created, guarded by itself
+    private final Map<ClientSession, Integer> created = new HashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    private final ShardedScheduler scheduler;
+    private final HashedWheelTimer timer;
+    private final int turnMillis;
+    private final int timeBankMillis;
+    private final int idleMillis;
+
+    /**
+     * @param scheduler the workers the tables run on
+     * @param timer the timer the players' clocks run on
+     */
+    public TableRegistry(ShardedScheduler scheduler, HashedWheelTimer timer){
+        this(scheduler, timer, Table.TURN_MILLIS, Table.TIME_BANK_MILLIS, Table.IDLE_MILLIS);
+    }
+
+    /**
+     * @param scheduler the workers the tables run on
+     * @param timer the timer the players' clocks run on
+     * @param turnMillis the time a player has for each decision before their time bank is used
+     * @param timeBankMillis the extra time each player has for the whole game
+     * @param idleMillis how long a table waits without any requests before it hibernates
+     */
+    public TableRegistry(ShardedScheduler scheduler, HashedWheelTimer timer, int turnMillis, int timeBankMillis,
+                         int idleMillis){
+        this.scheduler = scheduler;
+        this.timer = timer;
+        this.turnMillis = turnMillis;
+        this.timeBankMillis = timeBankMillis;
+        this.idleMillis = idleMillis;
+    }
+
+    /**
+     * @return a new empty table
+     */
+    public Table createTable(){
+        return createTable(null);
+    }
+
+    /**
+     * @param creator the client asking for the table, or null for a table the server sets up itself
+     * @return a new empty table, or null if the client already has MAX_TABLES_PER_CLIENT open tables
+     */
+    public Table createTable(ClientSession creator){
+        if(creator != null){
+            synchronized(created){
+                int open = created.getOrDefault(creator, 0);
+                if(open >= MAX_TABLES_PER_CLIENT){
+                    return null;
+                }
+                created.put(creator, open + 1);
+            }
+        }
+        int id = nextId.getAndIncrement();
+        Table table = new Table(id, scheduler.getShard(id), timer, turnMillis, timeBankMillis, idleMillis,
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        removeTable(id);
+                        if(creator != null){
+                            synchronized(created){
+                                created.computeIfPresent(creator, (client, open) -> open > 1 ? open - 1 : null);
+                            }
+                        }
+                    }
+                });
+        tables.put(table.getId(), table);
+        return table;
+    }
+
+    /**
+     * @param id the id of a table
+     * @return the table or null if there is no table with the id
+     */
+    public Table getTable(int id){
+        return tables.get(id);
+    }
+
+    /**
+     * @param id the id of the table to stop hosting
+     */
+    public void removeTable(int id){
+        tables.remove(id);
+    }
+
+    public int getNumberOfTables(){
+        return tables.size();
+    }
+
+    /**
+     * @return the number of tables whose game is stored off the heap
+     */
+    public int getNumberOfHibernating(){
+        int hibernating = 0;
+        for(Table table : tables.values()){
+            if(table.isHibernating()){
+                hibernating++;
+            }
+        }
+        return hibernating;
+    }
+
+    /**
+     * @return every table, in no particular order
+     */
+    public List<Table> getTables(){
+        return new ArrayList<>(tables.values());
+    }
+}
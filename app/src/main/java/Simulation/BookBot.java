@@ -0,0 +1,67 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * plays moves from an opening book while the book has a trusted move for the position and lets another bot
+ * decide once the game leaves the book
+ *
+ * @since 1.1.0
+ */
+
+package Simulation;
+
+import AcquireProject.GameState;
+
+public class BookBot implements Bot {
+
+    private final OpeningBook book;
+    private final Bot fallback;
+    private final int minGames;
+
+    /**
+     * @param book the book shared by every bot, load it once at startup
+     * @param fallback the bot that decides moves the book does not cover
+     * @param minGames the number of games a book move needs to have been played in to be trusted
+     */
+    public BookBot(OpeningBook book, Bot fallback, int minGames){
+        this.book = book;
+        this.fallback = fallback;
+        this.minGames = minGames;
+    }
+
+    @Override
+    public String getName() {
+        return fallback.getName() + "+Book";
+    }
+
+    @Override
+    public int chooseMove(GameState state, int[] moves, int count) {
+        if(count > 1){
+            int move = book.findMove(state, moves, count, minGames);
+            if(move >= 0){
+                return move;
+            }
+        }
+        return fallback.chooseMove(state, moves, count);
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ * a strategy that picks moves for a player so games can be played without the user interface
+ *
+ * @since 1.1.0
+ */
+
+package Simulation;
+
+import AcquireProject.GameEvents;
+import AcquireProject.GameState;
+
+public interface Bot {
+
+    /**
+     * @return the name the bot is entered into tournaments under
+     */
+    String getName();
+
+    /**
+     * picks the next move for the player who has to act, see MoveGenerator.getActingSeat
+     *
+     * @param state the state of the game
+     * @param moves the legal moves, only the first count entries are valid
+     * @param count the number of legal moves, always at least one
+     *
+     * @return one of the legal moves
+     */
+    int chooseMove(GameState state, int[] moves, int count);
+
+    /**
+     * picks the next move through chooseMove and reports the decision to Flight Recorder when a recording is
+     * running. Games use this, rollouts inside a bot call chooseMove directly so they do not flood the recording
+     *
+     * @param state the state of the game
+     * @param moves the legal moves, only the first count entries are valid
+     * @param count the number of legal moves, always at least one
+     *
+     * @return one of the legal moves
+     */
+    default int decide(GameState state, int[] moves, int count){
+        GameEvents.BotDecision event = new GameEvents.BotDecision();
+        event.begin();
+
+        int move = chooseMove(state, moves, count);
+
+        if(event.shouldCommit()){
+            event.set(getName(), count, move);
+            event.capture(state);
+            event.commit();
+        }
+        return move;
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * rates bots on the Elo scale from the results of simulated games.
+ * every game is split into head to head results between each pair of seats, the ratings are the maximum likelihood
+ * Bradley-Terry strengths for those results so they do not depend on the order games finished in, and the
+ * confidence intervals come from re-rating resampled sets of games
+ *
+ * @since 1.1.0
+ */
+
+package Simulation;
+
+import lombok.Getter;
+
+import java.util.*;
+
+public class EloRatings {
+
+    private static final double BASE_RATING = 1500;
+    private static final int ITERATIONS = 200;
+    private static final double CONFIDENCE = 0.95;
+
+    private final List<String> names = new ArrayList<>();
+    private final List<GameResult> games = new ArrayList<>();
+
+    /**
+     * adds the result of a game to be rated, entrants are added the first time they are seen
+     *
+     * @param result the result of a finished game
+     */
+    public void addGame(GameResult result){
+        for(int seat = 0; seat < result.getNumberOfSeats(); seat++){
+            if(!names.contains(result.getName(seat))){
+                names.add(result.getName(seat));
+            }
+        }
+        games.add(result);
+    }
+
+    /**
+     * @return the number of games that have been added
+     */
+    public int getNumberOfGames(){
+        return games.size();
+    }
+
+    /**
+     * rates every entrant with a confidence interval
+     *
+     * @param resamples the number of resampled sets of games used for the confidence interval
+     * @param seed the seed for resampling
+     *
+     * @return the ratings from highest to lowest
+     */
+    public List<Rating> getRatings(int resamples, long seed){
+        double[] ratings = rate(games);
+
+        double[][] sampledRatings = new double[names.size()][resamples];
+        Random random = new Random(seed);
+        List<GameResult> sample = new ArrayList<>(games.size());
+        for(int r = 0; r < resamples; r++){
+            sample.clear();
+            for(int i = 0; i < games.size(); i++){
+                sample.add(games.get(random.nextInt(games.size())));
+            }
+            double[] sampled = rate(sample);
+            for(int i = 0; i < names.size(); i++){
+                sampledRatings[i][r] = sampled[i];
+            }
+        }
+
+        List<Rating> result = new ArrayList<>();
+        for(int i = 0; i < names.size(); i++){
+            double lower = ratings[i];
+            double upper = ratings[i];
+            if(resamples > 0){
+                Arrays.sort(sampledRatings[i]);
+                lower = sampledRatings[i][(int) Math.floor((1 - CONFIDENCE) / 2 * (resamples - 1))];
+                upper = sampledRatings[i][(int) Math.ceil((1 + CONFIDENCE) / 2 * (resamples - 1))];
+            }
+            result.add(new Rating(names.get(i), ratings[i], lower, upper, countGames(i)));
+        }
+
+        result.sort(Comparator.comparingDouble(Rating::getElo).reversed());
+        return result;
+    }
+
+    /**
+     * rates every entrant from the given games
+     *
+     * @return the current rating of each entrant in the order they were added
+     */
+    public Map<String, Double> getCurrentRatings(){
+        double[] ratings = rate(games);
+        Map<String, Double> current = new LinkedHashMap<>();
+        for(int i = 0; i < names.size(); i++){
+            current.put(names.get(i), ratings[i]);
+        }
+        return current;
+    }
+
+    /**
+     * fits Bradley-Terry strengths with the minorization-maximization updates and converts them to Elo ratings.
+     * every entrant also gets one virtual draw against an average opponent so an entrant that never lost
+     * still has a finite rating
+     */
+    private double[] rate(List<GameResult> sample){
+        int n = names.size();
+        double[] wins = new double[n];
+        double[][] played = new double[n][n];
+
+        for(GameResult game : sample){
+            for(int a = 0; a < game.getNumberOfSeats(); a++){
+                for(int b = a + 1; b < game.getNumberOfSeats(); b++){
+                    int i = names.indexOf(game.getName(a));
+                    int j = names.indexOf(game.getName(b));
+                    if(i == j){
+                        continue;
+                    }
+                    wins[i] += game.getScore(a, b);
+                    wins[j] += game.getScore(b, a);
+                    played[i][j]++;
+                    played[j][i]++;
+                }
+            }
+        }
+
+        double[] strength = new double[n];
+        Arrays.fill(strength, 1);
+        double[] next = new double[n];
+        for(int iteration = 0; iteration < ITERATIONS; iteration++){
+            for(int i = 0; i < n; i++){
+                double denominator = 1 / (strength[i] + 1);
+                for(int j = 0; j < n; j++){
+                    if(played[i][j] > 0){
+                        denominator += played[i][j] / (strength[i] + strength[j]);
+                    }
+                }
+                next[i] = (wins[i] + 0.5) / denominator;
+            }
+            System.arraycopy(next, 0, strength, 0, n);
+        }
+
+        double[] ratings = new double[n];
+        double mean = 0;
+        for(int i = 0; i < n; i++){
+            ratings[i] = 400 * Math.log10(strength[i]);
+            mean += ratings[i] / n;
+        }
+        for(int i = 0; i < n; i++){
+            ratings[i] += BASE_RATING - mean;
+        }
+        return ratings;
+    }
+
+    private int countGames(int entrant){
+        int count = 0;
+        for(GameResult game : games){
+            for(int seat = 0; seat < game.getNumberOfSeats(); seat++){
+                if(game.getName(seat).equals(names.get(entrant))){
+                    count++;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * the rating of one entrant
+     */
+    public static class Rating {
+        @Getter private final String name;
+        @Getter private final double elo;
+        @Getter private final double lower;
+        @Getter private final double upper;
+        @Getter private final int games;
+
+        Rating(String name, double elo, double lower, double upper, int games){
+            this.name = name;
+            this.elo = elo;
+            this.lower = lower;
+            this.upper = upper;
+            this.games = games;
+        }
+
+        @Override
+        public String toString(){
+            return String.format("%-12s %6.0f  [%6.0f, %6.0f]  %d games", name, elo, lower, upper, games);
+        }
+    }
+}
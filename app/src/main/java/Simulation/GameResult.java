@@ -0,0 +1,108 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * the outcome of one simulated game, listed by seat
+ *
+ * @since 1.1.0
+ */
+
+package Simulation;
+
+import lombok.Getter;
+
+public class GameResult {
+
+    @Getter private final long seed;
+    @Getter private final int turns;
+    // false if the game was stopped at the turn limit, the balances are then from before the end of game payout
+    @Getter private final boolean finished;
+    private final String[] names;
+    private final int[] balances;
+
+    /**
+     * @param seed the seed the game's tiles were dealt with
+     * @param turns the number of turns that were played
+     * @param names the name of the bot in each seat
+     * @param balances the final balance of each seat
+     */
+    public GameResult(long seed, int turns, String[] names, int[] balances){
+        this(seed, turns, true, names, balances);
+    }
+
+    /**
+     * @param seed the seed the game's tiles were dealt with
+     * @param turns the number of turns that were played
+     * @param finished false if the game was stopped before it ended
+     * @param names the name of the bot in each seat
+     * @param balances the balance of each seat when the game stopped
+     */
+    public GameResult(long seed, int turns, boolean finished, String[] names, int[] balances){
+        this.seed = seed;
+        this.turns = turns;
+        this.finished = finished;
+        this.names = names;
+        this.balances = balances;
+    }
+
+    /**
+     * @return the number of players in the game
+     */
+    public int getNumberOfSeats(){
+        return names.length;
+    }
+
+    /**
+     * @param seat the seat in turn order
+     * @return the name of the bot that played in the seat
+     */
+    public String getName(int seat){
+        return names[seat];
+    }
+
+    /**
+     * @param seat the seat in turn order
+     * @return the balance the seat finished the game with
+     */
+    public int getBalance(int seat){
+        return balances[seat];
+    }
+
+    /**
+     * compares two seats the way a rating system scores a head to head result
+     *
+     * @param seat the seat being scored
+     * @param opponent the seat it is compared against
+     *
+     * @return 1 if seat finished with more cash, 0.5 for a tie, and 0 if it finished with less
+     */
+    public double getScore(int seat, int opponent){
+        if(balances[seat] > balances[opponent]){
+            return 1;
+        }
+        if(balances[seat] == balances[opponent]){
+            return 0.5;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * a bot that grows the chains it owns the most stock in and keeps buying into them while it can afford to
+ *
+ * @since 1.1.0
+ */
+
+package Simulation;
+
+import AcquireProject.GameState;
+import AcquireProject.Move;
+import AcquireProject.MoveGenerator;
+
+public class GreedyBot implements Bot {
+
+    private static final int CASH_RESERVE = 1000;
+
+    @Override
+    public String getName() {
+        return "Greedy";
+    }
+
+    @Override
+    public int chooseMove(GameState state, int[] moves, int count) {
+        int seat = MoveGenerator.getActingSeat(state);
+        int best = moves[0];
+        int bestScore = Integer.MIN_VALUE;
+        for(int i = 0; i < count; i++){
+            int score = score(state, seat, moves[i]);
+            if(score > bestScore){
+                bestScore = score;
+                best = moves[i];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * grows the chains the player owns the most stock in, founds the most expensive chains, sells when merging,
+     * buys into chains that can still be acquired while it has cash to spare, and only ends the game while it is
+     * in the lead
+     */
+    private int score(GameState state, int seat, int move){
+        int chain = Move.getArgument(move);
+        switch(Move.getType(move)){
+            case Move.TYPE_PLACE_TILE:
+                return scorePlacement(state, seat, Move.getArgument(move));
+            case Move.TYPE_FOUND_CHAIN:
+                return state.getStockPrice(chain);
+            case Move.TYPE_SELL_STOCK:
+                return 3;
+            case Move.TYPE_TRADE_STOCK:
+                return 2;
+            case Move.TYPE_HOLD_STOCK:
+                return 1;
+            case Move.TYPE_BUY_STOCK:
+                if(state.getBalance(seat) - state.getStockPrice(chain) < CASH_RESERVE){
+                    return -1;
+                }
+                if(state.getChainSize(chain) >= GameState.SAFE_SIZE){
+                    return 0;
+                }
+                return 1 + state.getHoldings(seat, chain);
+            case Move.TYPE_END_GAME:
+                return state.getLeader() == seat ? 1 : -1;
+            default:
+                return 0;
+        }
+    }
+
+    private int scorePlacement(GameState state, int seat, int cell){
+        int x = cell / GameState.BOARD_HEIGHT;
+        int y = cell % GameState.BOARD_HEIGHT;
+        return scoreNeighbor(state, seat, x + 1, y) + scoreNeighbor(state, seat, x - 1, y)
+                + scoreNeighbor(state, seat, x, y + 1) + scoreNeighbor(state, seat, x, y - 1);
+    }
+
+    private int scoreNeighbor(GameState state, int seat, int x, int y){
+        if(x < 0 || y < 0 || x >= GameState.BOARD_WIDTH || y >= GameState.BOARD_HEIGHT){
+            return 0;
+        }
+        int cell = x * GameState.BOARD_HEIGHT + y;
+        if(!state.isOccupied(cell)){
+            return 0;
+        }
+        int chain = state.getChainAt(cell);
+        if(chain == GameState.NO_CHAIN){
+            return 2;
+        }
+        return state.getHoldings(seat, chain);
+    }
+}
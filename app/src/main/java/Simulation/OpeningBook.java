@@ -0,0 +1,192 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * a read-only table of the moves that scored best from positions early in the game, looked up by canonical
+ * position hash. The book is a file of fixed size entries sorted by hash that is memory mapped when loaded,
+ * so bots share one copy through the page cache and looking up a move is a binary search with no parsing.
+ *
+ * the file starts with a magic number, a version and the number of entries, then each entry is
+ * the position hash, the move, the number of games and the total score of those games
+ *
+ * @since 1.1.0
+ */
+
+package Simulation;
+
+import AcquireProject.GameState;
+import AcquireProject.PositionHash;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class OpeningBook {
+
+    private static final int MAGIC = 0x41435142;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+    private static final int ENTRY_BYTES = 20;
+
+    private final ByteBuffer entries;
+    private final int numberOfEntries;
+
+    OpeningBook(ByteBuffer buffer) throws IOException {
+        if(buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION){
+            throw new IOException("Not an opening book, or a book from a different version");
+        }
+        int numberOfEntries = buffer.getInt(8);
+        if(numberOfEntries < 0 || buffer.capacity() != HEADER_BYTES + (long) numberOfEntries * ENTRY_BYTES){
+            throw new IOException("The opening book should hold " + numberOfEntries + " entries in "
+                    + (HEADER_BYTES + (long) numberOfEntries * ENTRY_BYTES) + " bytes but is " + buffer.capacity()
+                    + " bytes, it may have been cut short");
+        }
+        this.entries = buffer;
+        this.numberOfEntries = numberOfEntries;
+    }
+
+    /**
+     * memory maps a book written by OpeningBookBuilder
+     *
+     * @param path the book file
+     *
+     * @return the loaded book
+     *
+     * @throws IOException if the file can not be read, is not an opening book, or is not the size its header says
+     */
+    public static OpeningBook load(Path path) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+            return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * @return the number of position and move pairs in the book
+     */
+    public int getNumberOfEntries(){
+        return numberOfEntries;
+    }
+
+    /**
+     * finds the legal move with the best average score from the current position
+     *
+     * @param state the position
+     * @param moves the legal moves
+     * @param count the number of legal moves
+     * @param minGames the number of games a move needs to have been played in to be trusted
+     *
+     * @return the best book move, or -1 if the book has no trusted move for the position
+     */
+    public int findMove(GameState state, int[] moves, int count, int minGames){
+        int transform = PositionHash.canonicalTransform(state);
+        long hash = PositionHash.hash(state, transform);
+
+        int bestMove = -1;
+        double bestScore = -1;
+        for(int i = firstEntry(hash); i >= 0 && i < numberOfEntries && hashAt(i) == hash; i++){
+            int games = entries.getInt(offset(i) + 12);
+            if(games < minGames){
+                continue;
+            }
+            int move = PositionHash.transformMove(entries.getInt(offset(i) + 8), transform);
+            double score = entries.getFloat(offset(i) + 16) / games;
+            if(score > bestScore && isLegal(move, moves, count)){
+                bestScore = score;
+                bestMove = move;
+            }
+        }
+        return bestMove;
+    }
+
+    private boolean isLegal(int move, int[] moves, int count){
+        for(int i = 0; i < count; i++){
+            if(moves[i] == move){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the index of the first entry for the hash, or -1 if the hash is not in the book
+     */
+    private int firstEntry(long hash){
+        int low = 0;
+        int high = numberOfEntries - 1;
+        int found = -1;
+        while(low <= high){
+            int middle = (low + high) >>> 1;
+            long middleHash = hashAt(middle);
+            if(middleHash < hash){
+                low = middle + 1;
+            }else{
+                if(middleHash == hash){
+                    found = middle;
+                }
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    private long hashAt(int index){
+        return entries.getLong(offset(index));
+    }
+
+    private static int offset(int index){
+        return HEADER_BYTES + index * ENTRY_BYTES;
+    }
+
+    /**
+     * writes entries into a book file, sorted so they can be binary searched
+     *
+     * @param path the file to write
+     * @param bookEntries the entries to write
+     *
+     * @throws IOException if the file can not be written
+     */
+    static void write(Path path, List<BookEntry> bookEntries) throws IOException {
+        List<BookEntry> sorted = new ArrayList<>(bookEntries);
+        sorted.sort(Comparator.comparingLong((BookEntry e) -> e.hash).thenComparingInt(e -> e.move));
+
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))){
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(sorted.size());
+            for(BookEntry entry : sorted){
+                out.writeLong(entry.hash);
+                out.writeInt(entry.move);
+                out.writeInt(entry.games);
+                out.writeFloat((float) entry.score);
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * builds an opening book offline from self-play. The opening turns of each game are played with random moves
+ * so every reasonable opening gets tried, the rest of the game is played out by greedy bots, and every opening decision
+ * is credited with how well the player who made it finished. Games are split between worker threads that each keep
+ * their own tallies, which are merged once the workers finish
+ *
+ * @since 1.1.0
+ */
+
+package Simulation;
+
+import AcquireProject.GameState;
+import AcquireProject.MoveGenerator;
+import AcquireProject.PositionHash;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class OpeningBookBuilder {
+
+    private static final int MAX_TURNS = 1000;
+
+    private final int players;
+    private final int turns;
+    private final Map<Long, List<BookEntry>> positions = new HashMap<>();
+
+    /**
+     * @param players the number of players in every game
+     * @param turns the number of turns from the start of the game that are recorded
+     */
+    public OpeningBookBuilder(int players, int turns){
+        this.players = players;
+        this.turns = turns;
+    }
+
+    /**
+     * plays games and adds their results to the book
+     *
+     * @param games the number of games to play
+     * @param seed the seed the deals are derived from
+     * @param threads the number of worker threads
+     */
+    public void playGames(int games, long seed, int threads) throws InterruptedException {
+        List<Callable<Map<Long, List<BookEntry>>>> workers = new ArrayList<>();
+        for(int worker = 0; worker < threads; worker++){
+            int first = (int) ((long) games * worker / threads);
+            int last = (int) ((long) games * (worker + 1) / threads);
+            workers.add(new Callable<Map<Long, List<BookEntry>>>() {
+                @Override
+                public Map<Long, List<BookEntry>> call() {
+                    Map<Long, List<BookEntry>> tallies = new HashMap<>();
+                    for(int game = first; game < last; game++){
+                        playGame(seed + game, tallies);
+                    }
+                    return tallies;
+                }
+            });
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try{
+            for(Future<Map<Long, List<BookEntry>>> tallies : pool.invokeAll(workers)){
+                for(List<BookEntry> entries : tallies.get().values()){
+                    for(BookEntry entry : entries){
+                        add(positions, entry.hash, entry.move, entry.games, entry.score);
+                    }
+                }
+            }
+        }catch(ExecutionException e){
+            throw new IllegalStateException("A self-play game failed", e.getCause());
+        }finally{
+            pool.shutdown();
+        }
+    }
+
+    private void playGame(long seed, Map<Long, List<BookEntry>> tallies){
+        Random random = new Random(seed);
+        Bot greedy = new GreedyBot();
+        GameState state = GameState.newGame(players, seed);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+
+        List<long[]> decisions = new ArrayList<>();
+        while(!state.isGameOver() && state.getTurn() < MAX_TURNS){
+            int count = MoveGenerator.generate(state, moves);
+            int move;
+            if(state.getTurn() < turns){
+                move = moves[random.nextInt(count)];
+                if(count > 1){
+                    int transform = PositionHash.canonicalTransform(state);
+                    decisions.add(new long[]{PositionHash.hash(state, transform),
+                            PositionHash.transformMove(move, transform), MoveGenerator.getActingSeat(state)});
+                }
+            }else{
+                move = greedy.chooseMove(state, moves, count);
+            }
+            state = state.apply(move);
+        }
+        if(!state.isGameOver()){
+            // the bots stopped making progress, so the game says nothing about how good its openings were
+            return;
+        }
+
+        for(long[] decision : decisions){
+            add(tallies, decision[0], (int) decision[1], 1, score(state, (int) decision[2]));
+        }
+    }
+
+    /**
+     * @return 1 for finishing first, 0 for finishing last, and evenly spaced scores in between with ties split
+     */
+    static double score(GameState state, int seat){
+        if(state.getNumberOfPlayers() < 2){
+            return 1;
+        }
+        double beaten = 0;
+        for(int other = 0; other < state.getNumberOfPlayers(); other++){
+            if(other == seat){
+                continue;
+            }
+            if(state.getBalance(seat) > state.getBalance(other)){
+                beaten++;
+            }else if(state.getBalance(seat) == state.getBalance(other)){
+                beaten += 0.5;
+            }
+        }
+        return beaten / (state.getNumberOfPlayers() - 1);
+    }
+
+    private static void add(Map<Long, List<BookEntry>> tallies, long hash, int move, int games, double score){
+        List<BookEntry> entries = tallies.computeIfAbsent(hash, h -> new ArrayList<>(2));
+        for(BookEntry entry : entries){
+            if(entry.move == move){
+                entry.games += games;
+                entry.score += score;
+                return;
+            }
+        }
+        BookEntry entry = new BookEntry(hash, move);
+        entry.games = games;
+        entry.score = score;
+        entries.add(entry);
+    }
+
+    /**
+     * writes the moves that were played in at least minGames games to a book file
+     *
+     * @param path the book file
+     * @param minGames the number of games a move needs to have been played in to be written
+     *
+     * @return the number of entries written
+     */
+    public int write(Path path, int minGames) throws IOException {
+        List<BookEntry> kept = new ArrayList<>();
+        for(List<BookEntry> entries : positions.values()){
+            for(BookEntry entry : entries){
+                if(entry.games >= minGames){
+                    kept.add(entry);
+                }
+            }
+        }
+        OpeningBook.write(path, kept);
+        return kept.size();
+    }
+
+    /**
+     * builds a book file
+     *
+     * @param args the number of games, the number of players, the number of turns to record,
+     *             the number of threads, and the file to write
+     */
+    public static void main(String[] args) throws InterruptedException, IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int turns = args.length > 2 ? Integer.parseInt(args[2]) : players;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        Path path = Paths.get(args.length > 4 ? args[4] : "openingBook.bin");
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(players, turns);
+        long start = System.nanoTime();
+        builder.playGames(games, 1, threads);
+        int written = builder.write(path, 20);
+        long seconds = (System.nanoTime() - start) / 1_000_000_000L;
+
+        System.out.println(games + " games in " + seconds + "s, " + written + " book moves written to " + path);
+    }
+}
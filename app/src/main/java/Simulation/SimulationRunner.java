@@ -0,0 +1,118 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * plays a complete game between bots on a GameState, asking the bot of whichever player has to act for each move.
+ * the move buffer is reused for the whole game so a game allocates little more than the states it steps through
+ *
+ * @since 1.1.0
+ */
+
+package Simulation;
+
+import AcquireProject.GameRecord;
+import AcquireProject.GameState;
+import AcquireProject.MoveGenerator;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class SimulationRunner {
+
+    private static final int MAX_TURNS = 1000;
+
+    private final int maxTurns;
+
+    /**
+     * stops games that have not ended after MAX_TURNS turns
+     */
+    public SimulationRunner(){
+        this(MAX_TURNS);
+    }
+
+    /**
+     * @param maxTurns the turn a game is stopped at if it has not ended, the result is then marked as not finished
+     */
+    public SimulationRunner(int maxTurns){
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * plays one game to the end
+     *
+     * @param bots the bot in each seat, in turn order
+     * @param seed the seed the tiles are dealt with, so the same seed always deals the same tiles
+     *
+     * @return the final balance of each seat, a game stopped at the turn limit is marked as not finished
+     */
+    public GameResult run(List<Bot> bots, long seed){
+        GameState state = GameState.newGame(bots.size(), seed);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+
+        while(!state.isGameOver() && state.getTurn() < maxTurns){
+            int count = MoveGenerator.generate(state, moves);
+            Bot bot = bots.get(MoveGenerator.getActingSeat(state));
+            state = state.apply(bot.decide(state, moves, count));
+        }
+
+        int[] balances = new int[bots.size()];
+        String[] botNames = new String[bots.size()];
+        for(int seat = 0; seat < bots.size(); seat++){
+            balances[seat] = state.getBalance(seat);
+            botNames[seat] = bots.get(seat).getName();
+        }
+
+        return new GameResult(seed, state.getTurn(), state.isGameOver(), botNames, balances);
+    }
+
+    /**
+     * plays one game to the end and keeps every move, so it can be watched as a replay
+     *
+     * @param bots the bot in each seat, in turn order
+     * @param seed the seed the tiles are dealt with
+     *
+     * @return the record of the game, with the bots' names as the players
+     */
+    public GameRecord record(List<Bot> bots, long seed){
+        GameState state = GameState.newGame(bots.size(), seed);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int[] played = new int[64];
+        int numberOfMoves = 0;
+
+        while(!state.isGameOver() && state.getTurn() < maxTurns){
+            int count = MoveGenerator.generate(state, moves);
+            int move = bots.get(MoveGenerator.getActingSeat(state)).decide(state, moves, count);
+            if(numberOfMoves == played.length){
+                played = Arrays.copyOf(played, played.length * 2);
+            }
+            played[numberOfMoves++] = move;
+            state = state.apply(move);
+        }
+
+        String[] names = new String[bots.size()];
+        for(int seat = 0; seat < bots.size(); seat++){
+            names[seat] = bots.get(seat).getName();
+        }
+        return new GameRecord(names, seed, Arrays.copyOf(played, numberOfMoves));
+    }
+}
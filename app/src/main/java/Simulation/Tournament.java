@@ -0,0 +1,228 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * runs round robin or swiss tournaments between bots on a pool of worker threads.
+ * each pairing is played on a set of seeded deals, and every deal is played once from each seat so both bots
+ * are compared on identical tile orders
+ *
+ * @since 1.1.0
+ */
+
+package Simulation;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class Tournament {
+
+    private final List<String> entrants = new ArrayList<>();
+    private final List<BotFactory> factories = new ArrayList<>();
+    private final Set<String> playedPairings = new HashSet<>();
+    private final SimulationRunner runner = new SimulationRunner();
+    private final EloRatings ratings = new EloRatings();
+    private int unfinishedGames;
+    private final Random dealSeeds;
+    private final int threads;
+
+    /**
+     * @param seed the seed every deal in the tournament is derived from
+     * @param threads the number of games to play at the same time
+     */
+    public Tournament(long seed, int threads){
+        this.dealSeeds = new Random(seed);
+        this.threads = threads;
+    }
+
+    /**
+     * enters a bot into the tournament
+     *
+     * @param name the name the bot is rated under, this must match the name the bot reports
+     * @param factory creates a new copy of the bot for each game
+     */
+    public void addEntrant(String name, BotFactory factory){
+        entrants.add(name);
+        factories.add(factory);
+    }
+
+    /**
+     * @return the number of games stopped at the turn limit, these are left out of the ratings
+     */
+    public int getNumberOfUnfinishedGames(){
+        return unfinishedGames;
+    }
+
+    /**
+     * @return the ratings from every game played so far
+     */
+    public EloRatings getRatings(){
+        return ratings;
+    }
+
+    /**
+     * plays every entrant against every other entrant
+     *
+     * @param dealsPerPairing the number of deals each pair of entrants plays, each deal is played twice
+     *
+     * @return the ratings after all games are played
+     */
+    public EloRatings playRoundRobin(int dealsPerPairing) throws InterruptedException {
+        List<int[]> pairings = new ArrayList<>();
+        for(int i = 0; i < entrants.size(); i++){
+            for(int j = i + 1; j < entrants.size(); j++){
+                pairings.add(new int[]{i, j});
+            }
+        }
+        playPairings(pairings, dealsPerPairing);
+        return ratings;
+    }
+
+    /**
+     * plays rounds where entrants are paired with the closest rated entrant they have not played yet,
+     * the lowest rated entrant sits out a round when there is an odd number of entrants
+     *
+     * @param rounds the number of rounds to play
+     * @param dealsPerPairing the number of deals each pair of entrants plays per round, each deal is played twice
+     *
+     * @return the ratings after all rounds are played
+     */
+    public EloRatings playSwiss(int rounds, int dealsPerPairing) throws InterruptedException {
+        for(int round = 0; round < rounds; round++){
+            Map<String, Double> current = ratings.getCurrentRatings();
+            List<Integer> standings = new ArrayList<>();
+            for(int i = 0; i < entrants.size(); i++){
+                standings.add(i);
+            }
+            standings.sort(Comparator.comparingDouble(i -> -current.getOrDefault(entrants.get(i), 0.0)));
+
+            List<int[]> pairings = new ArrayList<>();
+            while(standings.size() > 1){
+                int first = standings.remove(0);
+                int opponent = 0;
+                for(int k = 0; k < standings.size(); k++){
+                    if(!playedPairings.contains(pairingKey(first, standings.get(k)))){
+                        opponent = k;
+                        break;
+                    }
+                }
+                pairings.add(new int[]{first, standings.remove(opponent)});
+            }
+            playPairings(pairings, dealsPerPairing);
+        }
+        return ratings;
+    }
+
+    /**
+     * plays every game for the pairings in parallel then rates them in the order they were scheduled
+     * so the ratings do not depend on which thread finished first
+     */
+    private void playPairings(List<int[]> pairings, int dealsPerPairing) throws InterruptedException {
+        List<Callable<GameResult>> games = new ArrayList<>();
+        for(int[] pairing : pairings){
+            playedPairings.add(pairingKey(pairing[0], pairing[1]));
+            for(int deal = 0; deal < dealsPerPairing; deal++){
+                long seed = dealSeeds.nextLong();
+                games.add(makeGame(pairing[0], pairing[1], seed));
+                games.add(makeGame(pairing[1], pairing[0], seed));
+            }
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try{
+            for(Future<GameResult> game : pool.invokeAll(games)){
+                // a game stopped at the turn limit never paid out its bonuses, so its balances say little about who won
+                if(game.get().isFinished()){
+                    ratings.addGame(game.get());
+                }else{
+                    unfinishedGames++;
+                }
+            }
+        }catch(ExecutionException e){
+            throw new IllegalStateException("A simulated game failed", e.getCause());
+        }finally{
+            pool.shutdown();
+        }
+    }
+
+    private Callable<GameResult> makeGame(int firstSeat, int secondSeat, long seed){
+        BotFactory first = factories.get(firstSeat);
+        BotFactory second = factories.get(secondSeat);
+        return new Callable<GameResult>() {
+            @Override
+            public GameResult call() {
+                return runner.run(Arrays.asList(first.create(seed), second.create(seed + 1)), seed);
+            }
+        };
+    }
+
+    private String pairingKey(int a, int b){
+        return Math.min(a, b) + ":" + Math.max(a, b);
+    }
+
+    /**
+     * plays a round robin between the bots that ship with the game and prints their ratings
+     *
+     * @param args the number of deals per pairing, the number of threads, the tournament seed, and optionally
+     *             an opening book file to enter a greedy bot that plays from the book
+     */
+    public static void main(String[] args) throws InterruptedException, IOException {
+        int deals = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+        Tournament tournament = new Tournament(seed, threads);
+        tournament.addEntrant("Random", new BotFactory() {
+            @Override
+            public Bot create(long seed) {
+                return new RandomBot(seed);
+            }
+        });
+        tournament.addEntrant("Greedy", new BotFactory() {
+            @Override
+            public Bot create(long seed) {
+                return new GreedyBot();
+            }
+        });
+        if(args.length > 3){
+            OpeningBook book = OpeningBook.load(Paths.get(args[3]));
+            tournament.addEntrant("Greedy+Book", new BotFactory() {
+                @Override
+                public Bot create(long seed) {
+                    return new BookBot(book, new GreedyBot(), 20);
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        EloRatings ratings = tournament.playRoundRobin(deals);
+        long seconds = (System.nanoTime() - start) / 1_000_000_000L;
+
+        System.out.println(ratings.getNumberOfGames() + " games in " + seconds + "s, "
+                + tournament.getNumberOfUnfinishedGames() + " stopped at the turn limit and left unrated");
+        for(EloRatings.Rating rating : ratings.getRatings(200, seed)){
+            System.out.println(rating);
+        }
+    }
+}
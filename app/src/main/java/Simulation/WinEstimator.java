@@ -0,0 +1,403 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * estimates each player's chance of winning from the current position by playing the rest of the game out many
+ * times on worker threads. Estimates are cached per position, so a position that comes up again is answered straight
+ * from the cache, and a new position starts from the previous estimate and is refined batch by batch as rollouts
+ * finish instead of making the caller wait for all of them
+ *
+ * @since 1.1.0
+ */
+
+package Simulation;
+
+import AcquireProject.Game;
+import AcquireProject.GameState;
+import AcquireProject.MoveGenerator;
+import AcquireProject.PositionHash;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class WinEstimator {
+
+    private static final int BATCH_SIZE = 16;
+    private static final int CACHE_SIZE = 4096;
+    private static final int MAX_TURNS = 1000;
+
+    // how many rollouts the starting estimate of a new position is worth
+    private static final double PRIOR_WEIGHT = 8;
+    // how much net worth it takes to make a player e times more likely to win than another
+    private static final double WORTH_SCALE = 3000;
+
+    private final int rollouts;
+    private final BotFactory policy;
+    private final ExecutorService pool;
+    private final AtomicLong seeds;
+    private final Map<Long, Estimate> cache;
+    private volatile long currentPosition;
+
+    private List<String> lastNames;
+    private Estimate lastEstimate;
+
+    /**
+     * creates an estimator that plays rollouts with greedy bots
+     *
+     * @param rollouts the number of rollouts to play from each position
+     * @param threads the number of worker threads
+     * @param seed the seed the rollouts reshuffle the draw pile with
+     */
+    public WinEstimator(int rollouts, int threads, long seed){
+        this(rollouts, threads, seed, new BotFactory() {
+            @Override
+            public Bot create(long seed) {
+                return new GreedyBot();
+            }
+        });
+    }
+
+    /**
+     * @param rollouts the number of rollouts to play from each position
+     * @param threads the number of worker threads
+     * @param seed the seed the rollouts reshuffle the draw pile with
+     * @param policy creates the bots that play the rollouts
+     */
+    public WinEstimator(int rollouts, int threads, long seed, BotFactory policy){
+        this.rollouts = rollouts;
+        this.policy = policy;
+        this.seeds = new AtomicLong(seed);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<Long, Estimate>(CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Estimate> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        });
+        this.pool = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "win-estimator");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * estimates the win probabilities for a game being played through the Game facade. During a merger the
+     * game can not be copied, so the last estimate is returned until the merger is over.
+     *
+     * @param game the game to estimate
+     *
+     * @return the chance of each player winning, in the same order as Game.getPlayerNames
+     */
+    public synchronized List<Double> getWinProbabilities(Game game){
+        List<String> names = game.getPlayerNames();
+        if(names.isEmpty()){
+            return new ArrayList<>();
+        }
+
+        boolean known = lastEstimate != null && lastNames.containsAll(names) && names.containsAll(lastNames);
+        double[] previous = new double[names.size()];
+        for(int seat = 0; seat < names.size(); seat++){
+            previous[seat] = known ? lastEstimate.getWinProbability(lastNames.indexOf(names.get(seat))) : 1.0 / names.size();
+        }
+
+        if(game.getUIState() == GameState.MERGING || game.mergeNeeded()){
+            return toList(previous);
+        }
+
+        GameState state = GameState.fromGame(game, seeds.getAndIncrement());
+        Estimate estimate = estimate(state, known ? previous : featureEstimate(state));
+        lastNames = names;
+        lastEstimate = estimate;
+
+        double[] probabilities = new double[names.size()];
+        for(int seat = 0; seat < probabilities.length; seat++){
+            probabilities[seat] = estimate.getWinProbability(seat);
+        }
+        return toList(probabilities);
+    }
+
+    private static List<Double> toList(double[] values){
+        List<Double> list = new ArrayList<>();
+        for(double value : values){
+            list.add(value);
+        }
+        return list;
+    }
+
+    /**
+     * gets the estimate for a position and starts rollouts for it if it has not had all of them yet.
+     * Rollouts still queued for earlier positions are dropped so the workers move on to this one.
+     *
+     * @param state the position
+     *
+     * @return the estimate, which keeps improving as rollouts finish
+     */
+    public Estimate estimate(GameState state){
+        return estimate(state, featureEstimate(state));
+    }
+
+    private Estimate estimate(GameState state, double[] prior){
+        long position = PositionHash.publicHash(state);
+        currentPosition = position;
+
+        Estimate estimate;
+        synchronized(cache){
+            estimate = cache.get(position);
+            if(estimate == null){
+                estimate = new Estimate(prior);
+                cache.put(position, estimate);
+            }
+        }
+
+        int batches = estimate.reserve((rollouts + BATCH_SIZE - 1) / BATCH_SIZE);
+        for(int batch = 0; batch < batches; batch++){
+            long seed = seeds.getAndAdd(BATCH_SIZE);
+            Estimate target = estimate;
+            pool.execute(new Runnable() {
+                @Override
+                public void run() {
+                    double[] wins = null;
+                    try{
+                        if(position == currentPosition){
+                            wins = playBatch(state, seed);
+                        }
+                    }finally{
+                        if(wins == null){
+                            target.release();
+                        }else{
+                            target.add(wins);
+                        }
+                    }
+                }
+            });
+        }
+        return estimate;
+    }
+
+    private double[] playBatch(GameState start, long seed){
+        int players = start.getNumberOfPlayers();
+        Bot[] bots = new Bot[players];
+        for(int seat = 0; seat < players; seat++){
+            bots[seat] = policy.create(seed + seat);
+        }
+
+        double[] wins = new double[players];
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for(int rollout = 0; rollout < BATCH_SIZE; rollout++){
+            GameState state = start.reshuffle(seed + rollout);
+            int lastTurn = state.getTurn() + MAX_TURNS;
+            while(!state.isGameOver() && state.getTurn() < lastTurn){
+                int count = MoveGenerator.generate(state, moves);
+                state = state.apply(bots[MoveGenerator.getActingSeat(state)].chooseMove(state, moves, count));
+            }
+            addWin(state, wins);
+        }
+        return wins;
+    }
+
+    /**
+     * credits the players with the highest balance with a win, split between them if they tie
+     */
+    private static void addWin(GameState state, double[] wins){
+        int best = state.getBalance(state.getLeader());
+        int winners = 0;
+        for(int seat = 0; seat < wins.length; seat++){
+            if(state.getBalance(seat) == best){
+                winners++;
+            }
+        }
+        for(int seat = 0; seat < wins.length; seat++){
+            if(state.getBalance(seat) == best){
+                wins[seat] += 1.0 / winners;
+            }
+        }
+    }
+
+    /**
+     * estimates the win probabilities from the position alone, used until rollouts come in. Each player is
+     * valued at what they would have if the game ended now: their balance, their holdings at the current
+     * stock prices, and the shareholder bonuses they would be paid.
+     *
+     * @param state the position
+     *
+     * @return the chance of each player winning
+     */
+    static double[] featureEstimate(GameState state){
+        int players = state.getNumberOfPlayers();
+        double[] worth = new double[players];
+        for(int seat = 0; seat < players; seat++){
+            worth[seat] = state.getBalance(seat);
+        }
+
+        for(int chain = 0; chain < GameState.CHAINS; chain++){
+            if(state.getChainSize(chain) == 0){
+                continue;
+            }
+            int price = state.getStockPrice(chain);
+            int most = 0;
+            int second = 0;
+            for(int seat = 0; seat < players; seat++){
+                int held = state.getHoldings(seat, chain);
+                worth[seat] += held * price;
+                if(held > most){
+                    second = most;
+                    most = held;
+                }else if(held > second && held < most){
+                    second = held;
+                }
+            }
+            if(most == 0){
+                continue;
+            }
+            addBonus(state, chain, most, price * 10 + (second == 0 ? price * 5 : 0), worth);
+            if(second > 0){
+                addBonus(state, chain, second, price * 5, worth);
+            }
+        }
+
+        double best = Double.NEGATIVE_INFINITY;
+        for(double value : worth){
+            best = Math.max(best, value);
+        }
+        double total = 0;
+        double[] probabilities = new double[players];
+        for(int seat = 0; seat < players; seat++){
+            probabilities[seat] = Math.exp((worth[seat] - best) / WORTH_SCALE);
+            total += probabilities[seat];
+        }
+        for(int seat = 0; seat < players; seat++){
+            probabilities[seat] /= total;
+        }
+        return probabilities;
+    }
+
+    private static void addBonus(GameState state, int chain, int holdings, int bonus, double[] worth){
+        int holders = 0;
+        for(int seat = 0; seat < worth.length; seat++){
+            if(state.getHoldings(seat, chain) == holdings){
+                holders++;
+            }
+        }
+        for(int seat = 0; seat < worth.length; seat++){
+            if(state.getHoldings(seat, chain) == holdings){
+                worth[seat] += (double) bonus / holders;
+            }
+        }
+    }
+
+    /**
+     * stops the worker threads, estimates already handed out stop improving
+     */
+    public void shutdown(){
+        pool.shutdownNow();
+    }
+
+    /**
+     * the win probabilities of one position, made up of a starting estimate and the rollouts played so far
+     */
+    public static class Estimate {
+
+        private final double[] prior;
+        private final double[] wins;
+        private int rollouts;
+        private int pendingBatches;
+        private int reservedBatches;
+
+        private Estimate(double[] prior){
+            this.prior = prior;
+            this.wins = new double[prior.length];
+        }
+
+        /**
+         * reserves the batches that still need to be played to reach the target
+         *
+         * @return the number of batches the caller needs to queue
+         */
+        private synchronized int reserve(int targetBatches){
+            int needed = Math.max(0, targetBatches - reservedBatches);
+            reservedBatches += needed;
+            pendingBatches += needed;
+            return needed;
+        }
+
+        /**
+         * gives back a batch that was dropped, so it is queued again if the position comes back
+         */
+        private synchronized void release(){
+            reservedBatches--;
+            pendingBatches--;
+            notifyAll();
+        }
+
+        private synchronized void add(double[] batchWins){
+            for(int seat = 0; seat < wins.length; seat++){
+                wins[seat] += batchWins[seat];
+            }
+            rollouts += BATCH_SIZE;
+            pendingBatches--;
+            notifyAll();
+        }
+
+        /**
+         * @param seat the seat of the player
+         * @return the chance the player wins, blending the starting estimate with the rollouts
+         */
+        public synchronized double getWinProbability(int seat){
+            return (wins[seat] + prior[seat] * PRIOR_WEIGHT) / (rollouts + PRIOR_WEIGHT);
+        }
+
+        /**
+         * @return the number of rollouts behind the estimate
+         */
+        public synchronized int getRollouts(){
+            return rollouts;
+        }
+
+        public int getNumberOfPlayers(){
+            return prior.length;
+        }
+
+        /**
+         * waits until every queued rollout for the position has finished or been dropped
+         *
+         * @param timeoutMillis the longest time to wait
+         *
+         * @return true if nothing is left queued
+         */
+        public synchronized boolean await(long timeoutMillis) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            long left = timeoutMillis;
+            while(pendingBatches > 0 && left > 0){
+                wait(left);
+                left = deadline - System.currentTimeMillis();
+            }
+            return pendingBatches == 0;
+        }
+    }
+}
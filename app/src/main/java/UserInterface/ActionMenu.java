@@ -21,7 +21,9 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  *
- * an action menu is switched out to change the options that a user is given during each step of the turn cycle
+ * an action menu is switched out to change the options that a user is given during each step of the turn cycle. Each
+ * menu builds its controls once and updateMenu only changes their text, styles, whether they are disabled and whether
+ * they are shown, so switching menus does not rebuild the scene graph
  *
  * @author Michael Collier
  *
@@ -30,18 +32,22 @@
 
 package UserInterface;
 
-import AcquireProject.Game;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
 import javafx.scene.layout.VBox;
 
+import java.util.Arrays;
+
 public abstract class ActionMenu {
 
-    protected VBox menu;
+    protected final VBox menu;
 
     GameUI ui;
 
     public ActionMenu(GameUI ui){
         this.ui = ui;
         this.menu = new VBox();
+        menu.getStyleClass().add("actionMenu");
     }
 
     /**
@@ -56,4 +62,31 @@ public abstract class ActionMenu {
         return menu;
     }
 
+    /**
+     * makes a node take up no room in the menu while it is hidden
+     *
+     * @param node a node in the menu
+     * @return the node
+     */
+    protected static <T extends Node> T hideable(T node){
+        node.managedProperty().bind(node.visibleProperty());
+        return node;
+    }
+
+    /**
+     * colors a node for a hotel chain, leaving its style classes alone if it already has that chain's color
+     *
+     * @param node the node to color
+     * @param chain the name of the chain, which is also its style class
+     * @param baseStyles the style classes the node always has, such as button
+     */
+    protected static void setChainStyle(Node node, String chain, String... baseStyles){
+        ObservableList<String> styles = node.getStyleClass();
+        if(styles.size() != baseStyles.length + 1 || !styles.get(baseStyles.length).equals(chain)){
+            String[] wanted = Arrays.copyOf(baseStyles, baseStyles.length + 1);
+            wanted[baseStyles.length] = chain;
+            styles.setAll(wanted);
+        }
+    }
+
 }
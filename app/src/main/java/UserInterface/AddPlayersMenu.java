@@ -30,12 +30,10 @@
 
 package UserInterface;
 
-import AcquireProject.Game;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextField;
-import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 
 public class AddPlayersMenu extends ActionMenu{
@@ -43,15 +41,12 @@ public class AddPlayersMenu extends ActionMenu{
     private int numberOfPlayers;
     private static final int MAX_PLAYERS = 6;
 
+    private final Button continueButton;
+    private final Button finishButton;
+
     public AddPlayersMenu(GameUI ui){
         super(ui);
         numberOfPlayers = 0;
-    }
-
-    @Override
-    public void updateMenu(){
-        this.menu = new VBox();
-        menu.getStyleClass().add("actionMenu");
 
         Text title = new Text("Add Players");
         title.getStyleClass().add("mediumText");
@@ -63,11 +58,10 @@ public class AddPlayersMenu extends ActionMenu{
         TextField name = new TextField();
         menu.getChildren().add(name);
 
-        Button continueButton = new Button("Add next player");
+        continueButton = new Button("Add next player");
         menu.getChildren().add(continueButton);
 
-        Button finishButton = new Button("Start the game");
-        finishButton.setDisable(true);
+        finishButton = new Button("Start the game");
         menu.getChildren().add(finishButton);
 
         continueButton.setOnAction(new EventHandler<ActionEvent>() {
@@ -77,11 +71,8 @@ public class AddPlayersMenu extends ActionMenu{
                     ui.getGame().addPlayer(name.getCharacters().toString());
                     name.clear();
                     numberOfPlayers++;
-                    if (numberOfPlayers >= MAX_PLAYERS - 1) {
-                        continueButton.setDisable(true);
-                    }
-                    finishButton.setDisable(false);
-                    
+                    updateMenu();
+
                     name.requestFocus();
                 }
             }
@@ -95,9 +86,7 @@ public class AddPlayersMenu extends ActionMenu{
                     ui.getGame().addPlayer(name.getCharacters().toString());
                     name.clear();
                     numberOfPlayers++;
-                    if (numberOfPlayers >= MAX_PLAYERS - 1) {
-                        continueButton.setDisable(true);
-                    }
+                    updateMenu();
                 }
 
                 ui.getGame().goToNextPlayer();
@@ -107,4 +96,10 @@ public class AddPlayersMenu extends ActionMenu{
         });
     }
 
+    @Override
+    public void updateMenu(){
+        continueButton.setDisable(numberOfPlayers >= MAX_PLAYERS - 1);
+        finishButton.setDisable(numberOfPlayers == 0);
+    }
+
 }
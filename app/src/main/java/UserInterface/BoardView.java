@@ -0,0 +1,55 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * draws the game board in the center of the game screen. Cells use the GameState numbering and values, 0 for
+ * an empty cell, 1 for a tile in no chain and 2 plus the chain index otherwise, the same as a DeltaTracker reports them
+ *
+ * @since 1.1.0
+ */
+
+package UserInterface;
+
+import javafx.scene.Node;
+
+public interface BoardView {
+
+    /**
+     * @return the node to put in the scene
+     */
+    Node getNode();
+
+    /**
+     * shows a new value in a cell, it is only called for cells that changed
+     *
+     * @param cell the cell
+     * @param value what is in the cell
+     */
+    void showCell(int cell, int value);
+
+    /**
+     * empties every cell
+     */
+    void clear();
+
+}
@@ -30,62 +30,48 @@
 
 package UserInterface;
 
-import AcquireProject.Game;
+import AcquireProject.GameState;
+import AcquireProject.Move;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.scene.control.Button;
-import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public class BuyStockMenu extends ActionMenu{
 
+    private final Text prompt;
+    private final Button[] stockButtons = new Button[GameState.CHAINS];
+    private final Text suggestion;
+
     public BuyStockMenu(GameUI ui){
         super(ui);
-    }
-
-    @Override
-    public VBox getMenu() {
-        return menu;
-    }
-
-    @Override
-    public void updateMenu() {
-        menu = new VBox();
-        menu.getStyleClass().add("actionMenu");
 
         Text title = new Text("Buy stock");
         title.getStyleClass().add("mediumText");
         menu.getChildren().add(title);
 
-        Text prompt = new Text("Stock left to buy: " + ui.getGame().getNumberOfStockLeftToBuy());
+        prompt = new Text();
         menu.getChildren().add(prompt);
 
-        List<String> stocks = ui.getGame().getAvailableStocks();
-
-
-        for(int i = 0; i < stocks.size(); i++){
+        for(int i = 0; i < stockButtons.length; i++){
 
             int index = i;
 
-            Button s = new Button(stocks.get(i));
-            String name = stocks.get(i).split(":")[0];
-            s.getStyleClass().add(name);
+            Button s = hideable(new Button());
             menu.getChildren().add(s);
             s.setOnAction(new EventHandler<ActionEvent>() {
                 @Override
                 public void handle(ActionEvent event) {
+                    ui.actionStarted("buy stock");
                     ui.getGame().buyStock(index);
                     ui.updatePlayerInfo();
                     ui.changeActionMenu(GameUI.BUY_STOCK);
                 }
             });
-
-            if(!ui.getGame().playerCanBuyStock(index)){
-                s.setDisable(true);
-            }
-
+            stockButtons[i] = s;
         }
 
         Button continueButton = new Button("Continue");
@@ -93,10 +79,39 @@ public class BuyStockMenu extends ActionMenu{
         continueButton.setOnAction(new EventHandler<ActionEvent>() {
             @Override
             public void handle(ActionEvent event) {
+                ui.actionStarted("end turn");
                 ui.getGame().goToNextPlayer();
                 ui.changeActionMenu(GameUI.PLACE_TILE);
             }
         });
+
+        suggestion = new Text();
+        menu.getChildren().add(suggestion);
+    }
+
+    @Override
+    public void updateMenu() {
+        prompt.setText("Stock left to buy: " + ui.getGame().getNumberOfStockLeftToBuy());
+
+        List<String> stocks = ui.getGame().getAvailableStocks();
+
+        for(int i = 0; i < stockButtons.length; i++){
+            Button s = stockButtons[i];
+            s.setVisible(i < stocks.size());
+            if(i < stocks.size()){
+                s.setText(stocks.get(i));
+                setChainStyle(s, stocks.get(i).split(":")[0], "button");
+                s.setDisable(!ui.getGame().playerCanBuyStock(i));
+            }
+        }
+
+        suggestion.setText("");
+        ui.getEngine().suggestMove(ui.getGame(), new Consumer<Integer>() {
+            @Override
+            public void accept(Integer move) {
+                suggestion.setText("Suggested: " + Move.toString(move));
+            }
+        });
     }
 
 }
@@ -0,0 +1,209 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * draws the board on a single canvas instead of a node per cell, for big or scaled boards. Changed cells are marked
+ * dirty and the dirty cells are repainted together once per frame, each within its own rectangle, so a move repaints a
+ * few cells rather than the whole board. The board scales to the room it is given and the chain colors, which match the
+ * tile styles in the stylesheet, are made once
+ *
+ * @since 1.1.0
+ */
+
+package UserInterface;
+
+import AcquireProject.GameState;
+import javafx.animation.AnimationTimer;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+public class CanvasBoardView implements BoardView {
+
+    // the same size and colors as the .tile, .playedTile and chain styles
+    private static final double CELL_SIZE = 40;
+    private static final double MIN_CELL_SIZE = 10;
+    private static final Color PLAYED_FILL = Color.web("#9f9e9e");
+    private static final Color[] CHAIN_FILLS = new Color[]{Color.web("#a800a8"), Color.web("#ff6729"), Color.GREEN,
+            Color.web("#c4a400"), Color.web("#0000d3"), Color.web("#af0c0c"), Color.BLACK};
+
+    private final int columns;
+    private final int rows;
+    private final byte[] values;
+    private final String[] names;
+    private final BitSet dirty;
+
+    private final Pane pane = new Pane();
+    private final Canvas canvas = new Canvas();
+    private final GraphicsContext graphics = canvas.getGraphicsContext2D();
+    private double cellSize;
+    private boolean painting;
+
+    private final AnimationTimer painter = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            paintDirtyCells();
+        }
+    };
+
+    /**
+     * makes a view of the standard board
+     */
+    public CanvasBoardView(){
+        this(GameState.BOARD_WIDTH, GameState.BOARD_HEIGHT);
+    }
+
+    /**
+     * @param columns the number of columns, numbered from 1
+     * @param rows the number of rows, lettered from A. Cells are numbered down each column in turn
+     */
+    public CanvasBoardView(int columns, int rows){
+        this.columns = columns;
+        this.rows = rows;
+        this.values = new byte[columns * rows];
+        this.names = new String[columns * rows];
+        this.dirty = new BitSet(columns * rows);
+        for(int cell = 0; cell < names.length; cell++){
+            names[cell] = (cell / rows + 1) + rowName(cell % rows);
+        }
+
+        pane.setPrefSize(columns * CELL_SIZE, rows * CELL_SIZE);
+        pane.setMinSize(columns * MIN_CELL_SIZE, rows * MIN_CELL_SIZE);
+        pane.getChildren().add(canvas);
+
+        canvas.widthProperty().bind(pane.widthProperty());
+        canvas.heightProperty().bind(pane.heightProperty());
+        InvalidationListener resized = new InvalidationListener() {
+            @Override
+            public void invalidated(Observable observable) {
+                resize();
+            }
+        };
+        canvas.widthProperty().addListener(resized);
+        canvas.heightProperty().addListener(resized);
+
+        graphics.setTextAlign(TextAlignment.CENTER);
+        graphics.setTextBaseline(VPos.CENTER);
+        graphics.setStroke(Color.BLACK);
+    }
+
+    private static String rowName(int row){
+        String name = "";
+        do{
+            name = (char) ('A' + row % 26) + name;
+            row = row / 26 - 1;
+        }while(row >= 0);
+        return name;
+    }
+
+    @Override
+    public Node getNode() {
+        return pane;
+    }
+
+    @Override
+    public void showCell(int cell, int value) {
+        if(values[cell] != value){
+            values[cell] = (byte) value;
+            markDirty(cell);
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, (byte) 0);
+        dirty.set(0, values.length);
+        schedulePaint();
+    }
+
+    /**
+     * @return the number of cells waiting to be repainted
+     */
+    public int getNumberOfDirtyCells(){
+        return dirty.cardinality();
+    }
+
+    private void markDirty(int cell){
+        dirty.set(cell);
+        schedulePaint();
+    }
+
+    /**
+     * runs the painter on the next frame, however many cells change before then
+     */
+    private void schedulePaint(){
+        if(!painting){
+            painting = true;
+            painter.start();
+        }
+    }
+
+    private void resize(){
+        cellSize = Math.floor(Math.min(canvas.getWidth() / columns, canvas.getHeight() / rows));
+        graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        graphics.setFont(Font.font(Math.max(cellSize / 3, 6)));
+        dirty.set(0, values.length);
+        schedulePaint();
+    }
+
+    private void paintDirtyCells(){
+        painter.stop();
+        painting = false;
+        if(cellSize < 1){
+            // not laid out yet, resizing repaints everything
+            return;
+        }
+
+        for(int cell = dirty.nextSetBit(0); cell >= 0; cell = dirty.nextSetBit(cell + 1)){
+            paintCell(cell);
+        }
+        dirty.clear();
+    }
+
+    private void paintCell(int cell){
+        double x = (cell / rows) * cellSize;
+        double y = (cell % rows) * cellSize;
+        int value = values[cell];
+
+        graphics.clearRect(x, y, cellSize, cellSize);
+        if(value != 0){
+            graphics.setFill(value == 1 ? PLAYED_FILL : CHAIN_FILLS[value - 2]);
+            graphics.fillRect(x, y, cellSize, cellSize);
+        }
+        graphics.strokeRect(x + 0.5, y + 0.5, cellSize - 1, cellSize - 1);
+
+        graphics.setFill(value < 2 ? Color.BLACK : Color.WHITE);
+        graphics.fillText(names[cell], x + cellSize / 2, y + cellSize / 2);
+    }
+
+}
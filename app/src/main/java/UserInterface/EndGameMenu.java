@@ -30,37 +30,29 @@
 
 package UserInterface;
 
-import AcquireProject.Game;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.scene.control.Button;
-import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 
 public class EndGameMenu extends ActionMenu{
 
     String winnerMessage = "";
 
+    private final Button endGameButton;
+    private final Button continueButton;
+    private final Text message;
+
     public EndGameMenu(GameUI ui){
         super(ui);
-    }
-
-    @Override
-    public VBox getMenu() {
-        return menu;
-    }
-
-    @Override
-    public void updateMenu(){
-        menu = new VBox();
-        menu.getStyleClass().add("actionMenu");
 
         Text title = new Text("Would you like to end the game?");
         title.getStyleClass().add("mediumText");
         menu.getChildren().add(title);
 
-        Button endGameButton = new Button("End Game");
-        Button continueButton = new Button("Continue Playing");
+        endGameButton = hideable(new Button("End Game"));
+        continueButton = hideable(new Button("Continue Playing"));
+        message = hideable(new Text());
 
         endGameButton.setOnAction(new EventHandler<ActionEvent>() {
             @Override
@@ -79,14 +71,18 @@ public class EndGameMenu extends ActionMenu{
             }
         });
 
-        if(winnerMessage.equals("")) {
-            menu.getChildren().add(endGameButton);
-            menu.getChildren().add(continueButton);
-        }else{
-            Text message = new Text(winnerMessage);
-            menu.getChildren().add(message);
-        }
+        menu.getChildren().add(endGameButton);
+        menu.getChildren().add(continueButton);
+        menu.getChildren().add(message);
+    }
 
+    @Override
+    public void updateMenu(){
+        boolean over = !winnerMessage.equals("");
+        endGameButton.setVisible(!over);
+        continueButton.setVisible(!over);
+        message.setVisible(over);
+        message.setText(winnerMessage);
     }
 
 }
@@ -0,0 +1,182 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * runs questions about the game on a pool of worker threads so the user interface never waits on the engine. Each
+ * question copies the game into a GameState on the JavaFX thread, answers it on a worker in a javafx.concurrent.Task,
+ * and hands the answer back on the JavaFX thread. Asking a question again cancels the last one of the same kind, and an
+ * answer that arrives after its question was cancelled is dropped, so a menu only ever sees answers about the game as it
+ * is now
+ *
+ * @since 1.1.0
+ */
+
+package UserInterface;
+
+import AcquireProject.Game;
+import AcquireProject.GameState;
+import AcquireProject.MoveGenerator;
+import Simulation.Bot;
+import Simulation.GreedyBot;
+import javafx.concurrent.Task;
+import javafx.concurrent.WorkerStateEvent;
+import javafx.event.EventHandler;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public class EngineService {
+
+    private static final int LEGAL_TILES = 0;
+    private static final int SUGGESTED_MOVE = 1;
+    private static final int KINDS = 2;
+
+    private final ExecutorService workers;
+    private final Bot advisor;
+    private final Random random = new Random();
+    // the question of each kind still being answered, only touched on the JavaFX thread
+    private final Task<?>[] pending = new Task<?>[KINDS];
+
+    /**
+     * starts one worker per core, leaving a core for the JavaFX thread, with the greedy bot giving suggestions
+     */
+    public EngineService(){
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), new GreedyBot());
+    }
+
+    /**
+     * @param threads the number of worker threads
+     * @param advisor the bot that suggests moves, it is only used by one worker at a time
+     */
+    public EngineService(int threads, Bot advisor){
+        this.advisor = advisor;
+        this.workers = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "acquire-engine-" + count.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * finds which tiles in the current player's hand can be placed
+     *
+     * @param game the game, it must not be in the middle of a merger
+     * @param onResult given true for each slot of the hand whose tile can be placed
+     */
+    public void findLegalTiles(Game game, Consumer<boolean[]> onResult){
+        GameState state = GameState.fromGame(game, random.nextLong());
+        submit(LEGAL_TILES, new Task<boolean[]>() {
+            @Override
+            protected boolean[] call() {
+                boolean[] legal = new boolean[GameState.HAND_SIZE];
+                for(int slot = 0; slot < legal.length; slot++){
+                    int cell = state.getHandTile(0, slot);
+                    legal[slot] = cell >= 0 && state.isLegalPlacement(cell);
+                }
+                return legal;
+            }
+        }, onResult);
+    }
+
+    /**
+     * asks the advisor what the acting player should do, such as which tile to place or which stock to buy
+     *
+     * @param game the game, it must not be in the middle of a merger
+     * @param onResult given the suggested move, see Move
+     */
+    public void suggestMove(Game game, Consumer<Integer> onResult){
+        GameState state = GameState.fromGame(game, random.nextLong());
+        submit(SUGGESTED_MOVE, new Task<Integer>() {
+            @Override
+            protected Integer call() {
+                int[] moves = new int[MoveGenerator.MAX_MOVES];
+                int count = MoveGenerator.generate(state, moves);
+                synchronized(advisor){
+                    return advisor.decide(state, moves, count);
+                }
+            }
+        }, onResult);
+    }
+
+    /**
+     * cancels every question still being answered, for when the game has moved on
+     */
+    public void cancelAll(){
+        for(int kind = 0; kind < KINDS; kind++){
+            cancel(kind);
+        }
+    }
+
+    /**
+     * stops the workers, questions still being answered are cancelled
+     */
+    public void shutdown(){
+        cancelAll();
+        workers.shutdownNow();
+    }
+
+    private <T> void submit(int kind, Task<T> task, Consumer<T> onResult){
+        cancel(kind);
+        pending[kind] = task;
+
+        task.setOnSucceeded(new EventHandler<WorkerStateEvent>() {
+            @Override
+            public void handle(WorkerStateEvent event) {
+                // a task that finished just as it was replaced still reports success, its answer is stale
+                if(pending[kind] == task){
+                    pending[kind] = null;
+                    onResult.accept(task.getValue());
+                }
+            }
+        });
+        task.setOnFailed(new EventHandler<WorkerStateEvent>() {
+            @Override
+            public void handle(WorkerStateEvent event) {
+                if(pending[kind] == task){
+                    pending[kind] = null;
+                }
+                System.err.println("The engine could not answer a question: " + task.getException());
+            }
+        });
+
+        workers.execute(task);
+    }
+
+    private void cancel(int kind){
+        Task<?> task = pending[kind];
+        if(task != null){
+            task.cancel();
+            pending[kind] = null;
+        }
+    }
+
+}
@@ -30,12 +30,10 @@
 
 package UserInterface;
 
-import AcquireProject.Game;
-import AcquireProject.HotelChain;
+import AcquireProject.GameState;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.scene.control.Button;
-import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 
 import java.util.List;
@@ -43,35 +41,24 @@ import java.util.List;
 
 public class FoundChainMenu extends ActionMenu{
 
+    private final Button[] chainButtons = new Button[GameState.CHAINS];
+
     public FoundChainMenu(GameUI ui){
         super(ui);
-    }
-
-    @Override
-    public VBox getMenu() {
-        return menu;
-    }
-
-    @Override
-    public void updateMenu() {
-        menu = new VBox();
-        menu.getStyleClass().add("actionMenu");
 
         Text title = new Text("Which hotel chain would you\n like to found?");
         title.getStyleClass().add("mediumText");
         menu.getChildren().add(title);
 
-        List<String> names = ui.getGame().getUnfoundedChains();
-
-        for(int i = 0; i < names.size(); i++){
-            Button b = new Button(names.get(i));
-            b.getStyleClass().add(names.get(i));
+        for(int i = 0; i < chainButtons.length; i++){
+            Button b = hideable(new Button());
 
             int index = i;
 
             b.setOnAction(new EventHandler<ActionEvent>() {
                 @Override
                 public void handle(ActionEvent event) {
+                    ui.actionStarted("found chain");
                     ui.getGame().foundChain(ui.getGame().getUnfoundedChains().get(index));
                     ui.changeActionMenu(GameUI.BUY_STOCK);
                     if(ui.getGame().gameCanEnd()){
@@ -81,9 +68,23 @@ public class FoundChainMenu extends ActionMenu{
                 }
             });
 
+            chainButtons[i] = b;
             menu.getChildren().add(b);
         }
+    }
+
+    @Override
+    public void updateMenu() {
+        List<String> names = ui.getGame().getUnfoundedChains();
 
+        for(int i = 0; i < chainButtons.length; i++){
+            Button b = chainButtons[i];
+            b.setVisible(i < names.size());
+            if(i < names.size()){
+                b.setText(names.get(i));
+                setChainStyle(b, names.get(i), "button");
+            }
+        }
     }
 
 }
@@ -31,28 +31,41 @@
 package UserInterface;
 
 import AcquireProject.*;
+import javafx.beans.binding.Bindings;
+import javafx.collections.ListChangeListener;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
-import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.*;
 import javafx.scene.text.Text;
 import lombok.Getter;
-import lombok.Setter;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class GameUI {
 
     @Getter private Scene scene;
-    @Setter private Game game;
+    private Game game;
 
     private BorderPane border;
-    private GridPane gameBoard;
+    private final BoardView gameBoard = makeGameBoard();
+    // remembers what the board showed at the last update so only the tiles that changed since are restyled
+    private DeltaTracker boardTracker = new DeltaTracker();
+    private final DeltaBatch boardChanges = new DeltaBatch();
+    // the players' balances and holdings, fed from the same tracker as the board
+    private final PlayerInfoModel playerModel = new PlayerInfoModel();
+    // each player's box, shown in turn order along the bottom of the screen
+    private final Map<String, VBox> playerBoxes = new HashMap<>();
+    private final HBox playerInfo = new HBox();
+    // answers the menus' questions about the game off the JavaFX thread
+    private final EngineService engine = new EngineService();
+    private PerformanceOverlay overlay;
 
     public static final int PLACE_TILE = 0;
     public static final int BUY_STOCK = 1;
@@ -63,7 +76,8 @@ public class GameUI {
 
     private int currentState = ADD_PLAYERS;
 
-    private List<ActionMenu> actionMenus;
+    // made the first time each is shown, so the game screen opens without building menus it does not need yet
+    private final ActionMenu[] actionMenus = new ActionMenu[ADD_PLAYERS + 1];
 
     private UserInterface ui;
 
@@ -73,9 +87,6 @@ public class GameUI {
         this.ui = ui;
         this.game = game;
 
-        this.actionMenus = new ArrayList<ActionMenu>();
-        makeActionMenus();
-
         border = new BorderPane();
         border.getStyleClass().add("gameBorder");
 
@@ -90,7 +101,7 @@ public class GameUI {
     private Scene makeScene(){
 
         Scene scene = new Scene(border, 800, 600);
-        scene.getStylesheets().add(getClass().getClassLoader().getResource("stylesheet.css").toExternalForm());
+        scene.getStylesheets().add(Resources.getStylesheet());
 
         Text title = new Text();
         title.setText("Acquire Game");
@@ -116,9 +127,11 @@ public class GameUI {
         menuButtons.getChildren().add(saveGameButton);
         menuButtons.getChildren().add(returnToMainMenuButton);
 
-        border.setTop(menuButtons);
+        overlay = new PerformanceOverlay(scene);
+
+        border.setTop(new VBox(menuButtons, overlay.getNode()));
 
-        border.setCenter(makeGameBoard());
+        border.setCenter(gameBoard.getNode());
 
         border.setBottom(makePlayerInfo());
 
@@ -128,95 +141,122 @@ public class GameUI {
     }
 
     /**
-     * creates the boxes along the bottom of the screen that hold player's names, balances, and stocks
+     * creates the box along the bottom of the screen that holds player's names, balances, and stocks. A player's
+     * box is made when the model first sees them and its labels are bound to the model, so it is never rebuilt,
+     * only moved when the turn order changes
      *
      * @return a HBox containing all the player information
      */
     private HBox makePlayerInfo(){
-        HBox playerInfo = new HBox();
         playerInfo.getStyleClass().add("hbox");
 
-        List<String> playerNames = game.getPlayerNames();
-        List<Integer> playerBalances = game.getPlayerBalances();
-        List<Map<String, Integer>> profiles = game.getPlayerStockProfiles();
-
-        for(int i = 0; i < playerNames.size(); i++){
-
-            VBox info = new VBox();
-            info.getStyleClass().add("infoBox");
-
-            Text name = new Text(playerNames.get(i));
-            name.getStyleClass().add("mediumText");
-            info.getChildren().add(name);
-
-            Text balance = new Text("$" + playerBalances.get(i).toString());
-
-
-            GridPane finance = new GridPane();
-            finance.add(balance, 0, 0, 2, 1);
-
-            Map<String, Integer> stockProfile = profiles.get(i);
-
-
-            List<String> keys = StockProfiler.getChains();
-            for(int j = 0; j < keys.size(); j++){
-                Label stock = new Label(keys.get(j).charAt(0) + ": " + stockProfile.get(keys.get(j)).toString());
-                stock.getStyleClass().add("stockDisplay");
-                stock.getStyleClass().add(keys.get(j));
-                finance.add(stock, (j+2)%3, (j+2)/3, 1, 1);
+        playerModel.getSeats().addListener(new ListChangeListener<PlayerInfoModel.Seat>() {
+            @Override
+            public void onChanged(Change<? extends PlayerInfoModel.Seat> change) {
+                while(change.next()){
+                    for(PlayerInfoModel.Seat seat : change.getRemoved()){
+                        playerBoxes.remove(seat.getName());
+                    }
+                    for(PlayerInfoModel.Seat seat : change.getAddedSubList()){
+                        playerBoxes.put(seat.getName(), makeSeatInfo(seat));
+                    }
+                }
             }
-
-            info.getChildren().add(finance);
-
-            playerInfo.getChildren().add(info);
-
-        }
+        });
 
         return playerInfo;
     }
 
     /**
-     * allows outside classes to ask the ui to refactor the player information display
+     * puts the players' boxes in turn order, starting with the current player
      */
-    public void updatePlayerInfo(){
-        border.setBottom(makePlayerInfo());
+    private void orderPlayerInfo(){
+        List<Node> ordered = new ArrayList<>();
+        for(String name : game.getPlayerNames()){
+            VBox box = playerBoxes.get(name);
+            if(box != null){
+                ordered.add(box);
+            }
+        }
+        if(!ordered.equals(playerInfo.getChildren())){
+            playerInfo.getChildren().setAll(ordered);
+        }
     }
 
     /**
-     * makes the board of tiles to be displayed in the center of the screen
+     * creates the box for one player, bound to their seat in the model
      *
-     * @return a GridPane of elements describing the game board squares
+     * @param seat the player's seat
+     * @return a VBox with the player's name, balance and stocks
      */
-    private GridPane makeGameBoard(){
-        gameBoard = new GridPane();
-
-        String[] letters = new String[]{"A", "B", "C", "D", "E", "F", "G", "H", "I"};
+    private VBox makeSeatInfo(PlayerInfoModel.Seat seat){
+        VBox info = new VBox();
+        info.getStyleClass().add("infoBox");
+
+        Text name = new Text(seat.getName());
+        name.getStyleClass().add("mediumText");
+        info.getChildren().add(name);
+
+        Text balance = new Text();
+        balance.textProperty().bind(Bindings.concat("$", seat.balanceProperty()));
+
+        GridPane finance = new GridPane();
+        finance.add(balance, 0, 0, 2, 1);
+
+        for(int j = 0; j < GameState.CHAINS; j++){
+            String chain = GameState.getChainName(j);
+            Label stock = new Label();
+            stock.textProperty().bind(Bindings.concat(chain.charAt(0) + ": ", seat.holdingsProperty(j)));
+            stock.getStyleClass().add("stockDisplay");
+            stock.getStyleClass().add(chain);
+            finance.add(stock, (j+2)%3, (j+2)/3, 1, 1);
+        }
 
-        for(int i = 0; i < 12; i++){
-            for(int j = 0; j < 9; j++){
+        info.getChildren().add(finance);
 
-                Label tile = new Label(Integer.toString(i + 1) + letters[j]);
-                tile.getStyleClass().add("tile");
-                tile.setAlignment(Pos.CENTER);
+        return info;
+    }
 
-                gameBoard.add(tile, i, j, 1, 1);
+    /**
+     * allows outside classes to ask the ui to bring the player information display up to date
+     */
+    public void updatePlayerInfo(){
+        applyChanges();
+    }
 
-            }
+    /**
+     * makes the view of the board shown in the center of the screen. The board is drawn on a canvas when the
+     * acquire.board system property is canvas, otherwise each tile is a label
+     *
+     * @return the board view
+     */
+    static BoardView makeGameBoard(){
+        if("canvas".equals(System.getProperty("acquire.board"))){
+            return new CanvasBoardView();
         }
-
-        return gameBoard;
+        return new LabelBoardView();
     }
 
     /**
-     * adds all the action menus to the action menu list
+     * gets an action menu, making it the first time it is shown
+     *
+     * @param menuOption the menu to get
+     * @return the menu
      */
-    private void makeActionMenus(){
-        this.actionMenus.add(new PlaceTileMenu(this));
-        this.actionMenus.add(new BuyStockMenu(this));
-        this.actionMenus.add(new EndGameMenu(this));
-        this.actionMenus.add(new MergingMenu(this));
-        this.actionMenus.add(new FoundChainMenu(this));
-        this.actionMenus.add(new AddPlayersMenu(this));
+    private ActionMenu getActionMenu(int menuOption){
+        ActionMenu menu = actionMenus[menuOption];
+        if(menu == null){
+            switch(menuOption){
+                case PLACE_TILE: menu = new PlaceTileMenu(this); break;
+                case BUY_STOCK: menu = new BuyStockMenu(this); break;
+                case END_GAME: menu = new EndGameMenu(this); break;
+                case MERGING: menu = new MergingMenu(this); break;
+                case FOUND_CHAIN: menu = new FoundChainMenu(this); break;
+                default: menu = new AddPlayersMenu(this); break;
+            }
+            actionMenus[menuOption] = menu;
+        }
+        return menu;
     }
 
     /**
@@ -227,44 +267,69 @@ public class GameUI {
      * @throws IndexOutOfBoundsException if the int passed in does not describe an available menu
      */
     public void changeActionMenu(int menuOption) throws IndexOutOfBoundsException{
-        if(menuOption >= 0 && menuOption < actionMenus.size()){
-            actionMenus.get(menuOption).updateMenu();
+        if(menuOption >= 0 && menuOption < actionMenus.length){
+            // the game has moved on, so answers to the last menu's questions are no use
+            engine.cancelAll();
+            game.setUIState(menuOption);
+            ActionMenu menu = getActionMenu(menuOption);
+            menu.updateMenu();
             updatePlayerInfo();
             currentState = menuOption;
-            border.setRight(actionMenus.get(menuOption).getMenu());
+            border.setRight(menu.getMenu());
             return;
         }
         throw new IndexOutOfBoundsException("The requested menu was not recognized while trying to switch action menus");
     }
 
     /**
-     * updates the game board for any changes in the color of tiles
+     * updates the game board for any changes in the color of tiles. Only the tiles placed or moved into
+     * another chain since the last update are redrawn
      */
     public void updateGameBoard(){
-        List<Tile> playedTiles = game.getPlayedTiles();
-
-        for(Tile t :playedTiles){
-            int xCoord = t.getCoordinates().get(0);
-            int yCoord = t.getCoordinates().get(1);
-
-            int index = xCoord * 9 + yCoord;
-
-            gameBoard.getChildren().get(index).getStyleClass().clear();
-            gameBoard.getChildren().get(index).getStyleClass().add("tile");
+        applyChanges();
+    }
 
-            String style = t.getChainName();
-            if(style.length() == 0) {
-                gameBoard.getChildren().get(index).getStyleClass().add("playedTile");
+    /**
+     * brings the board and the player information up to date with everything that changed in the game since the
+     * last update. The board and the players share one tracker so a change is only reported once
+     */
+    private void applyChanges(){
+        boardChanges.clear();
+        boardTracker.diff(game, boardChanges);
+
+        for(int i = 0; i < boardChanges.size(); i++){
+            long change = boardChanges.get(i);
+            int type = DeltaTracker.getType(change);
+            if(type == DeltaTracker.TILE_PLACED || type == DeltaTracker.TILE_RELABELLED){
+                gameBoard.showCell(DeltaTracker.getTarget(change), DeltaTracker.getValue(change));
             }else{
-                gameBoard.getChildren().get(index).getStyleClass().add(style);
+                playerModel.apply(change, boardTracker);
             }
         }
+        orderPlayerInfo();
+    }
+
+    /**
+     * switches the ui to another game, such as one loaded from a file, and clears the board and players of the old one
+     *
+     * @param game the game to show
+     */
+    public void setGame(Game game){
+        this.game = game;
+        engine.cancelAll();
+        this.boardTracker = new DeltaTracker();
+        playerModel.clear();
+        gameBoard.clear();
     }
 
     /**
      * loads the state that was saved in the game
      */
     public void loadState(){
+        if(game.getUIState() == MERGING){
+            // the merger being decided is not saved, so the game carries on with the mergers still waiting
+            game.startMerging();
+        }
         changeActionMenu(game.getUIState());
         updateGameBoard();
     }
@@ -273,4 +338,17 @@ public class GameUI {
         return this.game;
     }
 
+    /**
+     * starts timing an action for the performance overlay, see PerformanceOverlay.actionStarted
+     *
+     * @param name what the player did
+     */
+    protected void actionStarted(String name){
+        overlay.actionStarted(name);
+    }
+
+    protected EngineService getEngine(){
+        return this.engine;
+    }
+
 }
@@ -0,0 +1,83 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * draws the board as a grid of styled labels, one per cell, colored by the tile styles in the stylesheet
+ *
+ * @since 1.1.0
+ */
+
+package UserInterface;
+
+import AcquireProject.GameState;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.layout.GridPane;
+
+public class LabelBoardView implements BoardView {
+
+    private final GridPane gameBoard = new GridPane();
+    // the board's labels by cell so a changed tile is found without walking the grid
+    private final Label[] cells = new Label[GameState.CELLS];
+
+    public LabelBoardView(){
+        String[] letters = new String[]{"A", "B", "C", "D", "E", "F", "G", "H", "I"};
+
+        for(int i = 0; i < GameState.BOARD_WIDTH; i++){
+            for(int j = 0; j < GameState.BOARD_HEIGHT; j++){
+
+                Label tile = new Label(Integer.toString(i + 1) + letters[j]);
+                tile.getStyleClass().add("tile");
+                tile.setAlignment(Pos.CENTER);
+
+                gameBoard.add(tile, i, j, 1, 1);
+                cells[i * GameState.BOARD_HEIGHT + j] = tile;
+
+            }
+        }
+    }
+
+    @Override
+    public Node getNode() {
+        return gameBoard;
+    }
+
+    @Override
+    public void showCell(int cell, int value) {
+        if(value == 0){
+            cells[cell].getStyleClass().setAll("tile");
+        }else{
+            String style = value == 1 ? "playedTile" : GameState.getChainName(value - 2);
+            cells[cell].getStyleClass().setAll("tile", style);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for(Label cell : cells){
+            cell.getStyleClass().setAll("tile");
+        }
+    }
+
+}
@@ -36,7 +36,6 @@ import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.VBox;
@@ -45,9 +44,6 @@ import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 import lombok.Getter;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-
 public class MainMenu {
 
     @Getter private Scene scene;
@@ -69,7 +65,7 @@ public class MainMenu {
         border.setStyle("-fx-padding: 30");
 
         Scene scene = new Scene(border, 800, 600, Color.WHITE);
-        scene.getStylesheets().add(getClass().getClassLoader().getResource("stylesheet.css").toExternalForm());
+        scene.getStylesheets().add(Resources.getStylesheet());
 
 
         /*Label title = new Label();
@@ -82,11 +78,10 @@ public class MainMenu {
         border.setTop(title);*/
 
         try {
-            Image logo = new Image(new FileInputStream("src\\main\\resources\\AcquireLogo.png"));
-            ImageView logoView = new ImageView(logo);
+            ImageView logoView = new ImageView(Resources.getImage(Resources.LOGO));
             BorderPane.setAlignment(logoView, Pos.CENTER);
             border.setTop(logoView);
-        }catch(FileNotFoundException e){
+        }catch(IllegalStateException e){
             System.out.println("Problem trying to load acquire logo");
             e.printStackTrace();
         }
@@ -98,6 +93,7 @@ public class MainMenu {
 
         buttons.getChildren().add(makeStartButton());
         buttons.getChildren().add(makeLoadButton());
+        buttons.getChildren().add(makeReplayButton());
         buttons.getChildren().add(makeExitButton());
 
         border.setCenter(buttons);
@@ -138,6 +134,22 @@ public class MainMenu {
         return loadButton;
     }
 
+    private Button makeReplayButton(){
+        Button replayButton = new Button("Replay");
+        replayButton.getStyleClass().add("largeText");
+        replayButton.getStyleClass().add("mainMenuButton");
+
+        replayButton.setOnAction(new EventHandler<ActionEvent>() {
+                @Override
+                public void handle(ActionEvent event) {
+                    ui.goToReplay();
+                }
+            }
+        );
+
+        return replayButton;
+    }
+
     private Button makeExitButton(){
         Button exitButton = new Button("Exit");
         exitButton.getStyleClass().add("largeText");
@@ -21,7 +21,8 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  *
- * Gives the options for trading or selling stock when merging
+ * Gives the options for trading or selling stock when merging. The decisions are made as moves on the game, so the
+ * game always knows which merger is being decided and who is deciding
  *
  * @author Michael Collier
  *
@@ -30,121 +31,112 @@
 
 package UserInterface;
 
-import AcquireProject.Game;
 import AcquireProject.Merger;
+import AcquireProject.Move;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.control.Spinner;
 import javafx.scene.layout.HBox;
-import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 
-import java.util.Objects;
-
 public class MergingMenu extends ActionMenu{
 
-    private Merger currentMerger = null;
+    private final Label acquiredChain;
+    private final Label acquiringChain;
+    private final Text prompt;
+    private final Button sellButton;
+    private final Button tradeButton;
+    private final Button holdButton;
 
     public MergingMenu(GameUI ui){
         super(ui);
-    }
-
-    @Override
-    public VBox getMenu() {
-        return menu;
-    }
-
-    @Override
-    public void updateMenu(){
-        menu = new VBox();
-        menu.getStyleClass().add("actionMenu");
-
-        if(Objects.isNull(currentMerger)){
-            currentMerger = ui.getGame().getCurrentMerger();
-            currentMerger.giveShareholderBonus();
-        }
 
         HBox title = new HBox();
         Label merging = new Label("Merging");
         merging.getStyleClass().add("mediumText");
         title.getChildren().add(merging);
-        Label chain1 = new Label(currentMerger.getAcquiredChain().getName());
-        chain1.getStyleClass().add("mediumText");
-        chain1.getStyleClass().add(currentMerger.getAcquiredChain().getName());
-        title.getChildren().add(chain1);
+        acquiredChain = new Label();
+        acquiredChain.getStyleClass().add("mediumText");
+        title.getChildren().add(acquiredChain);
         Label into = new Label("into");
         into.getStyleClass().add("mediumText");
         title.getChildren().add(into);
-        Label chain2 = new Label(currentMerger.getAcquiringChain().getName());
-        chain2.getStyleClass().add("mediumText");
-        chain2.getStyleClass().add(currentMerger.getAcquiringChain().getName());
-        title.getChildren().add(chain2);
+        acquiringChain = new Label();
+        acquiringChain.getStyleClass().add("mediumText");
+        title.getChildren().add(acquiringChain);
 
         title.getStyleClass().add("pseudoText");
 
         menu.getChildren().add(title);
 
-        Text prompt = new Text(currentMerger.getPlayerName() + ": you still have " + currentMerger.getPlayerStockCount() +
-                " stock in " + currentMerger.getAcquiredChain().getName());
+        prompt = new Text();
         menu.getChildren().add(prompt);
 
-        Button sellButton = new Button("Sell a Stock for: $" + currentMerger.getStockPrice());
-        if(currentMerger.getPlayerStockCount() < 1){
-            sellButton.setDisable(true);
-        }
+        sellButton = new Button();
         menu.getChildren().add(sellButton);
         sellButton.setOnAction(new EventHandler<ActionEvent>() {
             @Override
             public void handle(ActionEvent event) {
-                currentMerger.sellStock();
-                ui.changeActionMenu(GameUI.MERGING);
+                ui.actionStarted("merger sell");
+                decide(Move.SELL_STOCK);
             }
         });
 
-        Button tradeButton = new Button("Trade two stock for one in " + currentMerger.getAcquiringChain().getName());
-        if(currentMerger.getPlayerStockCount() < 2){
-            tradeButton.setDisable(true);
-        }
+        tradeButton = new Button();
         menu.getChildren().add(tradeButton);
         tradeButton.setOnAction(new EventHandler<ActionEvent>() {
             @Override
             public void handle(ActionEvent event) {
-                currentMerger.tradeStock();
-                ui.changeActionMenu(GameUI.MERGING);
+                ui.actionStarted("merger trade");
+                decide(Move.TRADE_STOCK);
             }
         });
 
-        Button holdButton = new Button("Hold the remaining stock");
-        if (currentMerger.getPlayerStockCount() == 0) {
-            holdButton.setText("Continue");
-        }
+        holdButton = new Button();
         menu.getChildren().add(holdButton);
         holdButton.setOnAction(new EventHandler<ActionEvent>() {
             @Override
             public void handle(ActionEvent event) {
-                currentMerger.goToNextPlayer();
-                if(currentMerger.morePlayersToHandle()){
-                    ui.changeActionMenu(GameUI.MERGING);
-                }else if(ui.getGame().mergeNeeded()){
-                    currentMerger.mergeChains();
-                    ui.updateGameBoard();
-                    currentMerger = null;
-                    ui.changeActionMenu(GameUI.MERGING);
-                }else {
-                    currentMerger.mergeChains();
-                    ui.updateGameBoard();
-                    ui.changeActionMenu(GameUI.BUY_STOCK);
-                    if(ui.getGame().gameCanEnd()){
-                        ui.changeActionMenu(GameUI.END_GAME);
-                    }
-                    currentMerger = null;
-                }
+                ui.actionStarted("merger hold");
+                decide(Move.HOLD_STOCK);
             }
         });
+    }
+
+    /**
+     * makes the deciding shareholder's move, then shows the menu for whatever the game needs next: the next
+     * shareholder or merger, or buying stock once every merger is finished
+     *
+     * @param move the move, see Move
+     */
+    private void decide(int move){
+        ui.getGame().applyMove(move);
+        ui.updateGameBoard();
+        ui.changeActionMenu(ui.getGame().getUIState());
+    }
+
+    @Override
+    public void updateMenu(){
+        Merger currentMerger = ui.getGame().getActiveMerger();
+
+        String acquired = currentMerger.getAcquiredChain().getName();
+        String acquiring = currentMerger.getAcquiringChain().getName();
+        acquiredChain.setText(acquired);
+        setChainStyle(acquiredChain, acquired, "label", "mediumText");
+        acquiringChain.setText(acquiring);
+        setChainStyle(acquiringChain, acquiring, "label", "mediumText");
+
+        int stockCount = currentMerger.getPlayerStockCount();
+        prompt.setText(currentMerger.getPlayerName() + ": you still have " + stockCount + " stock in " + acquired);
+
+        sellButton.setText("Sell a Stock for: $" + currentMerger.getStockPrice());
+        sellButton.setDisable(!ui.getGame().isLegalMove(Move.SELL_STOCK));
 
+        tradeButton.setText("Trade two stock for one in " + acquiring);
+        tradeButton.setDisable(!ui.getGame().isLegalMove(Move.TRADE_STOCK));
 
+        holdButton.setText(stockCount == 0 ? "Continue" : "Hold the remaining stock");
     }
 
 }
@@ -0,0 +1,310 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * a developer overlay on the game screen, toggled with F3, that times each action from the click to the first frame
+ * laid out after it, along with how long JavaFX pulses take, how much of that is CSS and layout, and how much memory the
+ * action allocated on the JavaFX thread. Actions slower than the budget are kept and can be written to a trace file that
+ * chrome://tracing or Perfetto opens, so a slow screen can be looked into without attaching a profiler.
+ * <p>
+ * A pulse is timed from an animation timer, which runs first in every pulse, to the scene's post-layout listener, and
+ * CSS and layout from the pre-layout to the post-layout listener. Rendering happens after that on the render thread and
+ * is not included. While the overlay is shown the animation timer keeps pulses coming every frame
+ *
+ * @since 1.1.0
+ */
+
+package UserInterface;
+
+import AcquireProject.LatencyHistogram;
+import javafx.animation.AnimationTimer;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class PerformanceOverlay {
+
+    // an action that takes longer than this to reach the screen is kept for the trace file
+    private static final long SLOW_ACTION_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final int MAX_SLOW_ACTIONS = 256;
+    private static final long REFRESH_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final long HIGHEST_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final long MICROS = 1000;
+
+    public static final String TRACE_FILE = "slowActions.json";
+
+    private final Scene scene;
+    private final VBox overlay = new VBox();
+    private final Text report = new Text();
+    private final com.sun.management.ThreadMXBean threads;
+
+    private final Map<String, LatencyHistogram> actions = new LinkedHashMap<>();
+    private final LatencyHistogram pulses = new LatencyHistogram(HIGHEST_NANOS);
+    private final LatencyHistogram cssAndLayout = new LatencyHistogram(HIGHEST_NANOS);
+    private final List<PendingAction> pending = new ArrayList<>();
+    private final Deque<SlowAction> slowActions = new ArrayDeque<>();
+    private final long origin = System.nanoTime();
+
+    private boolean enabled;
+    private long pulseStart;
+    private long layoutStart;
+    private long lastRefresh;
+    private String lastAction = "none yet";
+
+    private final AnimationTimer pulseTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            pulseStart = System.nanoTime();
+        }
+    };
+
+    private final Runnable beforeLayout = new Runnable() {
+        @Override
+        public void run() {
+            layoutStart = System.nanoTime();
+        }
+    };
+
+    private final Runnable afterLayout = new Runnable() {
+        @Override
+        public void run() {
+            laidOut();
+        }
+    };
+
+    /**
+     * @param scene the scene to time, F3 on it shows and hides the overlay
+     */
+    public PerformanceOverlay(Scene scene){
+        this.scene = scene;
+        this.threads = allocationCounter();
+
+        overlay.getStyleClass().add("performanceOverlay");
+        overlay.getChildren().add(report);
+        Button exportButton = new Button("Export slow actions");
+        exportButton.setOnAction(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent event) {
+                try {
+                    Path file = Paths.get(TRACE_FILE);
+                    exportTrace(file);
+                    lastAction = slowActions.size() + " slow actions written to " + file.toAbsolutePath();
+                }catch(IOException e){
+                    lastAction = "Problem when writing the trace: " + e.getMessage();
+                }
+                refresh(System.nanoTime());
+            }
+        });
+        overlay.getChildren().add(exportButton);
+        overlay.setVisible(false);
+        overlay.managedProperty().bind(overlay.visibleProperty());
+
+        scene.addEventFilter(KeyEvent.KEY_PRESSED, new EventHandler<KeyEvent>() {
+            @Override
+            public void handle(KeyEvent event) {
+                if(event.getCode() == KeyCode.F3){
+                    setEnabled(!enabled);
+                }
+            }
+        });
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter(){
+        if(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean){
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()){
+                return threads;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the overlay to put in the scene, it takes no room while hidden
+     */
+    public VBox getNode(){
+        return overlay;
+    }
+
+    /**
+     * shows or hides the overlay, actions are only timed while it is shown
+     *
+     * @param enabled true to show the overlay
+     */
+    public void setEnabled(boolean enabled){
+        if(this.enabled == enabled){
+            return;
+        }
+        this.enabled = enabled;
+        overlay.setVisible(enabled);
+        if(enabled){
+            pulseStart = 0;
+            layoutStart = 0;
+            pulseTimer.start();
+            scene.addPreLayoutPulseListener(beforeLayout);
+            scene.addPostLayoutPulseListener(afterLayout);
+            refresh(System.nanoTime());
+        }else{
+            pulseTimer.stop();
+            scene.removePreLayoutPulseListener(beforeLayout);
+            scene.removePostLayoutPulseListener(afterLayout);
+            pending.clear();
+        }
+    }
+
+    /**
+     * starts timing an action, call it first thing in the handler of the button that was clicked. The action is
+     * finished once the next frame has been laid out
+     *
+     * @param name what the player did, actions with the same name are reported together
+     */
+    public void actionStarted(String name){
+        if(enabled){
+            pending.add(new PendingAction(name, System.nanoTime(), allocatedBytes()));
+        }
+    }
+
+    private long allocatedBytes(){
+        return threads == null ? 0 : threads.getCurrentThreadAllocatedBytes();
+    }
+
+    private void laidOut(){
+        long now = System.nanoTime();
+        if(pulseStart != 0){
+            pulses.record(now - pulseStart);
+        }
+        if(layoutStart != 0){
+            cssAndLayout.record(now - layoutStart);
+        }
+
+        if(!pending.isEmpty()){
+            long bytes = allocatedBytes();
+            for(PendingAction action : pending){
+                long latency = now - action.start;
+                long allocated = bytes - action.bytes;
+                actions.computeIfAbsent(action.name, name -> new LatencyHistogram(HIGHEST_NANOS)).record(latency);
+                lastAction = String.format("%s: %.1f ms, %d KB allocated", action.name, latency / 1e6, allocated / 1024);
+
+                if(latency >= SLOW_ACTION_NANOS){
+                    if(slowActions.size() == MAX_SLOW_ACTIONS){
+                        slowActions.removeFirst();
+                    }
+                    slowActions.addLast(new SlowAction(action.name, action.start, latency, now - layoutStart, allocated));
+                }
+            }
+            pending.clear();
+            refresh(now);
+        }else if(now - lastRefresh >= REFRESH_NANOS){
+            refresh(now);
+        }
+    }
+
+    private void refresh(long now){
+        lastRefresh = now;
+        StringBuilder text = new StringBuilder();
+        text.append("pulse (us)        ").append(pulses.summary(MICROS)).append('\n');
+        text.append("css+layout (us)   ").append(cssAndLayout.summary(MICROS)).append('\n');
+        for(Map.Entry<String, LatencyHistogram> action : actions.entrySet()){
+            text.append(action.getKey()).append(" (us)   ").append(action.getValue().summary(MICROS)).append('\n');
+        }
+        text.append("last: ").append(lastAction).append('\n');
+        text.append("slow actions kept: ").append(slowActions.size());
+        report.setText(text.toString());
+    }
+
+    /**
+     * writes the slow actions in the Trace Event Format, one complete event per action with its CSS and layout
+     * time and allocation as arguments
+     *
+     * @param file the file to write
+     *
+     * @throws IOException if the file can not be written
+     */
+    public void exportTrace(Path file) throws IOException {
+        try(Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)){
+            writer.write("{\"traceEvents\":[");
+            boolean first = true;
+            for(SlowAction action : slowActions){
+                if(!first){
+                    writer.write(',');
+                }
+                first = false;
+                writer.write(String.format("%n{\"name\":\"%s\",\"cat\":\"ui\",\"ph\":\"X\",\"pid\":1,\"tid\":1,"
+                                + "\"ts\":%d,\"dur\":%d,\"args\":{\"cssAndLayoutMicros\":%d,\"allocatedBytes\":%d}}",
+                        action.name, (action.start - origin) / MICROS, action.latency / MICROS,
+                        action.cssAndLayout / MICROS, action.allocated));
+            }
+            writer.write("\n],\"displayTimeUnit\":\"ms\"}\n");
+        }
+    }
+
+    private static final class PendingAction {
+
+        private final String name;
+        private final long start;
+        private final long bytes;
+
+        private PendingAction(String name, long start, long bytes){
+            this.name = name;
+            this.start = start;
+            this.bytes = bytes;
+        }
+    }
+
+    private static final class SlowAction {
+
+        private final String name;
+        private final long start;
+        private final long latency;
+        private final long cssAndLayout;
+        private final long allocated;
+
+        private SlowAction(String name, long start, long latency, long cssAndLayout, long allocated){
+            this.name = name;
+            this.start = start;
+            this.latency = latency;
+            this.cssAndLayout = cssAndLayout;
+            this.allocated = allocated;
+        }
+    }
+}
@@ -31,33 +31,26 @@
 package UserInterface;
 
 import AcquireProject.Founder;
-import AcquireProject.Game;
-import AcquireProject.Merger;
+import AcquireProject.GameState;
+import AcquireProject.Move;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.scene.control.Button;
 import javafx.scene.layout.GridPane;
-import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 public class PlaceTileMenu extends ActionMenu{
-    
-    public PlaceTileMenu(GameUI ui){
-        super(ui);
-    }
 
-    @Override
-    public VBox getMenu() {
-        return menu;
-    }
+    private final Button[] tileButtons = new Button[GameState.HAND_SIZE];
+    private final Button getNewHandButton;
+    private final Text suggestion;
 
-    @Override
-    public void updateMenu() {
-        menu = new VBox();
-        menu.getStyleClass().add("actionMenu");
+    public PlaceTileMenu(GameUI ui){
+        super(ui);
 
         Text title = new Text("Which tile would you like to place?");
         title.getStyleClass().add("mediumText");
@@ -67,16 +60,11 @@ public class PlaceTileMenu extends ActionMenu{
         tileGrid.setStyle("-fx-padding: 40");
         tileGrid.setVgap(30);
         tileGrid.setHgap(30);
-        List<String> tileNames = ui.getGame().getCurrentPlayerTiles();
 
         int numberOfColumns = 3;
 
-        int numberOfPlayableTiles = 0;
-
-        for(int i = 0; i < tileNames.size(); i++){
-            Button t = new Button(tileNames.get(i));
-            if(ui.getGame().moveIsLegal(i)) numberOfPlayableTiles++;
-            t.setDisable(!ui.getGame().moveIsLegal(i));
+        for(int i = 0; i < tileButtons.length; i++){
+            Button t = hideable(new Button());
             t.getStyleClass().add("tile");
             t.getStyleClass().add("playedTile");
 
@@ -85,6 +73,7 @@ public class PlaceTileMenu extends ActionMenu{
             t.setOnAction(new EventHandler<ActionEvent>() {
                 @Override
                 public void handle(ActionEvent event) {
+                    ui.actionStarted("place tile");
                     int tileIndex = index;
                     ui.getGame().placeTile(tileIndex);
                     ui.getGame().addTileToCurrentPlayer();
@@ -99,7 +88,9 @@ public class PlaceTileMenu extends ActionMenu{
 
 
                     if(ui.getGame().mergeNeeded()){
-                        ui.changeActionMenu(GameUI.MERGING);
+                        ui.getGame().startMerging();
+                        ui.updateGameBoard();
+                        ui.changeActionMenu(ui.getGame().getUIState());
                         return;
                     }
 
@@ -111,22 +102,61 @@ public class PlaceTileMenu extends ActionMenu{
                 }
             });
 
+            tileButtons[i] = t;
             tileGrid.add(t, i % numberOfColumns, i / numberOfColumns, 1, 1);
         }
 
         menu.getChildren().add(tileGrid);
 
-        if(numberOfPlayableTiles == 0){
-            Button getNewHandButton = new Button("Get a new hand");
-            getNewHandButton.setOnAction(new EventHandler<ActionEvent>() {
-                @Override
-                public void handle(ActionEvent event) {
-                    ui.getGame().giveCurrentPlayerNewHand();
-                    ui.changeActionMenu(GameUI.PLACE_TILE);
-                }
-            });
-            menu.getChildren().add(getNewHandButton);
-        }
+        getNewHandButton = hideable(new Button("Get a new hand"));
+        getNewHandButton.setOnAction(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent event) {
+                ui.actionStarted("new hand");
+                ui.getGame().giveCurrentPlayerNewHand();
+                ui.changeActionMenu(GameUI.PLACE_TILE);
+            }
+        });
+        menu.getChildren().add(getNewHandButton);
+
+        suggestion = new Text();
+        menu.getChildren().add(suggestion);
+    }
 
+    /**
+     * shows the player's tiles straight away, they are enabled once the engine has worked out which can be placed
+     */
+    @Override
+    public void updateMenu() {
+        List<String> tileNames = ui.getGame().getCurrentPlayerTiles();
+
+        for(int i = 0; i < tileButtons.length; i++){
+            Button t = tileButtons[i];
+            t.setVisible(i < tileNames.size());
+            if(i < tileNames.size()){
+                t.setText(tileNames.get(i));
+                t.setDisable(true);
+            }
+        }
+        getNewHandButton.setVisible(false);
+        suggestion.setText("");
+
+        ui.getEngine().findLegalTiles(ui.getGame(), new Consumer<boolean[]>() {
+            @Override
+            public void accept(boolean[] legal) {
+                int numberOfPlayableTiles = 0;
+                for(int i = 0; i < tileButtons.length; i++){
+                    if(legal[i]) numberOfPlayableTiles++;
+                    tileButtons[i].setDisable(!legal[i]);
+                }
+                getNewHandButton.setVisible(numberOfPlayableTiles == 0);
+            }
+        });
+        ui.getEngine().suggestMove(ui.getGame(), new Consumer<Integer>() {
+            @Override
+            public void accept(Integer move) {
+                suggestion.setText("Suggested: " + Move.toString(move));
+            }
+        });
     }
 }
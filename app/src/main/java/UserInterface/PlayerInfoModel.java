@@ -0,0 +1,125 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * what the player information panel shows, one seat per player with their name, balance and the stock they
+ * hold in each chain. It is kept up to date from the deltas a DeltaTracker reports, so a value only changes, and the
+ * labels bound to it only redraw, when the game actually changed it
+ *
+ * @since 1.1.0
+ */
+
+package UserInterface;
+
+import AcquireProject.DeltaTracker;
+import AcquireProject.GameState;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.List;
+
+public class PlayerInfoModel {
+
+    private final ObservableList<Seat> seats = FXCollections.observableArrayList();
+    private final ObservableList<Seat> readOnlySeats = FXCollections.unmodifiableObservableList(seats);
+
+    /**
+     * @return the seats in the order the players joined, a seat is added the first time its player is seen
+     */
+    public ObservableList<Seat> getSeats(){
+        return readOnlySeats;
+    }
+
+    /**
+     * updates the seat a delta is about, deltas for the board and the turn are ignored
+     *
+     * @param delta a delta reported by the tracker
+     * @param tracker the tracker that reported it, for the names of new seats
+     */
+    public void apply(long delta, DeltaTracker tracker){
+        int type = DeltaTracker.getType(delta);
+        if(type != DeltaTracker.BALANCE && type != DeltaTracker.HOLDINGS){
+            return;
+        }
+
+        Seat seat = seat(DeltaTracker.getTarget(delta), tracker);
+        if(type == DeltaTracker.BALANCE){
+            seat.balance.set(DeltaTracker.getValue(delta));
+        }else{
+            seat.holdings[DeltaTracker.getChain(delta)].set(DeltaTracker.getValue(delta));
+        }
+    }
+
+    /**
+     * removes every seat, for when another game is shown
+     */
+    public void clear(){
+        seats.clear();
+    }
+
+    private Seat seat(int index, DeltaTracker tracker){
+        if(index >= seats.size()){
+            List<String> names = tracker.getSeats();
+            while(seats.size() <= index){
+                seats.add(new Seat(names.get(seats.size())));
+            }
+        }
+        return seats.get(index);
+    }
+
+    /**
+     * one player's balance and holdings
+     */
+    public static class Seat {
+
+        private final String name;
+        private final ReadOnlyIntegerWrapper balance = new ReadOnlyIntegerWrapper();
+        private final ReadOnlyIntegerWrapper[] holdings = new ReadOnlyIntegerWrapper[GameState.CHAINS];
+
+        private Seat(String name){
+            this.name = name;
+            for(int chain = 0; chain < GameState.CHAINS; chain++){
+                holdings[chain] = new ReadOnlyIntegerWrapper();
+            }
+        }
+
+        public String getName(){
+            return name;
+        }
+
+        public ReadOnlyIntegerProperty balanceProperty(){
+            return balance.getReadOnlyProperty();
+        }
+
+        /**
+         * @param chain the index of the chain, see GameState
+         *
+         * @return the number of stocks the player holds in the chain
+         */
+        public ReadOnlyIntegerProperty holdingsProperty(int chain){
+            return holdings[chain].getReadOnlyProperty();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * plays back a recorded game on the board with a scrubber to jump to any move. Moving the scrubber seeks the Replay,
+ * which starts from its nearest snapshot, and only the cells that differ from what the board already shows are redrawn
+ *
+ * @since 1.1.0
+ */
+
+package UserInterface;
+
+import AcquireProject.GameRecord;
+import AcquireProject.GameState;
+import AcquireProject.Move;
+import AcquireProject.Replay;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Slider;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+import javafx.util.Duration;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+public class ReplayViewer {
+
+    private static final Duration MOVE_DURATION = Duration.millis(300);
+
+    @Getter private Scene scene;
+    private final UserInterface ui;
+
+    private final BoardView board = GameUI.makeGameBoard();
+    // what each cell on the board shows, see BoardView
+    private final byte[] shown = new byte[GameState.CELLS];
+    private final Slider scrubber = new Slider();
+    private final Text moveText = new Text();
+    private final Text balancesText = new Text();
+    private final Button playButton = new Button("Play");
+    private final Timeline player = new Timeline();
+    private Replay replay;
+
+    public ReplayViewer(UserInterface ui){
+        this.ui = ui;
+        this.scene = makeScene();
+    }
+
+    private Scene makeScene(){
+        BorderPane border = new BorderPane();
+        border.getStyleClass().add("gameBorder");
+
+        Scene scene = new Scene(border, 800, 600);
+        scene.getStylesheets().add(Resources.getStylesheet());
+
+        Button returnToMainMenuButton = new Button("Main Menu");
+        returnToMainMenuButton.setOnAction(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent event) {
+                player.stop();
+                playButton.setText("Play");
+                ui.goToMainMenu();
+            }
+        });
+
+        playButton.setOnAction(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent event) {
+                if(player.getStatus() == Animation.Status.RUNNING){
+                    player.stop();
+                    playButton.setText("Play");
+                }else{
+                    if(replay.getPosition() == replay.getLength()){
+                        scrubber.setValue(0);
+                    }
+                    player.play();
+                    playButton.setText("Pause");
+                }
+            }
+        });
+
+        HBox menuButtons = new HBox();
+        menuButtons.getChildren().add(returnToMainMenuButton);
+        menuButtons.getChildren().add(playButton);
+        border.setTop(menuButtons);
+
+        border.setCenter(board.getNode());
+
+        scrubber.setMin(0);
+        scrubber.setBlockIncrement(1);
+        scrubber.setMajorTickUnit(Replay.KEYFRAME_INTERVAL);
+        scrubber.setMinorTickCount(0);
+        scrubber.setShowTickMarks(true);
+        scrubber.valueProperty().addListener(new ChangeListener<Number>() {
+            @Override
+            public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
+                show((int) Math.round(newValue.doubleValue()));
+            }
+        });
+
+        VBox timeline = new VBox();
+        timeline.getStyleClass().add("buttonBox");
+        timeline.getChildren().add(scrubber);
+        timeline.getChildren().add(moveText);
+        timeline.getChildren().add(balancesText);
+        border.setBottom(timeline);
+
+        player.setCycleCount(Animation.INDEFINITE);
+        player.getKeyFrames().add(new KeyFrame(MOVE_DURATION, new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent event) {
+                if(replay.getPosition() >= replay.getLength()){
+                    player.stop();
+                    playButton.setText("Play");
+                    return;
+                }
+                scrubber.setValue(replay.getPosition() + 1);
+            }
+        }));
+
+        return scene;
+    }
+
+    /**
+     * starts showing a recorded game from its first move
+     *
+     * @param record the game to show
+     */
+    public void load(GameRecord record){
+        player.stop();
+        playButton.setText("Play");
+        replay = new Replay(record);
+        board.clear();
+        Arrays.fill(shown, (byte) 0);
+
+        scrubber.setMax(replay.getLength());
+        if(scrubber.getValue() == 0){
+            show(0);
+        }else{
+            scrubber.setValue(0);
+        }
+    }
+
+    /**
+     * shows the game after a number of moves, redrawing the cells that changed since the last move shown
+     */
+    private void show(int position){
+        if(replay == null){
+            return;
+        }
+        GameState state = replay.seek(position);
+
+        for(int cell = 0; cell < GameState.CELLS; cell++){
+            int value = !state.isOccupied(cell) ? 0
+                    : state.getChainAt(cell) == GameState.NO_CHAIN ? 1 : 2 + state.getChainAt(cell);
+            if(shown[cell] != value){
+                shown[cell] = (byte) value;
+                board.showCell(cell, value);
+            }
+        }
+
+        moveText.setText("Move " + position + " of " + replay.getLength()
+                + (position == 0 ? "" : ": " + Move.toString(replay.getMove(position - 1))));
+
+        StringBuilder balances = new StringBuilder();
+        GameRecord record = replay.getRecord();
+        for(int seat = 0; seat < record.getNumberOfPlayers(); seat++){
+            balances.append(seat + 1).append(". ").append(record.getName(seat))
+                    .append(": $").append(state.getBalance(seat)).append("    ");
+        }
+        balancesText.setText(balances.toString().trim());
+    }
+
+}
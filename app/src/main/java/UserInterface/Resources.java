@@ -0,0 +1,92 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2021 Michael Collier, Emily Elzinga, Benjamin Keninger
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ *
+ * loads the images and stylesheet the screens use from the classpath, so they are found however the game is started,
+ * and keeps each one after it is first loaded so building another screen does not read it again
+ *
+ * @since 1.1.0
+ */
+
+package UserInterface;
+
+import javafx.scene.image.Image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class Resources {
+
+    public static final String STYLESHEET = "stylesheet.css";
+    public static final String LOGO = "AcquireLogo.png";
+
+    private static final Map<String, Image> images = new ConcurrentHashMap<>();
+    private static volatile String stylesheet;
+
+    private Resources(){}
+
+    /**
+     * @return the url of the stylesheet, ready to add to a scene
+     */
+    public static String getStylesheet(){
+        if(stylesheet == null){
+            stylesheet = find(STYLESHEET).toExternalForm();
+        }
+        return stylesheet;
+    }
+
+    /**
+     * @param name the name of the image in the resources
+     *
+     * @return the image, loaded the first time it is asked for
+     *
+     * @throws IllegalStateException if the image is not on the classpath or can not be read
+     */
+    public static Image getImage(String name){
+        Image image = images.get(name);
+        if(image == null){
+            image = images.computeIfAbsent(name, Resources::load);
+        }
+        return image;
+    }
+
+    private static Image load(String name){
+        try(InputStream in = find(name).openStream()){
+            return new Image(in);
+        }catch(IOException e){
+            throw new IllegalStateException("Could not read " + name, e);
+        }
+    }
+
+    private static URL find(String name){
+        URL url = Resources.class.getClassLoader().getResource(name);
+        if(url == null){
+            throw new IllegalStateException(name + " is not on the classpath");
+        }
+        return url;
+    }
+
+}
@@ -31,12 +31,20 @@
 package UserInterface;
 
 import AcquireProject.Game;
+import AcquireProject.GameRecord;
 import AcquireProject.Loader;
+import Simulation.Bot;
+import Simulation.GreedyBot;
+import Simulation.SimulationRunner;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import lombok.Setter;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
 
 public class UserInterface {
 
@@ -44,14 +52,17 @@ public class UserInterface {
 
     private MainMenu mainMenu;
     private GameUI gameui;
+    private ReplayViewer replayViewer;
     private Loader loader;
 
+    /**
+     * the screens are built the first time they are shown, so the main menu can appear without waiting for a game
+     *
+     * @param stage the window the screens are shown in
+     */
     public UserInterface(Stage stage){
         loader = new Loader();
         this.stage = stage;
-        this.mainMenu = new MainMenu(this);
-        Game game = new Game();
-        this.gameui = new GameUI(this, game);
     }
 
     public UserInterface(){
@@ -66,6 +77,9 @@ public class UserInterface {
      * changes the scene to the game
      */
     public void goToGame(){
+        if(gameui == null){
+            gameui = new GameUI(this, new Game());
+        }
         changeScene(gameui.getScene());
     }
 
@@ -73,13 +87,49 @@ public class UserInterface {
      * changes the scene to the main menu
      */
     public void goToMainMenu(){
+        if(mainMenu == null){
+            mainMenu = new MainMenu(this);
+        }
         changeScene(mainMenu.getScene());
     }
 
+    /**
+     * changes the scene to the replay viewer showing the recorded game in the replay file. When there is no
+     * replay file yet a game between greedy bots is recorded into it, so there is always something to watch
+     */
+    public void goToReplay(){
+        GameRecord record;
+        try {
+            Path file = Paths.get(GameRecord.REPLAY_FILE);
+            if(Files.exists(file)){
+                record = GameRecord.load(file);
+            }else{
+                record = new SimulationRunner().record(Arrays.<Bot>asList(new GreedyBot(), new GreedyBot(),
+                        new GreedyBot(), new GreedyBot()), System.nanoTime());
+                record.save(file);
+            }
+        }catch(IOException e){
+            System.out.println("Problem when loading the replay");
+            e.printStackTrace();
+            return;
+        }
+
+        if(replayViewer == null){
+            replayViewer = new ReplayViewer(this);
+        }
+        replayViewer.load(record);
+        changeScene(replayViewer.getScene());
+    }
+
     /**
      * loads a game from the file
      */
     public void loadGame(){
+        if(gameui == null){
+            // a new game screen shows the state of the game it is made with
+            gameui = new GameUI(this, loader.loadGame());
+            return;
+        }
         gameui.setGame(loader.loadGame());
         gameui.loadState();
     }
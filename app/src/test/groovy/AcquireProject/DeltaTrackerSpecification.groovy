@@ -0,0 +1,210 @@
+package AcquireProject
+
+import spock.lang.Specification
+
+class DeltaTrackerSpecification extends Specification {
+
+    /**
+     * a client's copy of the game, kept up to date only from deltas
+     */
+    static class Mirror {
+        int[] cells = new int[GameState.CELLS]
+        Map<Integer, Integer> balances = [:]
+        Map<List<Integer>, Integer> holdings = [:]
+        int actingSeat = -1
+
+        void apply(DeltaBatch batch){
+            for(int i = 0; i < batch.size(); i++){
+                long delta = batch.get(i)
+                switch(DeltaTracker.getType(delta)){
+                    case DeltaTracker.TILE_PLACED:
+                    case DeltaTracker.TILE_RELABELLED:
+                        cells[DeltaTracker.getTarget(delta)] = DeltaTracker.getValue(delta)
+                        break
+                    case DeltaTracker.BALANCE:
+                        balances[DeltaTracker.getTarget(delta)] = DeltaTracker.getValue(delta)
+                        break
+                    case DeltaTracker.HOLDINGS:
+                        holdings[[DeltaTracker.getTarget(delta), DeltaTracker.getChain(delta)]] = DeltaTracker.getValue(delta)
+                        break
+                    case DeltaTracker.TURN:
+                        actingSeat = DeltaTracker.getTarget(delta)
+                        break
+                }
+            }
+        }
+
+        boolean matches(Game game, List<String> seats){
+            def state = GameState.fromGame(game, 1)
+            def names = game.getPlayerNames()
+            for(int cell = 0; cell < GameState.CELLS; cell++){
+                int expected = state.isOccupied(cell) ? state.getChainAt(cell) + 2 : 0
+                if(cells[cell] != expected){
+                    return false
+                }
+            }
+            for(int i = 0; i < names.size(); i++){
+                int seat = seats.indexOf(names[i])
+                if(balances[seat] != state.getBalance(i)){
+                    return false
+                }
+                for(int chain = 0; chain < GameState.CHAINS; chain++){
+                    if((holdings[[seat, chain]] ?: 0) != state.getHoldings(i, chain)){
+                        return false
+                    }
+                }
+            }
+            return seats[actingSeat] == game.getActingPlayerName()
+        }
+    }
+
+    def game = new Game(3)
+    def tracker = new DeltaTracker()
+    def batch = new DeltaBatch()
+    int[] moves = new int[MoveGenerator.MAX_MOVES]
+
+    def setup(){
+        game.addPlayer("bob")
+        game.addPlayer("fred")
+        game.addPlayer("sue")
+        game.startGame()
+    }
+
+    def "a copy kept from deltas matches the game after every move"(){
+        given:
+        def mirror = new Mirror()
+        tracker.diff(game, batch)
+        mirror.apply(batch)
+
+        when:
+        boolean matched = true
+        for(int turn = 0; turn < 150 && !game.isGameOver(); turn++){
+            int count = game.generateMoves(moves)
+            game.applyMove(moves[turn % count])
+            batch.clear()
+            tracker.diff(game, batch)
+            mirror.apply(batch)
+            if(game.getUIState() != GameState.MERGING){
+                matched &= mirror.matches(game, tracker.getSeats())
+            }
+        }
+
+        then:
+        matched
+        tracker.getSeats() == ["bob", "fred", "sue"]
+    }
+
+    def "mergers played the way the action menus play them can be tracked"(){
+        given:
+        def mirror = new Mirror()
+        int mergers = 0
+
+        when:
+        boolean matched = true
+        for(int turn = 0; turn < 400 && mergers < 3 && !game.isGameOver(); turn++){
+            int count = game.generateMoves(moves)
+            int move = moves[turn % count]
+            if(Move.getType(move) == Move.TYPE_PLACE_TILE){
+                // the place tile menu places the tile itself, then starts any merger the tile caused
+                game.placeTile(game.getCurrentPlayerTiles().indexOf(GameState.cellName(Move.getArgument(move))))
+                game.addTileToCurrentPlayer()
+                if(game.foundNeeded() != null){
+                    game.setUIState(GameState.FOUND_CHAIN)
+                }else if(game.mergeNeeded()){
+                    mergers++
+                    game.startMerging()
+                }else{
+                    game.setUIState(game.gameCanEnd() ? GameState.END_GAME : GameState.BUY_STOCK)
+                }
+            }else{
+                // the merging menu makes its decisions as moves
+                game.applyMove(move)
+            }
+            // switching menus sets the state again before the board and players are updated
+            game.setUIState(game.getUIState())
+            batch.clear()
+            tracker.diff(game, batch)
+            mirror.apply(batch)
+            if(game.getUIState() == GameState.MERGING){
+                matched &= game.getActingPlayerName() == game.getActiveMerger().getPlayerName()
+                matched &= tracker.getSeats()[mirror.actingSeat] == game.getActingPlayerName()
+            }else{
+                matched &= mirror.matches(game, tracker.getSeats())
+            }
+        }
+
+        then:
+        mergers > 0
+        matched
+    }
+
+    def "nothing is reported when nothing changed"(){
+        given:
+        tracker.diff(game, batch)
+        batch.clear()
+
+        when:
+        tracker.diff(game, batch)
+
+        then:
+        batch.isEmpty()
+    }
+
+    def "after the first diff only the tiles and players the game reports as changed are looked at"(){
+        given:
+        for(int turn = 0; turn < 10; turn++){
+            int count = game.generateMoves(moves)
+            game.applyMove(moves[0])
+        }
+        tracker.diff(game, batch)
+        batch.clear()
+        def tile = game.getPlayedTiles().get(0)
+
+        when: "a tile is changed behind the board's back"
+        tile.setChainName("Tower")
+        tracker.diff(game, batch)
+
+        then:
+        batch.isEmpty()
+
+        when: "a tracker that has not seen the game looks over all of it"
+        def fresh = new DeltaTracker()
+        fresh.diff(game, batch)
+
+        then:
+        (0..<batch.size()).collect { DeltaTracker.toString(batch.get(it)) }
+                .contains("placed " + GameState.cellName(GameState.cellOf(tile)) + " Tower")
+    }
+
+    def "a snapshot rebuilds the game for a client that joins late"(){
+        given:
+        for(int turn = 0; turn < 40; turn++){
+            int count = game.generateMoves(moves)
+            game.applyMove(moves[0])
+        }
+        tracker.diff(game, batch)
+        def snapshot = new DeltaBatch()
+        tracker.snapshot(snapshot)
+        def mirror = new Mirror()
+
+        when:
+        mirror.apply(snapshot)
+
+        then:
+        game.getUIState() == GameState.MERGING || mirror.matches(game, tracker.getSeats())
+        snapshot.size() < batch.size() + 30
+    }
+
+    def "deltas pack their fields into one long"(){
+        given:
+        long delta = DeltaTracker.encode(DeltaTracker.HOLDINGS, 4, 6, 25)
+
+        expect:
+        DeltaTracker.getType(delta) == DeltaTracker.HOLDINGS
+        DeltaTracker.getTarget(delta) == 4
+        DeltaTracker.getChain(delta) == 6
+        DeltaTracker.getValue(delta) == 25
+        DeltaTracker.toString(delta) == "seat 4 holds 25 Tower"
+        DeltaTracker.getValue(DeltaTracker.encode(DeltaTracker.BALANCE, 0, 0, 123456)) == 123456
+    }
+}
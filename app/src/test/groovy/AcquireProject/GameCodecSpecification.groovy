@@ -0,0 +1,122 @@
+package AcquireProject
+
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+
+class GameCodecSpecification extends Specification {
+
+    def game = new Game(5)
+    int[] moves = new int[MoveGenerator.MAX_MOVES]
+
+    def setup(){
+        game.addPlayer("bob")
+        game.addPlayer("fred")
+        game.addPlayer("sue")
+        game.startGame()
+    }
+
+    def restore(Game original){
+        GameCodec.decode(ByteBuffer.wrap(GameCodec.encode(original)))
+    }
+
+    def legalMoves(Game g){
+        int count = g.generateMoves(moves)
+        (0..<count).collect { moves[it] }
+    }
+
+    def "a restored game is in the same position and plays on to the end"(){
+        given:
+        def tracker = new DeltaTracker()
+        def batch = new DeltaBatch()
+        boolean same = true
+        int restores = 0
+
+        when:
+        for(int turn = 0; turn < 400 && !game.isGameOver(); turn++){
+            if(game.getUIState() != GameState.MERGING && !game.mergeNeeded()){
+                byte[] stored = GameCodec.encode(game)
+                def copy = GameCodec.decode(ByteBuffer.wrap(stored))
+                tracker.diff(game, batch)
+                batch.clear()
+                tracker.diff(copy, batch)
+                same &= batch.isEmpty()
+                same &= GameCodec.encode(copy) == stored
+                same &= legalMoves(copy) == legalMoves(game)
+                same &= copy.getActingPlayerName() == game.getActingPlayerName()
+                game = copy
+                restores++
+            }
+            def legal = legalMoves(game)
+            game.applyMove(legal[turn % legal.size()])
+        }
+
+        then:
+        same
+        restores > 50
+        game.isGameOver()
+    }
+
+    def "a game waiting for a chain to be founded keeps the tiles being founded"(){
+        when:
+        for(int turn = 0; turn < 400 && Objects.isNull(game.foundNeeded()); turn++){
+            def legal = legalMoves(game)
+            game.applyMove(legal[turn % legal.size()])
+        }
+        def copy = restore(game)
+
+        then:
+        copy.getUIState() == GameState.FOUND_CHAIN
+        copy.foundNeeded().getChainTiles()*.getTileName() == game.foundNeeded().getChainTiles()*.getTileName()
+        legalMoves(copy) == legalMoves(game)
+    }
+
+    def "a game that has not started comes back unstarted"(){
+        given:
+        def waiting = new Game()
+        waiting.addPlayer("bob")
+
+        when:
+        def copy = restore(waiting)
+        copy.addPlayer("sue")
+        copy.startGame()
+
+        then:
+        copy.getPlayerNames() == ["bob", "sue"]
+        copy.getActingPlayerName() == "bob"
+        copy.getNumberOfUnplayedTiles() == GameState.CELLS - 2 * GameState.HAND_SIZE
+    }
+
+    def "players with long names can be stored"(){
+        given:
+        def named = new Game()
+        def names = (1..6).collect { ("p" + it) * 500 }
+        names.each { named.addPlayer(it) }
+        named.startGame()
+
+        expect:
+        restore(named).getPlayerNames() == names
+    }
+
+    def "a stored game is small and quick to restore"(){
+        given:
+        for(int turn = 0; turn < 60; turn++){
+            def legal = legalMoves(game)
+            game.applyMove(legal[turn % legal.size()])
+        }
+        while(game.getUIState() == GameState.MERGING){
+            game.applyMove(legalMoves(game)[0])
+        }
+        byte[] stored = GameCodec.encode(game)
+        1000.times { GameCodec.decode(ByteBuffer.wrap(stored)) }
+
+        when:
+        long started = System.nanoTime()
+        1000.times { GameCodec.decode(ByteBuffer.wrap(stored)) }
+        long micros = (System.nanoTime() - started) / 1000 / 1000
+
+        then:
+        stored.length < 512
+        micros < 1000
+    }
+}
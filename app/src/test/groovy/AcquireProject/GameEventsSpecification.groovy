@@ -0,0 +1,53 @@
+package AcquireProject
+
+import Simulation.GreedyBot
+import Simulation.SimulationRunner
+import jdk.jfr.Recording
+import jdk.jfr.consumer.RecordingFile
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+class GameEventsSpecification extends Specification {
+
+    static final List<String> EVENTS = ["acquire.PlaceTile", "acquire.MoveIsLegal", "acquire.FoundChain",
+                                        "acquire.MergeChains", "acquire.BotDecision"]
+
+    def "engine actions are recorded with the board as it was"(){
+        given:
+        def file = Files.createTempFile("acquire", ".jfr")
+        def recording = new Recording()
+        EVENTS.each { recording.enable(it) }
+        recording.start()
+
+        def game = new Game(5)
+        game.addPlayer("bob")
+        game.addPlayer("fred")
+        game.addPlayer("sue")
+        game.startGame()
+        int[] moves = new int[MoveGenerator.MAX_MOVES]
+        for(int turn = 0; turn < 2000 && !game.isGameOver(); turn++){
+            game.generateMoves(moves)
+            game.applyMove(moves[0])
+        }
+        new SimulationRunner().run([new GreedyBot(), new GreedyBot()], 3)
+
+        when:
+        recording.stop()
+        recording.dump(file)
+        def events = RecordingFile.readAllEvents(file).groupBy { it.getEventType().getName() }
+
+        then:
+        events.keySet().containsAll(EVENTS)
+        events["acquire.PlaceTile"].every { it.getInt("occupiedCells") > 0 && it.getString("tile") != null }
+        events["acquire.FoundChain"].every { it.getString("founder") in ["bob", "fred", "sue"] }
+        events["acquire.MergeChains"].every {
+            it.getInt("acquiredSize") > 0 && it.getInt(it.getString("acquiringChain").toLowerCase()) > it.getInt("acquiredSize")
+        }
+        events["acquire.BotDecision"].every { it.getString("bot") == "Greedy" && it.getInt("legalMoves") > 0 }
+
+        cleanup:
+        recording.close()
+        Files.deleteIfExists(file)
+    }
+}
@@ -0,0 +1,164 @@
+package AcquireProject
+
+import spock.lang.Specification
+
+class GameStateSpecification extends Specification {
+
+    static final int WORLDWIDE = GameState.chainIndex("Worldwide")
+    static final int TOWER = GameState.chainIndex("Tower")
+
+    def state
+
+    def setup(){
+        // seat 0 is dealt the tiles down the first column, seat 1 tiles in the middle of the board,
+        // and the tiles drawn afterwards are all in the last column
+        int[] deck = [0, 1, 3, 4, 2, 40,
+                      60, 62, 64, 80, 82, 84,
+                      99, 100, 101, 102, 103, 104, 105, 106, 107] as int[]
+        state = GameState.withDeck(2, deck)
+    }
+
+    def play(int... moves){
+        for(int move : moves){
+            state = state.apply(move)
+        }
+    }
+
+    def "a new game deals six tiles to every player"(){
+        when:
+        def game = GameState.newGame(4, 1)
+
+        then:
+        game.getTilesLeft() == 108 - 24
+        game.getBalance(3) == 6000
+        game.getHandTile(3, 5) >= 0
+        game.getPhase() == GameState.PLACE_TILE
+    }
+
+    def "applying a move does not change the original state"(){
+        given:
+        def original = state
+
+        when:
+        play(Move.placeTile(0))
+
+        then:
+        state.isOccupied(0)
+        !original.isOccupied(0)
+        original.getHandTile(0, 0) == 0
+        state.getHandTile(0, 0) == 99
+    }
+
+    def "placing a tile next to another founds a chain and gives the founder a stock"(){
+        when:
+        play(Move.placeTile(0), Move.END_TURN, Move.placeTile(60), Move.END_TURN, Move.placeTile(1))
+
+        then:
+        state.getPhase() == GameState.FOUND_CHAIN
+
+        when:
+        play(Move.foundChain(TOWER))
+
+        then:
+        state.getChainSize(TOWER) == 2
+        state.getChainAt(0) == TOWER
+        state.getHoldings(0, TOWER) == 1
+        state.getBankStock(TOWER) == 24
+        state.getPhase() == GameState.BUY_STOCK
+
+        when:
+        play(Move.buyStock(TOWER))
+
+        then:
+        state.getBalance(0) == 5600
+        state.getStockLeftToBuy() == 2
+    }
+
+    def "joining two chains merges the smaller one and pays the shareholders"(){
+        when:
+        play(Move.placeTile(0), Move.END_TURN,
+                Move.placeTile(60), Move.END_TURN,
+                Move.placeTile(1), Move.foundChain(WORLDWIDE), Move.END_TURN,
+                Move.placeTile(62), Move.END_TURN,
+                Move.placeTile(3), Move.END_TURN,
+                Move.placeTile(64), Move.END_TURN,
+                Move.placeTile(4), Move.foundChain(TOWER), Move.END_TURN,
+                Move.placeTile(80), Move.END_TURN,
+                Move.placeTile(2))
+
+        then:
+        state.getPhase() == GameState.MERGING
+        state.getAcquiringChain() == WORLDWIDE
+        state.getAcquiredChain() == TOWER
+        state.getMergeDecider() == 0
+        state.getBalance(0) == 12000
+
+        when:
+        play(Move.SELL_STOCK, Move.HOLD_STOCK)
+
+        then:
+        state.getBalance(0) == 12400
+        state.getHoldings(0, TOWER) == 0
+        state.getChainSize(WORLDWIDE) == 5
+        state.getChainSize(TOWER) == 0
+        state.getChainAt(4) == WORLDWIDE
+        state.getPhase() == GameState.BUY_STOCK
+    }
+
+    def "illegal moves are rejected"(){
+        when:
+        state.apply(Move.buyStock(TOWER))
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        state.apply(Move.placeTile(60))
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "placing from an empty hand slot is rejected"(){
+        given: "a deck with only the dealt tiles, so the slot seat 0 plays from is not refilled"
+        state = GameState.withDeck(2, [0, 1, 3, 4, 2, 40, 60, 62, 64, 80, 82, 84] as int[])
+        play(Move.placeTile(0), Move.END_TURN, Move.placeTile(60), Move.END_TURN)
+
+        expect:
+        state.getHandTile(0, 0) == -1
+
+        when:
+        state.apply(Move.placeTile(127))
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "a game can be copied from the facade"(){
+        given:
+        def game = new Game(5)
+        game.addPlayer("bob")
+        game.addPlayer("fred")
+        game.goToNextPlayer()
+
+        when:
+        def copy = GameState.fromGame(game, 1)
+
+        then:
+        copy.getNumberOfPlayers() == 2
+        copy.getTilesLeft() == 96
+        copy.getHandTile(1, 5) == GameState.cellOf(game.getPlayers().toList().get(1).getPlayerTiles().get(5))
+        copy.getPhase() == GameState.PLACE_TILE
+    }
+
+    def "reshuffling keeps the position and only changes the tiles still to be drawn"(){
+        when:
+        def reshuffled = state.reshuffle(3)
+
+        then:
+        reshuffled.getHandTile(0, 0) == state.getHandTile(0, 0)
+        reshuffled.getTilesLeft() == state.getTilesLeft()
+        PositionHash.publicHash(reshuffled) == PositionHash.publicHash(state)
+        reshuffled.apply(Move.placeTile(0)).getHandTile(0, 0) in (99..107)
+    }
+}
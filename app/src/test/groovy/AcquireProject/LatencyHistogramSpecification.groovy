@@ -0,0 +1,62 @@
+package AcquireProject
+
+import spock.lang.Specification
+
+class LatencyHistogramSpecification extends Specification {
+
+    def "percentiles are within one percent of the recorded values"(){
+        given:
+        def histogram = new LatencyHistogram(1_000_000_000L)
+        (1..100000).each { histogram.record(it * 100L) }
+
+        expect:
+        Math.abs(histogram.getValueAtPercentile(50) - 5_000_000) <= 50_000
+        Math.abs(histogram.getValueAtPercentile(99) - 9_900_000) <= 99_000
+        Math.abs(histogram.getValueAtPercentile(99.9) - 9_990_000) <= 99_900
+        histogram.getValueAtPercentile(100) == 10_000_000
+        histogram.getMin() == 100
+        histogram.getTotalCount() == 100000
+        histogram.getMean() == 5_000_050
+    }
+
+    def "small values are kept exactly"(){
+        given:
+        def histogram = new LatencyHistogram(1000)
+        [3, 1, 2, 200].each { histogram.record(it) }
+
+        expect:
+        histogram.getValueAtPercentile(25) == 1
+        histogram.getValueAtPercentile(50) == 2
+        histogram.getValueAtPercentile(75) == 3
+        histogram.getValueAtPercentile(100) == 200
+    }
+
+    def "values past the highest trackable value are counted as it"(){
+        given:
+        def histogram = new LatencyHistogram(1000)
+
+        when:
+        histogram.record(5000)
+
+        then:
+        histogram.getMax() == 1000
+        histogram.getValueAtPercentile(100) == 1000
+    }
+
+    def "histograms from several threads add up"(){
+        given:
+        def a = new LatencyHistogram(1_000_000)
+        def b = new LatencyHistogram(1_000_000)
+        (1..50).each { a.record(it) }
+        (51..100).each { b.record(it) }
+
+        when:
+        a.add(b)
+
+        then:
+        a.getTotalCount() == 100
+        a.getValueAtPercentile(50) == 50
+        a.getMax() == 100
+        a.getMin() == 1
+    }
+}
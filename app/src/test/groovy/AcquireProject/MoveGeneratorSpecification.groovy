@@ -0,0 +1,78 @@
+package AcquireProject
+
+import spock.lang.Specification
+
+class MoveGeneratorSpecification extends Specification {
+
+    def moves = new int[MoveGenerator.MAX_MOVES]
+
+    def "every generated move can be applied until the game is over"(){
+        given:
+        def random = new Random(seed)
+        def state = GameState.newGame(players, seed)
+
+        when:
+        while(!state.isGameOver()){
+            int count = MoveGenerator.generate(state, moves)
+            state = state.apply(moves[random.nextInt(count)])
+        }
+
+        then:
+        MoveGenerator.generate(state, moves) == 0
+
+        where:
+        players | seed
+        2       | 1
+        4       | 2
+        6       | 3
+    }
+
+    def "the first moves are the legal tiles in the first player's hand"(){
+        given:
+        def state = GameState.newGame(3, 9)
+
+        when:
+        int count = MoveGenerator.generate(state, moves)
+
+        then:
+        count == 6
+        Move.getType(moves[0]) == Move.TYPE_PLACE_TILE
+        Move.getArgument(moves[0]) == state.getHandTile(0, 0)
+    }
+
+    def "a game can be played through the facade with moves"(){
+        given:
+        def random = new Random(4)
+        def game = new Game(4)
+        game.addPlayer("bob")
+        game.addPlayer("fred")
+        game.addPlayer("sue")
+        game.startGame()
+
+        when:
+        int applied = 0
+        while(!game.isGameOver() && applied < 5000){
+            int count = game.generateMoves(moves)
+            game.applyMove(moves[random.nextInt(count)])
+            applied++
+        }
+
+        then:
+        game.isGameOver()
+        game.generateMoves(moves) == 0
+    }
+
+    def "the facade rejects moves that are not legal"(){
+        given:
+        def game = new Game(4)
+        game.addPlayer("bob")
+        game.addPlayer("fred")
+        game.startGame()
+
+        when:
+        game.applyMove(Move.END_TURN)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -7,7 +7,7 @@ class PlayerSpecification extends Specification{
     def listOfTiles
 
     def setup(){
-        testPlayer = new Player();
+        testPlayer = new Player("test", new ArrayList<Tile>());
         def tile1 = new Tile(Arrays.asList(1,6))
         def tile2 = new Tile(Arrays.asList(2,5))
         def tile3 = new Tile(Arrays.asList(3,4))
@@ -27,4 +27,23 @@ class PlayerSpecification extends Specification{
 //        when:
 //        testPlayer.giveNewHand()
     }
-}
\ No newline at end of file
+
+    def "stock counts follow the stocks a player gains and loses"(){
+        given:
+        def player = new Player("steve", new ArrayList<Tile>())
+        def tower = new Stock("Tower")
+        def sackson = new Stock("Sackson")
+
+        when:
+        player.addStock(tower)
+        player.addStock(new Stock("Tower"))
+        player.addStock(sackson)
+        player.removeStock(tower)
+        player.removeStock(tower)
+
+        then:
+        player.getStockCount(GameState.chainIndex("Tower")) == 1
+        player.getStockCount(GameState.chainIndex("Sackson")) == 1
+        player.getStockCount(GameState.chainIndex("Worldwide")) == 0
+    }
+}
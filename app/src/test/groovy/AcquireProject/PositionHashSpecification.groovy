@@ -0,0 +1,53 @@
+package AcquireProject
+
+import spock.lang.Specification
+
+class PositionHashSpecification extends Specification {
+
+    def deal(int transform){
+        int[] deck = [0, 1, 3, 4, 2, 40,
+                      60, 62, 64, 80, 82, 84,
+                      99, 100, 101, 102, 103, 104] as int[]
+        for(int i = 0; i < deck.length; i++){
+            deck[i] = PositionHash.transformCell(deck[i], transform)
+        }
+        return GameState.withDeck(2, deck)
+    }
+
+    def "mirroring a cell twice gives the cell back"(){
+        expect:
+        (0..<GameState.CELLS).every { cell ->
+            (0..<PositionHash.TRANSFORMS).every { transform ->
+                PositionHash.transformCell(PositionHash.transformCell(cell, transform), transform) == cell
+            }
+        }
+    }
+
+    def "mirror images of a position share a canonical hash"(){
+        given:
+        def state = deal(0).apply(Move.placeTile(0))
+        def mirrored = deal(3).apply(Move.placeTile(PositionHash.transformCell(0, 3)))
+
+        expect:
+        PositionHash.hash(state, 0) != PositionHash.hash(mirrored, 0)
+        PositionHash.canonicalHash(state) == PositionHash.canonicalHash(mirrored)
+    }
+
+    def "canonical moves match between mirror images"(){
+        given:
+        def state = deal(0).apply(Move.placeTile(0)).apply(Move.END_TURN)
+        def mirrored = deal(2).apply(Move.placeTile(PositionHash.transformCell(0, 2))).apply(Move.END_TURN)
+
+        expect:
+        PositionHash.transformMove(Move.placeTile(60), PositionHash.canonicalTransform(state)) ==
+                PositionHash.transformMove(Move.placeTile(PositionHash.transformCell(60, 2)),
+                        PositionHash.canonicalTransform(mirrored))
+        PositionHash.transformMove(Move.END_TURN, 3) == Move.END_TURN
+    }
+
+    def "positions with different boards hash differently"(){
+        expect:
+        PositionHash.canonicalHash(deal(0).apply(Move.placeTile(0))) !=
+                PositionHash.canonicalHash(deal(0).apply(Move.placeTile(40)))
+    }
+}
@@ -0,0 +1,64 @@
+package AcquireProject
+
+import Simulation.RandomBot
+import Simulation.SimulationRunner
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+class ReplaySpecification extends Specification {
+
+    def record = new SimulationRunner().record([new RandomBot(1), new RandomBot(2), new RandomBot(3)], 11)
+
+    def describe(GameState state){
+        def cells = (0..<GameState.CELLS).collect { state.isOccupied(it) ? state.getChainAt(it) : -2 }
+        def balances = (0..<state.getNumberOfPlayers()).collect { state.getBalance(it) }
+        [cells, balances, state.getTurn(), state.getPhase()]
+    }
+
+    def played(int moves){
+        def state = record.start()
+        for(int i = 0; i < moves; i++){
+            state = state.apply(record.getMove(i))
+        }
+        state
+    }
+
+    def "seeking to any move shows the game as it was after that move"(){
+        given:
+        def replay = new Replay(record)
+        def random = new Random(3)
+        def positions = [replay.getLength(), 0, Replay.KEYFRAME_INTERVAL, Replay.KEYFRAME_INTERVAL - 1] +
+                (0..<40).collect { random.nextInt(replay.getLength() + 1) }
+
+        expect:
+        record.getNumberOfMoves() > Replay.KEYFRAME_INTERVAL * 2
+        positions.every { describe(replay.seek(it)) == describe(played(it)) && replay.getPosition() == it }
+        replay.seek(replay.getLength()).isGameOver()
+    }
+
+    def "a saved record plays back the same game"(){
+        given:
+        def file = Files.createTempFile("replay", ".json")
+        record.save(file)
+
+        when:
+        def loaded = GameRecord.load(file)
+
+        then:
+        loaded.getNumberOfMoves() == record.getNumberOfMoves()
+        loaded.getName(2) == "Random"
+        describe(new Replay(loaded).seek(loaded.getNumberOfMoves())) == describe(played(record.getNumberOfMoves()))
+
+        cleanup:
+        Files.deleteIfExists(file)
+    }
+
+    def "seeking outside the game is refused"(){
+        when:
+        new Replay(record).seek(record.getNumberOfMoves() + 1)
+
+        then:
+        thrown(IndexOutOfBoundsException)
+    }
+}
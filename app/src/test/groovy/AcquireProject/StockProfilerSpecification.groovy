@@ -50,8 +50,6 @@ class StockProfilerSpecification extends Specification {
 
         american = new HotelChain("American",1)
         worldwide = new HotelChain("Worldwide",0)
-        stockprofiler.addChain(american.getName())
-        stockprofiler.addChain(worldwide.getName())
     }
 
     /**
@@ -93,7 +91,6 @@ class StockProfilerSpecification extends Specification {
     def "chain-sackson-profile"(){
 
         def sackson = new HotelChain("Sackson",0)
-        stockprofiler.addChain(sackson.getName())
         def p1 = new Player("bob",  Arrays.asList(t1,t2,t3,t4,t5,t6))
         sackson.giveStock(p1);
         sackson.giveStock(p1);
@@ -105,4 +102,33 @@ class StockProfilerSpecification extends Specification {
         expect:
         stockprofiler.createChainProfile(sackson) == map
     }
-}
\ No newline at end of file
+
+    /**
+     * lists every chain that is given, even the ones the player owns no stock in
+     */
+    def "player-profile-lists-game-chains"(){
+        def p1 = new Player("bob",Arrays.asList(t1,t2,t3,t4,t5,t6))
+        p1.addStock(new Stock("Worldwide"))
+
+        expect:
+        stockprofiler.createPlayerProfile(p1, ["American", "Worldwide"]) == ["American": 0, "Worldwide": 1]
+        stockprofiler.createPlayerProfile(p1) == ["Worldwide": 1]
+    }
+
+    /**
+     * a new game does not change the chains listed in another game's profiles
+     */
+    def "games-keep-their-own-chains"(){
+        def first = new Game(1L)
+        first.addPlayer("bob")
+        def chains = first.getPlayerStockProfiles().get(0).keySet()
+
+        when:
+        new HotelChain("American",1)
+        new Game(2L)
+
+        then:
+        first.getPlayerStockProfiles().get(0).keySet() == chains
+        chains.size() == 7
+    }
+}
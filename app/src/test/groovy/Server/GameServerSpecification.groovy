@@ -0,0 +1,255 @@
+package Server
+
+import AcquireProject.DeltaTracker
+import AcquireProject.Move
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class GameServerSpecification extends Specification {
+
+    def server = new GameServer(0, 4)
+    int port
+
+    def setup(){
+        port = server.start()
+    }
+
+    def cleanup(){
+        server.stop()
+    }
+
+    def "a client can create a table and join it"(){
+        given:
+        def client = new ScriptedClient(port)
+
+        when:
+        def table = client.request("CREATE")
+        def joined = client.request("JOIN " + table.split(" ")[1] + " bob")
+
+        then:
+        table ==~ /TABLE \d+/
+        joined == "JOINED " + table.split(" ")[1] + " bob"
+        client.readLine() == "PLAYER bob"
+        client.readLine().startsWith("SNAPSHOT bob " + DeltaTracker.encode(DeltaTracker.BALANCE, 0, 0, 6000))
+        client.request("START") == "ERROR at least 2 players are needed"
+
+        cleanup:
+        client.close()
+    }
+
+    def "a client can only have a few tables open"(){
+        given:
+        def client = new ScriptedClient(port)
+
+        when:
+        def created = (1..TableRegistry.MAX_TABLES_PER_CLIENT).collect { client.request("CREATE") }
+
+        then:
+        created.every { it ==~ /TABLE \d+/ }
+        client.request("CREATE") == "ERROR at most " + TableRegistry.MAX_TABLES_PER_CLIENT + " open tables per client"
+
+        cleanup:
+        client.close()
+    }
+
+    def "commands that need a table are refused before joining"(){
+        given:
+        def client = new ScriptedClient(port)
+
+        expect:
+        client.request("MOVE 1") == "ERROR join a table first"
+        client.request("FLY") == "ERROR unknown command FLY"
+        client.request("QUIT") == "BYE"
+
+        cleanup:
+        client.close()
+    }
+
+    def "a full queue of players is matched into a started game"(){
+        given:
+        def clients = (1..Table.MAX_PLAYERS).collect { new ScriptedClient(port) }
+
+        when:
+        def queued = clients.withIndex().collect { c, i -> c.request("QUEUE p" + i + " 1500") }
+        def matched = clients.collect { it.readUntil { it.startsWith("MATCHED") } }
+        def started = clients.collect { it.readUntil { it.startsWith("STARTED") } }
+
+        then:
+        queued.every { it == "QUEUED 1500" }
+        matched.toSet().size() == 1
+        started.every { it.split(" ").length == Table.MAX_PLAYERS + 1 }
+
+        cleanup:
+        clients*.close()
+    }
+
+    def "only the acting player can move"(){
+        given:
+        def bob = new ScriptedClient(port)
+        def sue = new ScriptedClient(port)
+        def id = bob.request("CREATE").split(" ")[1]
+        bob.request("JOIN " + id + " bob")
+        sue.request("JOIN " + id + " sue")
+        bob.request("START")
+
+        when:
+        def turn = bob.readUntil { it.startsWith("TURN") }
+        def waiting = turn == "TURN bob" ? sue : bob
+        waiting.readUntil { it.startsWith("CLOCK") }
+
+        then:
+        waiting.request("MOVE " + Move.END_TURN).startsWith("ERROR it is")
+
+        cleanup:
+        bob.close()
+        sue.close()
+    }
+
+    def "spectators get a snapshot and then the changes batched per tick"(){
+        given:
+        def bob = new ScriptedClient(port)
+        def sue = new ScriptedClient(port)
+        def id = bob.request("CREATE").split(" ")[1]
+        bob.request("JOIN " + id + " bob")
+        sue.request("JOIN " + id + " sue")
+        def watcher = new ScriptedClient(port)
+
+        when:
+        def watching = watcher.request("WATCH " + id)
+        def snapshot = watcher.readLine()
+        bob.send("START")
+        def deltas = watcher.readUntil { it.startsWith("DELTAS") }
+
+        then:
+        watching == "WATCHING " + id
+        snapshot.startsWith("SNAPSHOT bob,sue ")
+        deltas.split(" ").drop(1).any { DeltaTracker.getType(it as long) == DeltaTracker.TURN }
+        watcher.request("RESYNC").startsWith("SNAPSHOT bob,sue ")
+        watcher.request("START") == "ERROR spectators can not start the game"
+
+        cleanup:
+        bob.close()
+        sue.close()
+        watcher.close()
+    }
+
+    def "a player can finish a game against a bot"(){
+        given:
+        def client = new ScriptedClient(port)
+        def id = client.request("CREATE").split(" ")[1]
+        client.request("JOIN " + id + " bob")
+
+        when:
+        client.send("ADDBOT robot")
+        client.readUntil { it == "PLAYER robot" }
+        client.send("START")
+        def result = client.playFirstMoves()
+
+        then:
+        result.startsWith("GAME_OVER")
+
+        cleanup:
+        client.close()
+    }
+
+    def "many tables play to the end at the same time"(){
+        given:
+        def pool = Executors.newCachedThreadPool()
+        def players = []
+        20.times {
+            def host = new ScriptedClient(port)
+            def id = host.request("CREATE").split(" ")[1]
+            host.request("JOIN " + id + " host")
+            def guest = new ScriptedClient(port)
+            guest.request("JOIN " + id + " guest")
+            host.readUntil { it == "PLAYER guest" }
+            players << host << guest
+        }
+
+        when:
+        players.each { it.send("START") }
+        def results = pool.invokeAll(players.collect { client ->
+            { -> client.playFirstMoves() } as Callable<String>
+        }, 60, TimeUnit.SECONDS)
+
+        then:
+        results.every { it.get().startsWith("GAME_OVER") }
+        new PollingConditions(timeout: 10).eventually {
+            assert server.getTables().getNumberOfTables() == 0
+        }
+
+        cleanup:
+        players.each { it.close() }
+        pool.shutdownNow()
+    }
+}
+
+/**
+ * a client that plays from a script over a real socket
+ */
+class ScriptedClient {
+
+    Socket socket
+    BufferedReader reader
+    PrintWriter writer
+    String name
+
+    ScriptedClient(int port){
+        socket = new Socket("localhost", port)
+        socket.setSoTimeout(30000)
+        reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8"))
+        writer = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), "UTF-8"), true)
+    }
+
+    void send(String line){
+        writer.println(line)
+    }
+
+    String readLine(){
+        return reader.readLine()
+    }
+
+    String readUntil(Closure<Boolean> condition){
+        String line
+        while((line = readLine()) != null && !condition(line)){
+        }
+        return line
+    }
+
+    String request(String line){
+        send(line)
+        def reply = readLine()
+        if(reply.startsWith("JOINED")){
+            name = reply.split(" ")[2]
+        }
+        return reply
+    }
+
+    /**
+     * plays the first legal move whenever it is this client's turn
+     *
+     * @return the GAME_OVER line
+     */
+    String playFirstMoves(){
+        String line
+        while((line = readLine()) != null){
+            if(line.startsWith("GAME_OVER")){
+                return line
+            }
+            if(line == "TURN " + name){
+                send("MOVES")
+                def moves = readUntil { it.startsWith("MOVES") }.split(" ")
+                send("MOVE " + moves[2])
+            }
+        }
+        return "DISCONNECTED"
+    }
+
+    void close(){
+        socket.close()
+    }
+}
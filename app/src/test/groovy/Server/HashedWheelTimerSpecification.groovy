@@ -0,0 +1,99 @@
+package Server
+
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class HashedWheelTimerSpecification extends Specification {
+
+    def timer = new HashedWheelTimer(5, 8)
+
+    def cleanup(){
+        timer.shutdown()
+    }
+
+    def "tasks run on the timer's thread in deadline order"(){
+        given:
+        def order = new CopyOnWriteArrayList()
+        def threads = ConcurrentHashMap.newKeySet()
+        def done = new CountDownLatch(3)
+
+        when:
+        [60, 20, 40].each { delay ->
+            timer.schedule({ order << delay; threads << Thread.currentThread().getName(); done.countDown() }, delay)
+        }
+
+        then:
+        done.await(5, TimeUnit.SECONDS)
+        order == [20, 40, 60]
+        threads == ["acquire-timer"].toSet()
+        timer.getNumberOfPending() == 0
+    }
+
+    def "a deadline further out than one turn of the wheel is not run early"(){
+        given:
+        def done = new CountDownLatch(1)
+        long ranAfter = 0
+        long started = System.nanoTime()
+
+        when:
+        timer.schedule({ ranAfter = (System.nanoTime() - started) / 1000000; done.countDown() }, 200)
+
+        then:
+        done.await(5, TimeUnit.SECONDS)
+        ranAfter >= 200
+    }
+
+    def "a cancelled task never runs and an expired one can not be cancelled"(){
+        given:
+        def ran = new AtomicInteger()
+        def done = new CountDownLatch(1)
+
+        when:
+        def cancelled = timer.schedule({ ran.incrementAndGet() }, 30)
+        def expired = timer.schedule({ done.countDown() }, 10)
+
+        then:
+        cancelled.cancel()
+        cancelled.isCancelled()
+        done.await(5, TimeUnit.SECONDS)
+        !expired.cancel()
+        expired.isExpired()
+
+        when:
+        Thread.sleep(100)
+
+        then:
+        ran.get() == 0
+        timer.getNumberOfPending() == 0
+    }
+
+    def "tens of thousands of deadlines are run or cancelled"(){
+        given:
+        def random = new Random(3)
+        def ran = new AtomicInteger()
+        def count = 50000
+        def done = new CountDownLatch(count / 2 as int)
+
+        when:
+        def timeouts = (0..<count).collect { i ->
+            // the ones to cancel are far enough out that they can not have run yet
+            timer.schedule({ ran.incrementAndGet(); done.countDown() }, random.nextInt(200) + (i % 2) * 5000)
+        }
+        timeouts.eachWithIndex { t, i -> if(i % 2 == 1) t.cancel() }
+
+        then:
+        done.await(10, TimeUnit.SECONDS)
+
+        when:
+        Thread.sleep(300)
+
+        then:
+        ran.get() == count / 2
+        timer.getNumberOfPending() == 0
+    }
+}
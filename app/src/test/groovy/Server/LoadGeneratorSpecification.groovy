@@ -0,0 +1,43 @@
+package Server
+
+import spock.lang.Specification
+
+class LoadGeneratorSpecification extends Specification {
+
+    def server = new NioServer(0, 2, 2)
+    int port
+
+    def setup(){
+        port = server.start()
+    }
+
+    def cleanup(){
+        server.stop()
+    }
+
+    def "simulated clients play their games to the end and every action is timed"(){
+        given:
+        def generator = new LoadGenerator("localhost", port, 8, 2, 1, 2, 1)
+
+        when:
+        def report = generator.run()
+        def latencies = report.getLatencies()
+
+        then:
+        report.getGames() == 8
+        report.getErrors() == 0
+        latencies.getTotalCount() > 100
+        latencies.getValueAtPercentile(50) <= latencies.getValueAtPercentile(99)
+        latencies.getValueAtPercentile(99) <= latencies.getMax()
+        report.getActionsPerSecond() > 0
+        report.toString().contains("p99.9")
+    }
+
+    def "a table must have room for its clients and bots"(){
+        when:
+        new LoadGenerator("localhost", port, 8, 5, 2, 1, 1)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,97 @@
+package Server
+
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class MailboxSpecification extends Specification {
+
+    def pool = Executors.newFixedThreadPool(4)
+
+    def cleanup(){
+        pool.shutdownNow()
+    }
+
+    def "messages from many threads run one at a time in the order each thread posted them"(){
+        given:
+        def mailbox = new Mailbox(pool, 100000)
+        def running = new AtomicInteger()
+        def overlapped = new AtomicInteger()
+        def seen = [:].withDefault { [] }
+        def done = new CountDownLatch(4000)
+        def producers = Executors.newFixedThreadPool(4)
+
+        when:
+        4.times { producer ->
+            producers.execute {
+                1000.times { i ->
+                    mailbox.offer {
+                        if(running.incrementAndGet() > 1){
+                            overlapped.incrementAndGet()
+                        }
+                        seen[producer] << i
+                        running.decrementAndGet()
+                        done.countDown()
+                    }
+                }
+            }
+        }
+
+        then:
+        done.await(10, TimeUnit.SECONDS)
+        overlapped.get() == 0
+        (0..3).every { seen[it] == (0..<1000).toList() }
+
+        cleanup:
+        producers.shutdownNow()
+    }
+
+    def "requests are turned away once the mailbox is full"(){
+        given:
+        def mailbox = new Mailbox(pool, 2)
+        def release = new CountDownLatch(1)
+        def started = new CountDownLatch(1)
+        mailbox.offer { started.countDown(); release.await() }
+        started.await()
+
+        expect:
+        mailbox.offer {}
+        mailbox.offer {}
+        !mailbox.offer {}
+        mailbox.getNumberOfRejections() == 1
+
+        when:
+        mailbox.put {}
+
+        then:
+        mailbox.getSize() == 3
+
+        cleanup:
+        release.countDown()
+    }
+
+    def "a busy table does not hold up another table on the same thread"(){
+        given:
+        def single = Executors.newSingleThreadExecutor()
+        def busy = new Mailbox(single, 1000)
+        def quiet = new Mailbox(single, 1000)
+        def busyRun = new AtomicInteger()
+        def quietSawBusy = new AtomicInteger(-1)
+        def done = new CountDownLatch(1)
+
+        when:
+        single.execute { Thread.sleep(50) }
+        500.times { busy.offer { busyRun.incrementAndGet() } }
+        quiet.offer { quietSawBusy.set(busyRun.get()); done.countDown() }
+        done.await(10, TimeUnit.SECONDS)
+
+        then:
+        quietSawBusy.get() < 500
+
+        cleanup:
+        single.shutdownNow()
+    }
+}
@@ -0,0 +1,244 @@
+package Server
+
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.function.LongSupplier
+
+class MatchmakerSpecification extends Specification {
+
+    def scheduler = new ShardedScheduler(2)
+    def timer = new HashedWheelTimer()
+    def tables = new TableRegistry(scheduler, timer)
+    long now = 0
+    def matchmaker = new Matchmaker(tables, { now } as LongSupplier, false)
+
+    def cleanup(){
+        scheduler.shutdown()
+        timer.shutdown()
+    }
+
+    def client(){
+        def lines = new ConcurrentLinkedQueue<String>()
+        def session = new ClientSession(new RecordingConnection(lines))
+        [session: session, lines: lines]
+    }
+
+    def matchedTable(client){
+        def deadline = System.currentTimeMillis() + 5000
+        def line = null
+        while(line == null && !client.lines.contains("UNQUEUED") && System.currentTimeMillis() < deadline){
+            line = client.lines.find { it.startsWith("MATCHED") }
+            if(line == null){
+                Thread.sleep(5)
+            }
+        }
+        line == null ? null : line.split(" ")[1] as int
+    }
+
+    def waitFor(Closure condition){
+        def deadline = System.currentTimeMillis() + 5000
+        while(!condition() && System.currentTimeMillis() < deadline){
+            Thread.sleep(10)
+        }
+        condition()
+    }
+
+    def "a full table of closely rated players is matched straight away and the game started"(){
+        given:
+        def clients = (1..6).collect { client() }
+
+        when:
+        clients.eachWithIndex { c, i -> matchmaker.queue(c.session, "p" + i, 1500 + i * 10) }
+        def created = matchmaker.round()
+
+        then:
+        created == 1
+        clients.every { matchedTable(it) == matchedTable(clients[0]) }
+        matchmaker.getNumberOfWaiting() == 0
+
+        when:
+        def table = tables.getTable(matchedTable(clients[0]))
+        def deadline = System.currentTimeMillis() + 5000
+        while(!table.isStarted() && System.currentTimeMillis() < deadline){
+            Thread.sleep(10)
+        }
+
+        then:
+        table.isStarted()
+        table.getNumberOfPlayers() == 6
+    }
+
+    def "a partial table waits until its players have waited long enough"(){
+        given:
+        def clients = (1..3).collect { client() }
+        clients.eachWithIndex { c, i -> matchmaker.queue(c.session, "p" + i, 1500) }
+
+        expect:
+        matchmaker.round() == 0
+
+        when:
+        now += Matchmaker.SEAT_RELAX_MILLIS * 3
+
+        then:
+        matchmaker.round() == 1
+        clients.every { matchedTable(it) != null }
+    }
+
+    def "players far apart in rating are only matched once the band has widened"(){
+        given:
+        def low = client()
+        def high = client()
+        matchmaker.queue(low.session, "low", 1000)
+        matchmaker.queue(high.session, "high", 1800)
+        now += Matchmaker.SEAT_RELAX_MILLIS * 4
+
+        expect:
+        matchmaker.round() == 0
+
+        when:
+        now = 1000L * (800 - Matchmaker.BASE_BAND) / Matchmaker.BAND_GROWTH_PER_SECOND
+
+        then:
+        matchmaker.round() == 1
+        matchedTable(low) == matchedTable(high)
+    }
+
+    def "players are grouped with the closest ratings"(){
+        given:
+        def clients = [1000, 2000, 1010, 2010, 1020, 2020, 1030, 2030, 1040, 2040, 1050, 2050].collect { rating ->
+            def c = client()
+            c.rating = rating
+            c
+        }
+        clients.eachWithIndex { c, i -> matchmaker.queue(c.session, "p" + i, c.rating) }
+
+        when:
+        def created = matchmaker.round()
+        def tablesByRating = clients.groupBy { it.rating < 1500 }.collect { k, v -> v.collect { matchedTable(it) } as Set }
+
+        then:
+        created == 2
+        tablesByRating.every { it.size() == 1 }
+        tablesByRating[0] != tablesByRating[1]
+    }
+
+    def "a cancelled player is not matched"(){
+        given:
+        def clients = (1..6).collect { client() }
+        clients.eachWithIndex { c, i -> matchmaker.queue(c.session, "p" + i, 1500) }
+
+        when:
+        matchmaker.cancel(clients[0].session)
+        def created = matchmaker.round()
+
+        then:
+        created == 0
+        clients[0].lines.contains("UNQUEUED")
+        matchedTable(clients[0]) == null
+        !matchmaker.isQueued(clients[0].session)
+        matchmaker.getNumberOfWaiting() == 5
+    }
+
+    def "players sharing a name are never put at the same table"(){
+        given:
+        def amy = client()
+        def other = client()
+        matchmaker.queue(amy.session, "amy", 1500)
+        matchmaker.queue(other.session, "amy", 1500)
+        now += Matchmaker.SEAT_RELAX_MILLIS * 4
+
+        expect:
+        matchmaker.round() == 0
+        matchmaker.getNumberOfWaiting() == 2
+    }
+
+    def "a matched player who sat down elsewhere is turned away and the rest play on"(){
+        given:
+        def clients = (1..3).collect { client() }
+        clients.eachWithIndex { c, i -> matchmaker.queue(c.session, "p" + i, 1500) }
+        tables.createTable().watch(clients[0].session)
+        now += Matchmaker.SEAT_RELAX_MILLIS * 3
+
+        when:
+        matchmaker.round()
+        def table = tables.getTable(matchedTable(clients[1]))
+
+        then:
+        matchedTable(clients[0]) == null
+        clients[0].lines.contains("UNQUEUED")
+        matchedTable(clients[2]) == table.getId()
+        clients[1].lines.contains("MATCHED " + table.getId() + " 2")
+        waitFor { table.isStarted() }
+        table.getNumberOfPlayers() == 2
+    }
+
+    def "a match that falls through tells the players and closes its table"(){
+        given:
+        def clients = (1..2).collect { client() }
+        clients.eachWithIndex { c, i -> matchmaker.queue(c.session, "p" + i, 1500) }
+        tables.createTable().watch(clients[0].session)
+        now += Matchmaker.SEAT_RELAX_MILLIS * 4
+
+        when:
+        def created = matchmaker.round()
+
+        then:
+        created == 1
+        matchedTable(clients[0]) == null
+        matchedTable(clients[1]) == null
+        clients[1].lines.contains("UNQUEUED")
+        waitFor { tables.getNumberOfTables() == 1 }
+        clients[1].session.getTable() == null
+    }
+
+    def "a client can only queue once"(){
+        given:
+        def c = client()
+
+        when:
+        matchmaker.queue(c.session, "p", 1500)
+        matchmaker.queue(c.session, "p", 1500)
+
+        then:
+        c.lines.toList() == ["QUEUED 1500", "ERROR already queued"]
+    }
+
+    def "thousands of players queueing from many threads are all matched"(){
+        given:
+        def clients = (1..6000).collect { client() }
+        def producers = Executors.newFixedThreadPool(4)
+        def queued = new CountDownLatch(clients.size())
+        def random = new Random(7)
+        def ratings = clients.collect { 1000 + random.nextInt(1000) }
+
+        when:
+        long started = System.nanoTime()
+        clients.eachWithIndex { c, i ->
+            producers.execute {
+                matchmaker.queue(c.session, "p" + i, ratings[i])
+                queued.countDown()
+            }
+        }
+        queued.await(10, TimeUnit.SECONDS)
+        int created = 0
+        10.times {
+            created += matchmaker.round()
+            now += Matchmaker.SEAT_RELAX_MILLIS
+        }
+        long millis = (System.nanoTime() - started) / 1000000
+
+        then:
+        matchmaker.getNumberOfWaiting() == 0
+        clients.every { matchedTable(it) != null }
+        created == tables.getNumberOfTables()
+        created <= clients.size() / Table.MIN_PLAYERS
+        millis < 10000
+
+        cleanup:
+        producers.shutdownNow()
+    }
+}
@@ -0,0 +1,291 @@
+package Server
+
+import AcquireProject.DeltaTracker
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class NioServerSpecification extends Specification {
+
+    def server = new NioServer(0, 2, 4)
+    int port
+
+    def setup(){
+        port = server.start()
+    }
+
+    def cleanup(){
+        server.stop()
+    }
+
+    def "commands and replies travel as frames"(){
+        given:
+        def client = new FrameClient(port)
+
+        when:
+        def table = client.request("CREATE")
+
+        then:
+        table ==~ /TABLE \d+/
+        client.request("JOIN " + table.split(" ")[1] + " bob") == "JOINED " + table.split(" ")[1] + " bob"
+
+        cleanup:
+        client.close()
+    }
+
+    def "a player who joins is sent a binary snapshot"(){
+        given:
+        def client = new FrameClient(port)
+        def id = client.request("CREATE").split(" ")[1]
+        client.request("JOIN " + id + " bob")
+
+        when:
+        client.readText()
+        def (type, body) = client.readFrame()
+        def data = new DataInputStream(new ByteArrayInputStream(body as byte[]))
+        def names = new byte[data.readShort()]
+        data.readFully(names)
+        int count = data.readShort()
+        def deltas = (1..count).collect { data.readLong() }
+
+        then:
+        type == Frames.SNAPSHOT
+        new String(names, StandardCharsets.UTF_8) == "bob"
+        deltas.contains(DeltaTracker.encode(DeltaTracker.BALANCE, 0, 0, 6000))
+
+        cleanup:
+        client.close()
+    }
+
+    def "spectators of a bot game all receive the same updates"(){
+        given:
+        def host = new FrameClient(port)
+        def id = host.request("CREATE").split(" ")[1]
+        host.request("JOIN " + id + " host")
+        host.sendText("ADDBOT robot")
+        // let the tick for the seating go out so every spectator starts from the same update
+        Thread.sleep(Table.TICK_MILLIS * 4)
+        def spectators = (1..50).collect { new FrameClient(port) }
+        spectators.each { assert it.request("WATCH " + id) == "WATCHING " + id }
+
+        when:
+        host.sendText("START")
+        def updates = spectators.collect { spectator ->
+            assert spectator.readFrame()[0] == Frames.SNAPSHOT
+            def (type, body) = spectator.readFrame()
+            [type, (body as byte[]).encodeHex().toString()]
+        }
+
+        then:
+        updates.every { it[0] == Frames.DELTAS }
+        updates.collect { it[1] }.toSet().size() == 1
+
+        cleanup:
+        host.close()
+        spectators.each { it.close() }
+    }
+
+    def "a frame split across many writes is put back together"(){
+        given:
+        def client = new FrameClient(port)
+        def frame = FrameClient.frame(Frames.COMMAND, "CREATE".getBytes(StandardCharsets.UTF_8))
+
+        when:
+        frame.each { b ->
+            client.output.write(b)
+            client.output.flush()
+            Thread.sleep(2)
+        }
+
+        then:
+        client.readText() ==~ /TABLE \d+/
+
+        cleanup:
+        client.close()
+    }
+
+    def "a bad frame closes the connection"(){
+        given:
+        def client = new FrameClient(port)
+
+        when:
+        client.output.writeInt(Frames.MAX_FRAME * 2)
+        client.output.flush()
+
+        then:
+        client.input.read() == -1
+
+        cleanup:
+        client.close()
+    }
+
+    def "input after QUIT is dropped and the event loops keep serving"(){
+        given:
+        def client = new FrameClient(port)
+
+        when:
+        client.output.write(FrameClient.frame(Frames.COMMAND, "QUIT".getBytes(StandardCharsets.UTF_8)))
+        client.output.write(new byte[8000])
+        client.output.flush()
+
+        then:
+        client.readText() == "BYE"
+        client.input.read() == -1
+
+        when: "every event loop still takes new clients"
+        def others = (1..4).collect { new FrameClient(port) }
+
+        then:
+        others.every { it.request("CREATE") ==~ /TABLE \d+/ }
+
+        cleanup:
+        client.close()
+        others*.close()
+    }
+
+    def "two players finish a game with binary moves"(){
+        given:
+        def host = new FrameClient(port)
+        def id = host.request("CREATE").split(" ")[1]
+        host.request("JOIN " + id + " host")
+        def guest = new FrameClient(port)
+        guest.request("JOIN " + id + " guest")
+        def pool = Executors.newFixedThreadPool(2)
+
+        when:
+        host.sendText("START")
+        def results = pool.invokeAll([host, guest].collect { client ->
+            { -> client.playFirstMoves() } as Callable<String>
+        }, 60, TimeUnit.SECONDS)
+
+        then:
+        results.every { it.get().startsWith("GAME_OVER") }
+        host.movesSeen > 0
+        server.getFramePool().getNumberOfAllocations() < 100
+
+        cleanup:
+        host.close()
+        guest.close()
+        pool.shutdownNow()
+    }
+
+    def "a few event loops hold many idle connections"(){
+        given:
+        def clients = (1..500).collect { new FrameClient(port) }
+
+        when:
+        def deadline = System.currentTimeMillis() + 10000
+        while(server.getNumberOfConnections() < 500 && System.currentTimeMillis() < deadline){
+            Thread.sleep(10)
+        }
+        def last = clients.last().request("LIST")
+
+        then:
+        server.getNumberOfConnections() == 500
+        last.startsWith("TABLES")
+
+        when:
+        clients.each { it.close() }
+        deadline = System.currentTimeMillis() + 10000
+        while(server.getNumberOfConnections() > 0 && System.currentTimeMillis() < deadline){
+            Thread.sleep(10)
+        }
+
+        then:
+        server.getNumberOfConnections() == 0
+    }
+}
+
+/**
+ * a client speaking the binary frames over a blocking socket
+ */
+class FrameClient {
+
+    Socket socket
+    DataInputStream input
+    DataOutputStream output
+    String name
+    int movesSeen
+
+    FrameClient(int port){
+        socket = new Socket("localhost", port)
+        socket.setSoTimeout(30000)
+        input = new DataInputStream(new BufferedInputStream(socket.getInputStream()))
+        output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))
+    }
+
+    static byte[] frame(byte type, byte[] body){
+        def bytes = new ByteArrayOutputStream()
+        def data = new DataOutputStream(bytes)
+        data.writeInt(body.length + 1)
+        data.writeByte(type)
+        data.write(body)
+        return bytes.toByteArray()
+    }
+
+    void sendText(String line){
+        output.write(frame(Frames.COMMAND, line.getBytes(StandardCharsets.UTF_8)))
+        output.flush()
+    }
+
+    void sendMove(int move){
+        output.writeInt(5)
+        output.writeByte(Frames.MOVE)
+        output.writeInt(move)
+        output.flush()
+    }
+
+    /**
+     * @return the type and the body of the next frame
+     */
+    List readFrame(){
+        int length = input.readInt()
+        byte type = input.readByte()
+        byte[] body = new byte[length - 1]
+        input.readFully(body)
+        return [type, body]
+    }
+
+    String readText(){
+        def (type, body) = readFrame()
+        assert type == Frames.COMMAND
+        return new String(body as byte[], StandardCharsets.UTF_8)
+    }
+
+    String request(String line){
+        sendText(line)
+        def reply = readText()
+        if(reply.startsWith("JOINED")){
+            name = reply.split(" ")[2]
+        }
+        return reply
+    }
+
+    String playFirstMoves(){
+        while(true){
+            def (type, body) = readFrame()
+            def data = new DataInputStream(new ByteArrayInputStream(body as byte[]))
+            if(type == Frames.COMMAND){
+                def line = new String(body as byte[], StandardCharsets.UTF_8)
+                if(line.startsWith("GAME_OVER")){
+                    return line
+                }
+                if(line == "TURN " + name){
+                    sendText("MOVES")
+                }
+            }else if(type == Frames.MOVES){
+                int count = data.readUnsignedByte()
+                int first = data.readInt()
+                movesSeen += count
+                sendMove(first)
+            }
+        }
+    }
+
+    void close(){
+        socket.close()
+    }
+}
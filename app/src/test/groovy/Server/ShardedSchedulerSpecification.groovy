@@ -0,0 +1,74 @@
+package Server
+
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class ShardedSchedulerSpecification extends Specification {
+
+    def scheduler = new ShardedScheduler(4)
+
+    def cleanup(){
+        scheduler.shutdown()
+    }
+
+    def "a table always lands on the same shard and tables are spread over every shard"(){
+        expect:
+        scheduler.getShard(17).is(scheduler.getShard(17))
+        (1..100).collect { scheduler.getShard(it).getIndex() }.toSet() == [0, 1, 2, 3].toSet()
+    }
+
+    def "timers run on the shard's own thread in deadline order"(){
+        given:
+        def shard = scheduler.getShard(1)
+        def order = new CopyOnWriteArrayList()
+        def threads = ConcurrentHashMap.newKeySet()
+        def done = new CountDownLatch(3)
+
+        when:
+        [30, 10, 20].each { delay ->
+            shard.schedule({ order << delay; threads << Thread.currentThread().getName(); done.countDown() }, delay)
+        }
+
+        then:
+        done.await(5, TimeUnit.SECONDS)
+        order == [10, 20, 30]
+        threads == ["acquire-shard-" + shard.getIndex()].toSet()
+    }
+
+    def "idle shards take messages from a shard that has fallen behind"(){
+        given:
+        def shard = scheduler.getShard(1)
+        def threads = ConcurrentHashMap.newKeySet()
+        def done = new CountDownLatch(200)
+
+        when:
+        200.times {
+            shard.execute { Thread.sleep(2); threads << Thread.currentThread().getName(); done.countDown() }
+        }
+
+        then:
+        done.await(10, TimeUnit.SECONDS)
+        scheduler.getNumberOfSteals() > 0
+        threads.size() > 1
+    }
+
+    def "a table's messages never overlap even when other shards take some of them"(){
+        given:
+        def mailbox = new Mailbox(scheduler.getShard(3), 10000)
+        int counter = 0
+        def done = new CountDownLatch(2000)
+
+        when:
+        2000.times {
+            mailbox.offer { int seen = counter; Thread.yield(); counter = seen + 1; done.countDown() }
+        }
+
+        then:
+        done.await(10, TimeUnit.SECONDS)
+        counter == 2000
+    }
+}
@@ -0,0 +1,97 @@
+package Server
+
+import AcquireProject.DeltaTracker
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class SpectatorFeedSpecification extends Specification {
+
+    def feed = new SpectatorFeed()
+
+    def frame(long delta){
+        return SharedFrame.deltas([delta] as long[], 1)
+    }
+
+    def "a spectator reads every update published after it started watching"(){
+        given:
+        feed.publish(frame(1))
+        def cursor = feed.newCursor {}
+
+        when:
+        feed.publish(frame(2))
+        feed.publish(frame(3))
+
+        then:
+        cursor.poll().getText() == "DELTAS 2"
+        cursor.poll().getText() == "DELTAS 3"
+        cursor.poll() == null
+        !cursor.hasNext()
+    }
+
+    def "a spectator a whole ring behind is sent back to a snapshot"(){
+        given:
+        int lags = 0
+        def cursor = feed.newCursor { lags++ }
+
+        when:
+        (SpectatorFeed.CAPACITY + 1).times { feed.publish(frame(it)) }
+
+        then:
+        cursor.poll() == null
+        cursor.poll() == null
+        lags == 1
+
+        when:
+        cursor.reset()
+        feed.publish(frame(99))
+
+        then:
+        cursor.poll().getText() == "DELTAS 99"
+    }
+
+    def "every reader of a shared frame gets the same bytes without disturbing the others"(){
+        given:
+        def shared = SharedFrame.deltas([5L, 6L] as long[], 2)
+
+        when:
+        def first = shared.getBinary()
+        first.position(first.limit())
+        def second = shared.getBinary()
+
+        then:
+        second.remaining() == 4 + 1 + 2 + 16
+        second.getInt() == 1 + 2 + 16
+        second.get() == Frames.DELTAS
+        second.getShort() == 2
+        second.getLong() == 5
+    }
+
+    def "a snapshot too big for one frame carries on in delta frames"(){
+        given:
+        long[] deltas = (0..<1200).collect { DeltaTracker.encode(DeltaTracker.BALANCE, 0, 0, it) } as long[]
+
+        when:
+        def buffer = SharedFrame.snapshot(["bob", "sue"], deltas, deltas.length).getBinary()
+        def types = []
+        int total = 0
+        while(buffer.hasRemaining()){
+            int length = buffer.getInt()
+            int end = buffer.position() + length
+            byte type = buffer.get()
+            types << type
+            if(type == Frames.SNAPSHOT){
+                byte[] names = new byte[buffer.getShort()]
+                buffer.get(names)
+                assert new String(names, StandardCharsets.UTF_8) == "bob,sue"
+            }
+            total += buffer.getShort()
+            assert length <= Frames.MAX_PAYLOAD
+            buffer.position(end)
+        }
+
+        then:
+        types == [Frames.SNAPSHOT, Frames.DELTAS, Frames.DELTAS]
+        total == 1200
+    }
+}
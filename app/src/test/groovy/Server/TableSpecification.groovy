@@ -0,0 +1,225 @@
+package Server
+
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class TableSpecification extends Specification {
+
+    def scheduler = new ShardedScheduler(1)
+    def timer = new HashedWheelTimer()
+
+    def cleanup(){
+        scheduler.shutdown()
+        timer.shutdown()
+    }
+
+    def seat(Table table, String name){
+        def lines = new ConcurrentLinkedQueue<String>()
+        def session = new ClientSession(new RecordingConnection(lines))
+        table.join(session, name)
+        [session: session, lines: lines]
+    }
+
+    def waitFor(Closure condition){
+        def deadline = System.currentTimeMillis() + 10000
+        while(!condition() && System.currentTimeMillis() < deadline){
+            Thread.sleep(10)
+        }
+        condition()
+    }
+
+    def "players who run out of time have their moves made for them"(){
+        given:
+        def table = new Table(1, scheduler.getShard(1), timer, 20, 0, Table.IDLE_MILLIS)
+        def bob = seat(table, "bob")
+        def sue = seat(table, "sue")
+
+        when:
+        table.start(bob.session)
+
+        then:
+        waitFor { bob.lines.count { it.startsWith("MOVED") } >= 10 }
+        bob.lines.findAll { it.startsWith("TIMEOUT") }*.split(" ")*.getAt(1).toSet() == ["bob", "sue"].toSet()
+    }
+
+    def "running past the turn time spends the time bank"(){
+        given:
+        def table = new Table(1, scheduler.getShard(1), timer, 50, 100, Table.IDLE_MILLIS)
+        def bob = seat(table, "bob")
+        def sue = seat(table, "sue")
+
+        when:
+        table.start(bob.session)
+        waitFor { bob.lines.count { it.startsWith("TIMEOUT") } >= 1 }
+        def acting = bob.lines.find { it.startsWith("TIMEOUT") }.split(" ")[1]
+        waitFor { bob.lines.count { it.startsWith("CLOCK " + acting) } >= 2 }
+        def clocks = bob.lines.findAll { it.startsWith("CLOCK " + acting) }
+
+        then:
+        clocks[0] == "CLOCK " + acting + " 150"
+        clocks[1] == "CLOCK " + acting + " 50"
+    }
+
+    def "a client asking to sit down twice is only seated once"(){
+        given:
+        def table = new Table(1, scheduler.getShard(1), timer, 60000, 0, Table.IDLE_MILLIS)
+        def other = new Table(2, scheduler.getShard(2), timer, 60000, 0, Table.IDLE_MILLIS)
+        def bob = seat(table, "bob")
+
+        when:
+        table.join(bob.session, "robert")
+        other.join(bob.session, "bob")
+        other.watch(bob.session)
+        table.describe(bob.session)
+
+        then:
+        waitFor { bob.lines.any { it.startsWith("STATE") } }
+        bob.lines.count { it.startsWith("JOINED") } == 1
+        bob.lines.count { it == "ERROR already at table 1" } == 3
+        bob.lines.find { it.startsWith("STATE") } == "STATE 1 -1 - bob:6000"
+        bob.session.getTable() == table
+    }
+
+    def "names longer than the limit are turned away"(){
+        given:
+        def table = new Table(1, scheduler.getShard(1), timer, 60000, 0, Table.IDLE_MILLIS)
+
+        when:
+        def bob = seat(table, "b" * (Table.MAX_NAME_LENGTH + 1))
+
+        then:
+        waitFor { bob.lines.any { it.startsWith("ERROR") } }
+        bob.lines.toList() == ["ERROR names can be at most " + Table.MAX_NAME_LENGTH + " characters"]
+        table.getNumberOfPlayers() == 0
+        bob.session.getTable() == null
+    }
+
+    def "a table closes once its last player leaves"(){
+        given:
+        def closed = new CountDownLatch(1)
+        def table = new Table(1, scheduler.getShard(1), timer, 60000, 0, Table.IDLE_MILLIS, { closed.countDown() })
+        def bob = seat(table, "bob")
+        def sue = seat(table, "sue")
+        waitFor { sue.lines.any { it.startsWith("JOINED") } }
+
+        when:
+        table.leave(bob.session)
+        table.describe(sue.session)
+
+        then:
+        waitFor { sue.lines.any { it.startsWith("STATE") } }
+        !table.isClosed()
+
+        when:
+        table.leave(sue.session)
+
+        then:
+        closed.await(10, TimeUnit.SECONDS)
+        table.isClosed()
+        sue.session.getTable() == null
+    }
+
+    def "a client who left one table only watches the next"(){
+        given:
+        def first = new Table(1, scheduler.getShard(1), timer, 60000, 0, Table.IDLE_MILLIS)
+        def second = new Table(2, scheduler.getShard(2), timer, 60000, 0, Table.IDLE_MILLIS)
+        def bob = seat(first, "bob")
+        seat(first, "sue")
+        def seated = seat(second, "bob")
+        seat(second, "tom")
+        second.start(seated.session)
+        waitFor { seated.lines.any { it.startsWith("CLOCK") } }
+
+        when:
+        first.leave(bob.session)
+        waitFor { bob.session.getTable() == null }
+        second.watch(bob.session)
+        second.addBot(bob.session, "ann")
+        second.start(bob.session)
+        second.move(bob.session, 0)
+
+        then:
+        waitFor { bob.lines.count { it.startsWith("ERROR") } == 3 }
+        bob.session.getPlayerName() == null
+        bob.lines.findAll { it.startsWith("ERROR") }.toList() == ["ERROR spectators can not add bots",
+                                                                   "ERROR spectators can not start the game",
+                                                                   "ERROR spectators can not move"]
+    }
+
+    def "an idle table hibernates and comes back when it is next used"(){
+        given:
+        def table = new Table(1, scheduler.getShard(1), timer, 60000, 0, 50)
+        def bob = seat(table, "bob")
+        def sue = seat(table, "sue")
+        table.start(bob.session)
+        waitFor { bob.lines.any { it.startsWith("CLOCK") } }
+        table.describe(bob.session)
+        waitFor { bob.lines.any { it.startsWith("STATE") } }
+        def before = bob.lines.find { it.startsWith("STATE") }
+
+        expect:
+        waitFor { table.isHibernating() }
+
+        when:
+        bob.lines.clear()
+        table.describe(bob.session)
+        table.listMoves(bob.session)
+
+        then:
+        waitFor { bob.lines.any { it.startsWith("MOVES") } }
+        bob.lines.find { it.startsWith("STATE") } == before
+        !table.isHibernating()
+        waitFor { table.isHibernating() }
+    }
+
+    def "a table keeps its seats and spectators through hibernation without resending the game"(){
+        given:
+        def table = new Table(1, scheduler.getShard(1), timer, 60000, 0, 50)
+        def bob = seat(table, "bob")
+        def sue = seat(table, "sue")
+        def watcherLines = new ConcurrentLinkedQueue<String>()
+        def watcher = [session: new ClientSession(new RecordingConnection(watcherLines)), lines: watcherLines]
+        table.watch(watcher.session)
+        table.start(bob.session)
+        waitFor { bob.lines.any { it.startsWith("CLOCK") } }
+        table.resync(bob.session)
+        waitFor { bob.lines.count { it.startsWith("SNAPSHOT") } == 2 }
+        def before = bob.lines.findAll { it.startsWith("SNAPSHOT") }.last()
+
+        expect:
+        waitFor { table.isHibernating() }
+
+        when:
+        bob.lines.clear()
+        watcher.lines.clear()
+        table.resync(bob.session)
+        table.resync(watcher.session)
+
+        then:
+        waitFor { bob.lines.any { it.startsWith("SNAPSHOT") } && watcher.lines.any { it.startsWith("SNAPSHOT") } }
+        bob.lines.toList() == [before]
+        watcher.lines.toList() == [before]
+        !table.isHibernating()
+    }
+}
+
+class RecordingConnection implements Connection {
+
+    Queue<String> lines
+
+    RecordingConnection(Queue<String> lines){
+        this.lines = lines
+    }
+
+    @Override
+    void send(String line){
+        lines << line
+    }
+
+    @Override
+    void close(){
+    }
+}
@@ -0,0 +1,35 @@
+package Simulation
+
+import spock.lang.Specification
+
+class EloRatingsSpecification extends Specification {
+
+    def "the bot that wins more is rated higher"(){
+        given:
+        def ratings = new EloRatings()
+        for(int i = 0; i < 30; i++){
+            ratings.addGame(new GameResult(i, 10, ["Strong", "Weak"] as String[], [9000, 6000] as int[]))
+        }
+        for(int i = 0; i < 10; i++){
+            ratings.addGame(new GameResult(i, 10, ["Weak", "Strong"] as String[], [9000, 6000] as int[]))
+        }
+
+        when:
+        def rated = ratings.getRatings(50, 1)
+
+        then:
+        rated.get(0).getName() == "Strong"
+        rated.get(0).getElo() > rated.get(1).getElo()
+        rated.get(0).getLower() <= rated.get(0).getElo()
+        rated.get(0).getUpper() >= rated.get(0).getElo()
+        rated.get(0).getGames() == 40
+    }
+
+    def "a tie scores half a win"(){
+        given:
+        def result = new GameResult(1, 10, ["A", "B"] as String[], [6000, 6000] as int[])
+
+        expect:
+        result.getScore(0, 1) == 0.5
+    }
+}
@@ -0,0 +1,85 @@
+package Simulation
+
+import AcquireProject.GameState
+import AcquireProject.MoveGenerator
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+class OpeningBookSpecification extends Specification {
+
+    def path = Files.createTempFile("openingBook", ".bin")
+
+    def cleanup(){
+        Files.deleteIfExists(path)
+    }
+
+    def "a book built from self-play suggests a legal move for the first turn"(){
+        given:
+        def builder = new OpeningBookBuilder(2, 2)
+        builder.playGames(200, 1, 2)
+
+        when:
+        def written = builder.write(path, 1)
+        def book = OpeningBook.load(path)
+        def state = GameState.newGame(2, 5)
+        int[] moves = new int[MoveGenerator.MAX_MOVES]
+        int count = MoveGenerator.generate(state, moves)
+        def move = book.findMove(state, moves, count, 1)
+
+        then:
+        written > 0
+        book.getNumberOfEntries() == written
+        move == -1 || moves[0..<count].contains(move)
+    }
+
+    def "the book bot falls back once the position is not in the book"(){
+        given:
+        OpeningBook.write(path, [])
+        def bot = new BookBot(OpeningBook.load(path), new GreedyBot(), 1)
+        def state = GameState.newGame(2, 5)
+        int[] moves = new int[MoveGenerator.MAX_MOVES]
+        int count = MoveGenerator.generate(state, moves)
+
+        expect:
+        bot.getName() == "Greedy+Book"
+        bot.chooseMove(state, moves, count) == new GreedyBot().chooseMove(state, moves, count)
+    }
+
+    def "a book file that is cut short or is not a book is rejected when it is loaded"(){
+        given:
+        def builder = new OpeningBookBuilder(2, 2)
+        builder.playGames(50, 1, 1)
+        builder.write(path, 1)
+        byte[] bytes = Files.readAllBytes(path)
+
+        when:
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 7))
+        OpeningBook.load(path)
+
+        then:
+        thrown(IOException)
+
+        when:
+        Files.write(path, "not an opening book".getBytes())
+        OpeningBook.load(path)
+
+        then:
+        thrown(IOException)
+
+        when:
+        Files.write(path, new byte[4])
+        OpeningBook.load(path)
+
+        then:
+        thrown(IOException)
+    }
+
+    def "a player's score counts the players they finished ahead of"(){
+        given:
+        def state = GameState.newGame(3, 1)
+
+        expect:
+        OpeningBookBuilder.score(state, 0) == 0.5d
+    }
+}
@@ -0,0 +1,39 @@
+package Simulation
+
+import spock.lang.Specification
+
+class SimulationRunnerSpecification extends Specification {
+
+    def runner = new SimulationRunner()
+
+    def "the same seed deals the same game"(){
+        when:
+        def first = runner.run([new GreedyBot(), new GreedyBot()], 42)
+        def second = runner.run([new GreedyBot(), new GreedyBot()], 42)
+
+        then:
+        first.getTurns() == second.getTurns()
+        first.getBalance(0) == second.getBalance(0)
+        first.getBalance(1) == second.getBalance(1)
+    }
+
+    def "a game between random bots plays to the end"(){
+        when:
+        def result = runner.run([new RandomBot(1), new RandomBot(2), new RandomBot(3)], 7)
+
+        then:
+        result.getNumberOfSeats() == 3
+        result.getTurns() > 0
+        result.getName(0) == "Random"
+        result.isFinished()
+    }
+
+    def "a game stopped at the turn limit is marked as not finished"(){
+        when:
+        def result = new SimulationRunner(5).run([new GreedyBot(), new GreedyBot()], 42)
+
+        then:
+        result.getTurns() == 5
+        !result.isFinished()
+    }
+}
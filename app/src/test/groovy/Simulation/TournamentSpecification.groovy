@@ -0,0 +1,29 @@
+package Simulation
+
+import spock.lang.Specification
+
+class TournamentSpecification extends Specification {
+
+    def tournament = new Tournament(1, 2)
+
+    def setup(){
+        tournament.addEntrant("Random", { seed -> new RandomBot(seed) } as BotFactory)
+        tournament.addEntrant("Greedy", { seed -> new GreedyBot() } as BotFactory)
+    }
+
+    def "round robin plays each deal from both seats"(){
+        when:
+        def ratings = tournament.playRoundRobin(3)
+
+        then:
+        ratings.getNumberOfGames() == 6
+    }
+
+    def "swiss rounds are added to the same ratings"(){
+        when:
+        tournament.playSwiss(2, 1)
+
+        then:
+        tournament.getRatings().getNumberOfGames() == 4
+    }
+}
@@ -0,0 +1,79 @@
+package Simulation
+
+import AcquireProject.Game
+import AcquireProject.GameState
+import AcquireProject.Move
+import spock.lang.Specification
+
+class WinEstimatorSpecification extends Specification {
+
+    def estimator = new WinEstimator(64, 2, 1)
+
+    def cleanup(){
+        estimator.shutdown()
+    }
+
+    def "the estimate of a new game fills in as rollouts finish"(){
+        given:
+        def state = GameState.newGame(3, 7)
+
+        when:
+        def estimate = estimator.estimate(state)
+        def finished = estimate.await(30000)
+
+        then:
+        finished
+        estimate.getRollouts() == 64
+        Math.abs((0..<3).sum { estimate.getWinProbability(it) } - 1) < 1e-9
+    }
+
+    def "a position that comes up again is served from the cache"(){
+        given:
+        def state = GameState.newGame(2, 7)
+        def estimate = estimator.estimate(state)
+        estimate.await(30000)
+
+        when:
+        def again = estimator.estimate(state.reshuffle(9))
+
+        then:
+        again.is(estimate)
+        again.getRollouts() == 64
+    }
+
+    def "the starting estimate favours the player who is worth more"(){
+        given:
+        int[] deck = [0, 1, 3, 4, 2, 40,
+                      60, 62, 64, 80, 82, 84,
+                      99, 100, 101, 102, 103, 104] as int[]
+        def state = GameState.withDeck(2, deck)
+        for(int move : [Move.placeTile(0), Move.END_TURN, Move.placeTile(60), Move.END_TURN, Move.placeTile(1),
+                        Move.foundChain(GameState.chainIndex("Tower"))]){
+            state = state.apply(move)
+        }
+
+        when:
+        def probabilities = WinEstimator.featureEstimate(state)
+
+        then:
+        WinEstimator.featureEstimate(GameState.newGame(2, 7))[0] == 0.5d
+        probabilities[0] > probabilities[1]
+        Math.abs(probabilities.sum() - 1) < 1e-9
+    }
+
+    def "a game played through the facade gets one probability per player"(){
+        given:
+        def game = new Game(4)
+        game.addPlayer("bob")
+        game.addPlayer("fred")
+        game.addPlayer("sue")
+        game.startGame()
+
+        when:
+        def probabilities = estimator.getWinProbabilities(game)
+
+        then:
+        probabilities.size() == 3
+        Math.abs(probabilities.sum() - 1) < 1e-9
+    }
+}